@@ -0,0 +1,63 @@
+package so_simulador.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import so_simulador.modelo.ColaProcesos;
+import so_simulador.modelo.Proceso;
+import so_simulador.simulacion.ContextoSimulacion;
+
+/**
+ * Operaciones básicas de ColaProcesos con N procesos encolados. Cada
+ * benchmark deja la cola con el mismo tamaño con que la encontró.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColaProcesosBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int procesos;
+
+    private ColaProcesos cola;
+    private Proceso[] todos;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        ContextoSimulacion contexto = new ContextoSimulacion();
+        cola = new ColaProcesos();
+        todos = new Proceso[procesos];
+        for (int i = 0; i < procesos; i++) {
+            todos[i] = contexto.crearProceso("P" + i, 10, true, 0, 0, 1);
+            cola.encolar(todos[i]);
+        }
+        cursor = 0;
+    }
+
+    /** Desencolar la cabeza y volver a encolarla al final (Round Robin). */
+    @Benchmark
+    public Proceso encolarDesencolar() {
+        Proceso p = cola.desencolar();
+        cola.encolar(p);
+        return p;
+    }
+
+    /** Quitar un proceso de cualquier posición (swap, bloqueo) y reencolarlo. */
+    @Benchmark
+    public Proceso eliminarYEncolar() {
+        Proceso p = todos[cursor];
+        cursor = cursor + 1 == procesos ? 0 : cursor + 1;
+        cola.eliminarProceso(p);
+        cola.encolar(p);
+        return p;
+    }
+
+    @Benchmark
+    public boolean contiene() {
+        Proceso p = todos[cursor];
+        cursor = cursor + 1 == procesos ? 0 : cursor + 1;
+        return cola.contiene(p);
+    }
+}
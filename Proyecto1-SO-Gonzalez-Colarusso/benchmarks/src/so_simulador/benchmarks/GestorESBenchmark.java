@@ -0,0 +1,53 @@
+package so_simulador.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import so_simulador.modelo.Proceso;
+import so_simulador.simulacion.ContextoSimulacion;
+import so_simulador.sincronizacion.GestorES;
+
+/**
+ * GestorES.tick con N procesos bloqueados repartidos en 64 ticks. En cada
+ * invocación se registran N/64 procesos más y avanza un tick, así que en
+ * régimen se despiertan unos N/64 por tick y siempre hay N bloqueados.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GestorESBenchmark {
+    private static final int DURACION_ES = 64;
+
+    @Param({"10", "1000", "100000"})
+    public int procesos;
+
+    private GestorES gestor;
+    private Proceso[] todos;
+    private int porTick;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        ContextoSimulacion contexto = new ContextoSimulacion();
+        gestor = contexto.getGestorES();
+        todos = new Proceso[procesos];
+        for (int i = 0; i < procesos; i++) {
+            todos[i] = contexto.crearProceso("P" + i, 10, false, 0, 3, 1);
+            gestor.registrarBloqueado(todos[i], i % DURACION_ES + 1);
+        }
+        porTick = Math.max(1, procesos / DURACION_ES);
+        cursor = 0;
+    }
+
+    @Benchmark
+    public int registrarYTick() {
+        for (int i = 0; i < porTick; i++) {
+            gestor.registrarBloqueado(todos[cursor], DURACION_ES);
+            cursor = cursor + 1 == procesos ? 0 : cursor + 1;
+        }
+        gestor.tick();
+        return gestor.getTotalBloqueados();
+    }
+}
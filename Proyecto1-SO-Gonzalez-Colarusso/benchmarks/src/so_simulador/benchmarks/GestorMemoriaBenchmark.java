@@ -0,0 +1,81 @@
+package so_simulador.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import so_simulador.memoria.GestorMemoria;
+import so_simulador.modelo.ColaProcesos;
+import so_simulador.modelo.EstadoProceso;
+import so_simulador.modelo.Proceso;
+import so_simulador.simulacion.ContextoSimulacion;
+
+/**
+ * GestorMemoria con N procesos de 64 KB y memoria para la mitad: la otra
+ * mitad espera suspendida. realizarSwap saca una víctima según la política
+ * y cargarProceso sube al suspendido más antiguo en su lugar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GestorMemoriaBenchmark {
+    private static final int KB_PROCESO = 64;
+
+    @Param({"10", "1000", "100000"})
+    public int procesos;
+
+    @Param({"LRU", "PRIORIDAD", "TIEMPO_ESPERA"})
+    public String politica;
+
+    private GestorMemoria gestor;
+    private Proceso[] residentes;     // los cargados al inicio
+    private ColaProcesos suspendidos;
+    private int tiempo;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        int enMemoria = Math.max(1, procesos / 2);
+        gestor = new GestorMemoria(enMemoria * KB_PROCESO, KB_PROCESO);
+        gestor.setPolitica(GestorMemoria.PoliticaSwap.valueOf(politica));
+        residentes = new Proceso[enMemoria];
+        suspendidos = new ColaProcesos();
+
+        ContextoSimulacion contexto = new ContextoSimulacion();
+        tiempo = 0;
+        for (int i = 0; i < procesos; i++) {
+            Proceso p = contexto.crearProceso("P" + i, 10, i % 2 == 0, 0, 3, i % 10);
+            if (i < enMemoria && gestor.cargarProceso(p, ++tiempo)) {
+                p.getPCB().setEstado(EstadoProceso.LISTO);
+                residentes[i] = p;
+            } else {
+                p.getPCB().setEstado(EstadoProceso.SUSPENDIDO);
+                suspendidos.encolar(p);
+            }
+        }
+        cursor = 0;
+    }
+
+    /** Un intercambio completo: swap out de la víctima y carga de un suspendido. */
+    @Benchmark
+    public Proceso swapYCarga() {
+        tiempo++;
+        Proceso victima = gestor.realizarSwap(tiempo);
+        if (victima != null) suspendidos.encolar(victima);
+        Proceso entra = suspendidos.desencolar();
+        if (entra != null) {
+            if (gestor.cargarProceso(entra, tiempo)) entra.getPCB().setEstado(EstadoProceso.LISTO);
+            else suspendidos.encolar(entra);
+        }
+        return entra;
+    }
+
+    /** cargarProceso de un proceso que ya está en memoria (solo actualiza su acceso). */
+    @Benchmark
+    public boolean cargarResidente() {
+        Proceso p = residentes[cursor];
+        cursor = cursor + 1 == residentes.length ? 0 : cursor + 1;
+        return gestor.cargarProceso(p, ++tiempo);
+    }
+}
@@ -0,0 +1,69 @@
+package so_simulador.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import so_simulador.modelo.Proceso;
+import so_simulador.simulacion.ContextoSimulacion;
+import so_simulador.util.LogEventos;
+
+/**
+ * Eventos por milisegundo que acepta LogEventos, rotando entre N procesos.
+ * TEXTO arma la línea y la encola al escritor asíncrono; TRAZA solo
+ * escribe el registro binario (texto deshabilitado). La política de
+ * desborde es BLOQUEAR, así que el número incluye la escritura a disco.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogEventosBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int procesos;
+
+    @Param({"TEXTO", "TRAZA"})
+    public String salida;
+
+    private LogEventos log;
+    private Proceso[] todos;
+    private File archivo;
+    private int ciclo;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        ContextoSimulacion contexto = new ContextoSimulacion();
+        todos = new Proceso[procesos];
+        for (int i = 0; i < procesos; i++) {
+            todos[i] = contexto.crearProceso("Proceso " + i, 100, i % 2 == 0, 0, 3, 1);
+        }
+
+        log = new LogEventos();
+        if (salida.equals("TEXTO")) {
+            archivo = File.createTempFile("bench_log", ".log");
+            log.iniciarLog(archivo.getPath());
+        } else {
+            archivo = File.createTempFile("bench_traza", ".trz");
+            log.setHabilitado(false);
+            log.iniciarTraza(archivo.getPath());
+        }
+        ciclo = 0;
+        cursor = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        log.cerrarTraza();
+        log.cerrarLog();
+        archivo.delete();
+    }
+
+    @Benchmark
+    public void logEjecucion() {
+        log.logEjecucion(ciclo++, todos[cursor], 1);
+        cursor = cursor + 1 == procesos ? 0 : cursor + 1;
+    }
+}
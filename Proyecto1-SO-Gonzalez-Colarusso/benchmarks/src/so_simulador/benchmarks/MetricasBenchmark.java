@@ -0,0 +1,48 @@
+package so_simulador.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import so_simulador.modelo.Proceso;
+import so_simulador.simulacion.ContextoSimulacion;
+import so_simulador.util.Metricas;
+
+/**
+ * Costo de registrar un evento en Metricas con N procesos ya registrados.
+ * Las columnas se indexan por PID, así que el tiempo no debería depender
+ * de N (antes cada registro recorría la tabla buscando el id).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricasBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int procesos;
+
+    private Metricas metricas;
+    private Proceso[] todos;
+    private int ciclo;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        ContextoSimulacion contexto = new ContextoSimulacion();
+        metricas = new Metricas();
+        todos = new Proceso[procesos];
+        for (int i = 0; i < procesos; i++) {
+            todos[i] = contexto.crearProceso("Proceso " + i, 100, i % 2 == 0, 0, 3, 1);
+            metricas.registrarLlegada(todos[i], 0);
+            metricas.registrarInicio(todos[i], 0);
+        }
+        ciclo = 0;
+        cursor = 0;
+    }
+
+    @Benchmark
+    public void registrarEjecucion() {
+        metricas.registrarEjecucion(todos[cursor], 1, ++ciclo);
+        cursor = cursor + 1 == procesos ? 0 : cursor + 1;
+    }
+}
@@ -0,0 +1,63 @@
+package so_simulador.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import so_simulador.modelo.ColaProcesos;
+import so_simulador.modelo.Proceso;
+import so_simulador.planificador.MLFQ;
+import so_simulador.planificador.Planificador;
+import so_simulador.simulacion.BarridoParametros;
+import so_simulador.simulacion.ContextoSimulacion;
+
+/**
+ * Costo de un despacho: seleccionarProceso sobre una cola de listos con
+ * N procesos, y el proceso vuelve a la cola (como al agotar su quantum)
+ * para que el tamaño se mantenga entre invocaciones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanificadorBenchmark {
+    @Param({"FCFS", "SJF", "ROUND_ROBIN", "PRIORIDADES", "HRRN", "MLFQ"})
+    public String algoritmo;
+
+    @Param({"10", "1000", "100000"})
+    public int procesos;
+
+    private Planificador planificador;
+    private MLFQ mlfq;          // null si el algoritmo no es MLFQ
+    private ColaProcesos cola;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        planificador = BarridoParametros.Algoritmo.valueOf(algoritmo).crear(2);
+        mlfq = planificador instanceof MLFQ ? (MLFQ) planificador : null;
+        cola = planificador.crearColaListos();
+
+        ContextoSimulacion contexto = new ContextoSimulacion();
+        for (int i = 0; i < procesos; i++) {
+            Proceso p = contexto.crearProceso("P" + i, 10 + (i * 37) % 90, i % 3 != 0, 0, 3, i % 10);
+            p.setMlfqNivel(i % mlfqNiveles());
+            reencolar(p);
+        }
+    }
+
+    @Benchmark
+    public Proceso seleccionar() {
+        Proceso p = planificador.seleccionarProceso(cola);
+        reencolar(p);
+        return p;
+    }
+
+    private void reencolar(Proceso p) {
+        if (mlfq != null) mlfq.encolarProceso(p);
+        else cola.encolar(p);
+    }
+
+    private int mlfqNiveles() {
+        return mlfq != null ? mlfq.getNivelesCount() : 1;
+    }
+}
@@ -2,10 +2,9 @@ package so_simulador;
 
 import so_simulador.modelo.*;
 import so_simulador.planificador.*;
-import so_simulador.util.Metricas;
 import so_simulador.util.LogEventos;
 import so_simulador.config.*;
-import so_simulador.memoria.*;
+import so_simulador.simulacion.*;
 import java.util.Scanner;
 
 /**
@@ -13,8 +12,8 @@ import java.util.Scanner;
  */
 public class Main {
     
+    // La consola es una sola; el log y demás estado van en el contexto de cada simulación
     private static Scanner scanner = new Scanner(System.in);
-    private static LogEventos log = LogEventos.getInstance();
     
     public static void main(String[] args) {
         imprimirBanner();
@@ -55,8 +54,10 @@ public class Main {
         System.out.println("    CONFIGURACIÓN DE SIMULACIÓN");
         System.out.println("═══════════════════════════════════════\n");
         
-        // Iniciar log
-        log.iniciarLog(null);
+        // Contexto propio de esta simulación (ids, log, E/S, reloj)
+        ContextoSimulacion contexto = new ContextoSimulacion();
+        contexto.iniciarLog(null);
+        LogEventos log = contexto.getLog();
         log.logSistema("=== INICIO DE SIMULACIÓN ===");
         
         // ========== CARGAR CONFIGURACIÓN ==========
@@ -65,6 +66,7 @@ public class Main {
         System.out.println("  - Duración de ciclo: " + config.getCicloDuracion() + "ms");
         System.out.println("  - Memoria total: " + config.getMemoriaTotal() + "KB");
         System.out.println("  - Memoria por proceso: " + config.getMemoriaPorProceso() + "KB");
+        System.out.println("  - Núcleos de CPU: " + config.getNucleos());
         System.out.println("  - Procesos configurados: " + config.contarProcesos() + "\n");
         
         log.logSistema("Configuración cargada - Ciclo: " + config.getCicloDuracion() + 
@@ -90,46 +92,6 @@ public class Main {
             quantum = leerEntero(1, 10);
         }
         
-        // ========== INICIALIZAR SISTEMA ==========
-        GestorMemoria gestorMemoria = new GestorMemoria(
-            config.getMemoriaTotal(), 
-            config.getMemoriaPorProceso()
-        );
-        ColasMultinivel colas = new ColasMultinivel(gestorMemoria);
-        
-        System.out.println("\n✓ Sistema de memoria inicializado:");
-        System.out.println("  " + gestorMemoria.getEstadisticas());
-        System.out.println("  Capacidad máxima: " + gestorMemoria.getMaxProcesos() + " procesos en RAM\n");
-        
-        log.logSistema("Memoria inicializada: " + gestorMemoria.getMaxProcesos() + " procesos max");
-        
-        // ========== CREAR PROCESOS ==========
-        System.out.println("--- Admitiendo procesos al sistema ---");
-        int procesosAdmitidos = 0;
-        
-        for (ProcesoConfig pc : config.getProcesos()) {
-            if (pc != null) {
-                Proceso p = new Proceso(
-                    pc.getNombre(),
-                    pc.getInstrucciones(),
-                    pc.isEsCPUbound(),
-                    pc.getCiclosExcepcion(),
-                    pc.getCiclosAtencion(),
-                    pc.getPrioridad()
-                );
-                
-                colas.admitirProceso(p);
-                log.logAdmision(0, p);
-                procesosAdmitidos++;
-                System.out.println("✓ " + p.getPCB().getNombre() + 
-                                 " (" + (p.isCPUbound() ? "CPU-bound" : "I/O-bound") + 
-                                 ", " + p.getInstruccionesTotales() + " inst.)");
-            }
-        }
-        
-        System.out.println("\nTotal admitidos: " + procesosAdmitidos);
-        System.out.println(colas.getResumen() + "\n");
-        
         // ========== CONFIGURAR PLANIFICADOR ==========
         GestorPlanificadores gestorPlanificadores = new GestorPlanificadores();
         gestorPlanificadores.registrar(new FCFS());
@@ -145,6 +107,11 @@ public class Main {
         gestorPlanificadores.seleccionar(algoritmo);
         Planificador planificador = gestorPlanificadores.getActivo();
         
+        // ========== INICIALIZAR SISTEMA ==========
+        MotorSimulacion motor = new MotorSimulacion(config, planificador, contexto);
+        motor.setSalida(System.out);
+        motor.preparar();
+        
         System.out.println("\n✓ Planificador activo: " + planificador.getNombre());
         log.logSistema("Planificador seleccionado: " + planificador.getNombre());
         
@@ -154,7 +121,7 @@ public class Main {
         if (!confirmar.equals("s") && !confirmar.equals("si")) {
             System.out.println("✗ Simulación cancelada");
             log.logSistema("Simulación cancelada por usuario");
-            log.cerrarLog();
+            contexto.cerrar();
             return;
         }
         
@@ -163,32 +130,7 @@ public class Main {
         System.out.println("      INICIANDO SIMULACIÓN");
         System.out.println("═══════════════════════════════════════\n");
         
-        Metricas metricas = new Metricas();
-        CPU cpu = new CPU();
-        int ciclo = 0;
-        ColaProcesos colaTerminados = new ColaProcesos();
-        
-        // Planificación de largo plazo inicial
-        int cargados = colas.planificarLargoPlazo(ciclo);
-        System.out.println("[Ciclo " + ciclo + "] Planificador de largo plazo: " + 
-                         cargados + " procesos cargados en memoria");
-        log.logLargoPlazo(ciclo, cargados, colas.getColaLargoPlazo().estaVacia() ? 0 : 1);
-        
-        // Registrar llegada de procesos cargados
-        ColaProcesos.ColaTemporal itInicial = colas.getColaCortoPlazo().crearIterador();
-        while (itInicial.tieneSiguiente()) {
-            Proceso p = itInicial.siguiente();
-            metricas.registrarLlegada(p, ciclo);
-        }
-        
-        // BUCLE PRINCIPAL
-        if (planificador instanceof MLFQ) {
-            ejecutarConMLFQ((MLFQ) planificador, colas, metricas, ciclo, 
-                          gestorMemoria, colaTerminados);
-        } else {
-            ejecutarConAlgoritmoGeneral(planificador, colas, cpu, metricas, ciclo, 
-                                      colaTerminados, gestorMemoria, config);
-        }
+        ResultadoSimulacion resultado = motor.ejecutar();
         
         // ========== RESULTADOS FINALES ==========
         System.out.println("\n═══════════════════════════════════════");
@@ -196,7 +138,7 @@ public class Main {
         System.out.println("═══════════════════════════════════════\n");
         
         System.out.println("--- Procesos Terminados ---");
-        ColaProcesos.ColaTemporal itFinal = colaTerminados.crearIterador();
+        ColaProcesos.ColaTemporal itFinal = resultado.getTerminados().crearIterador();
         int terminadosCount = 0;
         while (itFinal.tieneSiguiente()) {
             Proceso p = itFinal.siguiente();
@@ -208,346 +150,25 @@ public class Main {
             System.out.println("(ninguno registrado - verificar logs)");
         }
         
-        System.out.println("\n" + colas.getResumen());
-        System.out.println(gestorMemoria.getEstadisticas());
+        System.out.println("\n" + resultado.getResumenColas());
+        System.out.println(resultado.getEstadisticasMemoria());
+        System.out.println(resultado.getEstadisticasAdmision());
+        System.out.println(String.format("Tiempo en sistema promedio: %.2f ciclos",
+            resultado.getTiempoEnSistemaPromedio()));
+        if (resultado.getEstadisticasPaginacion() != null) {
+            System.out.println(resultado.getEstadisticasPaginacion());
+        }
         
-        metricas.imprimirReporte();
+        resultado.getMetricas().imprimirReporte();
         
         log.logSistema("=== FIN DE SIMULACIÓN ===");
-        log.cerrarLog();
+        contexto.cerrar();
         
         System.out.println("\n✓ Simulación completada exitosamente");
         System.out.println("✓ Log guardado en: " + log.getArchivoActual());
         esperarEnter();
     }
     
-    private static void ejecutarConMLFQ(MLFQ mlfq, ColasMultinivel colas, 
-                                       Metricas metricas, int ciclo, 
-                                       GestorMemoria gestorMemoria,
-                                       ColaProcesos colaTerminados) {
-        
-        // Mover procesos de corto plazo a MLFQ
-        while (!colas.getColaCortoPlazo().estaVacia()) {
-            Proceso p = colas.getColaCortoPlazo().desencolar();
-            p.setMlfqNivel(0);
-            mlfq.encolarProceso(p);
-        }
-        
-        ColaProcesos colaBloqueadosLocal = new ColaProcesos();
-        
-        while (true) {
-            // Planificación de largo y mediano plazo
-            int nuevos = colas.planificarLargoPlazo(ciclo);
-            int reanudados = colas.planificarMedianoPlazo(ciclo);
-            
-            if (nuevos > 0) {
-                log.logLargoPlazo(ciclo, nuevos, 0);
-            }
-            if (reanudados > 0) {
-                log.logMedianoPlazo(ciclo, reanudados);
-            }
-            
-            // Mover nuevos procesos de corto plazo a MLFQ
-            while (!colas.getColaCortoPlazo().estaVacia()) {
-                Proceso p = colas.getColaCortoPlazo().desencolar();
-                p.setMlfqNivel(0);
-                mlfq.encolarProceso(p);
-            }
-            
-            // Gestión de swapping
-            if (!gestorMemoria.hayEspacioDisponible() && !colas.getColaLargoPlazo().estaVacia()) {
-                Proceso victima = colas.realizarSwap(ciclo);
-                if (victima != null) {
-                    System.out.println("[Ciclo " + ciclo + "] SWAP: " + 
-                                     victima.getPCB().getNombre() + " → SUSPENDIDO");
-                    log.logSwap(ciclo, victima, gestorMemoria.getPolitica().toString(), false);
-                }
-            }
-            
-            // Decrementar E/S de bloqueados
-            ColaProcesos.ColaTemporal itBloq = colaBloqueadosLocal.crearIterador();
-            while (itBloq.tieneSiguiente()) {
-                Proceso bloq = itBloq.siguiente();
-                bloq.decrementarContadorES();
-                
-                if (bloq.getContadorES() <= 0) {
-                    colaBloqueadosLocal.eliminarProceso(bloq);
-                    bloq.getPCB().setEstado(EstadoProceso.LISTO);
-                    mlfq.encolarProceso(bloq);
-                    System.out.println("[Ciclo " + ciclo + "] " + bloq.getPCB().getNombre() + 
-                                     " → DESBLOQUEADO");
-                    log.logDesbloqueo(ciclo, bloq);
-                }
-            }
-            
-            mlfq.aging();
-            Proceso siguiente = mlfq.seleccionarProceso(null);
-            
-            if (siguiente == null) {
-                if (!colaBloqueadosLocal.estaVacia()) {
-                    ciclo++;
-                    log.logCPUInactiva(ciclo, "Procesos bloqueados esperando E/S");
-                    continue;
-                }
-                break;
-            }
-            
-            gestorMemoria.cargarProceso(siguiente, ciclo);
-            metricas.registrarInicio(siguiente, ciclo);
-            
-            System.out.println("[Ciclo " + ciclo + "] CPU → " + siguiente.getPCB().getNombre() + 
-                             " (Nivel " + siguiente.getMlfqNivel() + ")");
-            log.logSeleccion(ciclo, "MLFQ-Nivel" + siguiente.getMlfqNivel(), siguiente);
-            
-            int q = mlfq.getQuantumParaNivel(siguiente.getMlfqNivel());
-            boolean terminado = false;
-            boolean bloqueado = false;
-            int ejecutadas = 0;
-            
-            for (int i = 0; i < q && !terminado && !bloqueado; i++) {
-                siguiente.getPCB().incrementarPC();
-                siguiente.getPCB().incrementarMAR();
-                ejecutadas++;
-                ciclo++;
-                
-                // Verificar E/S
-                if (!siguiente.isCPUbound() && siguiente.getCiclosAtencion() > 0) {
-                    if (siguiente.getPCB().getProgramCounter() % siguiente.getCiclosAtencion() == 0 
-                        && siguiente.getPCB().getProgramCounter() < siguiente.getInstruccionesTotales()) {
-                        bloqueado = true;
-                        siguiente.iniciarES();
-                        siguiente.getPCB().setEstado(EstadoProceso.BLOQUEADO);
-                        colaBloqueadosLocal.encolar(siguiente);
-                        System.out.println("[Ciclo " + ciclo + "] " + siguiente.getPCB().getNombre() + 
-                                         " → BLOQUEADO (E/S)");
-                        log.logBloqueo(ciclo, siguiente, "Solicitud de E/S");
-                    }
-                }
-                
-                if (siguiente.getPCB().getProgramCounter() >= siguiente.getInstruccionesTotales()) {
-                    terminado = true;
-                }
-            }
-            
-            metricas.registrarEjecucion(siguiente, ejecutadas, ciclo);
-            log.logEjecucion(ciclo, siguiente, ejecutadas);
-            
-            if (terminado) {
-                siguiente.getPCB().setEstado(EstadoProceso.TERMINADO);
-                metricas.registrarFinalizacion(siguiente, ciclo);
-                gestorMemoria.liberarProceso(siguiente);
-                colaTerminados.encolar(siguiente);
-                System.out.println("[Ciclo " + ciclo + "] " + siguiente.getPCB().getNombre() + 
-                                 " → TERMINADO");
-                log.logFinalizacion(ciclo, siguiente);
-            } else if (!bloqueado) {
-                if (siguiente.getMlfqNivel() < mlfq.getNivelesCount() - 1) {
-                    siguiente.demoteMlfq();
-                }
-                mlfq.encolarProceso(siguiente);
-            }
-        }
-    }
-    
-    private static void ejecutarConAlgoritmoGeneral(Planificador planificador, 
-                                                   ColasMultinivel colas, CPU cpu,
-                                                   Metricas metricas, int ciclo,
-                                                   ColaProcesos colaTerminados,
-                                                   GestorMemoria gestorMemoria,
-                                                   ConfiguracionSimulacion config) {
-        
-        while (!colas.getColaCortoPlazo().estaVacia() || 
-               !colas.getColaBloqueados().estaVacia() ||
-               !colas.getColaLargoPlazo().estaVacia() ||
-               !colas.getColaMedianoPlazo().estaVacia()) {
-            
-            // Planificación de largo y mediano plazo
-            int nuevos = colas.planificarLargoPlazo(ciclo);
-            int reanudados = colas.planificarMedianoPlazo(ciclo);
-            
-            if (nuevos > 0) {
-                System.out.println("[Ciclo " + ciclo + "] Largo plazo: " + nuevos + " procesos cargados");
-                log.logLargoPlazo(ciclo, nuevos, 0);
-            }
-            if (reanudados > 0) {
-                System.out.println("[Ciclo " + ciclo + "] Mediano plazo: " + reanudados + " procesos reanudados");
-                log.logMedianoPlazo(ciclo, reanudados);
-            }
-            
-            // Gestión de swapping
-            if (!gestorMemoria.hayEspacioDisponible() && !colas.getColaLargoPlazo().estaVacia()) {
-                Proceso victima = colas.realizarSwap(ciclo);
-                if (victima != null) {
-                    System.out.println("[Ciclo " + ciclo + "] SWAP: " + victima.getPCB().getNombre() + 
-                                     " → SUSPENDIDO (política: " + gestorMemoria.getPolitica() + ")");
-                    log.logSwap(ciclo, victima, gestorMemoria.getPolitica().toString(), false);
-                }
-            }
-            
-            // Decrementar E/S de bloqueados
-            ColaProcesos.ColaTemporal itBloq = colas.getColaBloqueados().crearIterador();
-            while (itBloq.tieneSiguiente()) {
-                Proceso bloq = itBloq.siguiente();
-                bloq.decrementarContadorES();
-                
-                if (bloq.getContadorES() <= 0) {
-                    colas.desbloquearProceso(bloq);
-                    System.out.println("[Ciclo " + ciclo + "] " + bloq.getPCB().getNombre() + 
-                                     " → DESBLOQUEADO");
-                    log.logDesbloqueo(ciclo, bloq);
-                }
-            }
-            
-            // Si no hay procesos listos, esperar
-            if (colas.getColaCortoPlazo().estaVacia()) {
-                if (!colas.getColaBloqueados().estaVacia() || 
-                    !colas.getColaLargoPlazo().estaVacia() ||
-                    !colas.getColaMedianoPlazo().estaVacia()) {
-                    ciclo++;
-                    System.out.println("[Ciclo " + ciclo + "] CPU inactiva (esperando procesos)");
-                    log.logCPUInactiva(ciclo, "Cola de listos vacía");
-                    continue;
-                } else {
-                    break;
-                }
-            }
-            
-            // Incrementar espera para HRRN
-            if (planificador instanceof HRRN) {
-                ColaProcesos.ColaTemporal aux = colas.getColaCortoPlazo().crearIterador();
-                while (aux.tieneSiguiente()) {
-                    aux.siguiente().incrementarEspera();
-                }
-            }
-            
-            // Seleccionar siguiente proceso
-            Proceso siguiente = planificador.seleccionarProceso(colas.getColaCortoPlazo());
-            if (siguiente == null) break;
-            
-            gestorMemoria.cargarProceso(siguiente, ciclo);
-            metricas.registrarInicio(siguiente, ciclo);
-            cpu.cargarProceso(siguiente);
-            
-            System.out.println("[Ciclo " + ciclo + "] CPU → " + siguiente.getPCB().getNombre());
-            log.logSeleccion(ciclo, planificador.getNombre(), siguiente);
-            
-            // Ejecutar según política
-            if (planificador instanceof RoundRobin) {
-                ciclo = ejecutarRoundRobin((RoundRobin) planificador, siguiente, colas, 
-                                         metricas, ciclo, colaTerminados, gestorMemoria);
-            } else {
-                ciclo = ejecutarNoPreemptive(siguiente, colas, metricas, ciclo, 
-                                           colaTerminados, gestorMemoria);
-            }
-            
-            cpu.liberarCPU();
-        }
-    }
-    
-    private static int ejecutarRoundRobin(RoundRobin rr, Proceso proceso, 
-                                         ColasMultinivel colas, Metricas metricas, 
-                                         int ciclo, ColaProcesos colaTerminados,
-                                         GestorMemoria gestorMemoria) {
-        int quantum = rr.getQuantum();
-        boolean terminado = false;
-        boolean bloqueado = false;
-        int ejecutadas = 0;
-        
-        for (int i = 0; i < quantum && !terminado && !bloqueado; i++) {
-            proceso.getPCB().incrementarPC();
-            proceso.getPCB().incrementarMAR();
-            ejecutadas++;
-            ciclo++;
-            
-            if (!proceso.isCPUbound() && proceso.getCiclosAtencion() > 0) {
-                if (proceso.getPCB().getProgramCounter() % proceso.getCiclosAtencion() == 0 
-                    && proceso.getPCB().getProgramCounter() < proceso.getInstruccionesTotales()) {
-                    bloqueado = true;
-                    proceso.iniciarES();
-                    colas.bloquearProceso(proceso);
-                    System.out.println("[Ciclo " + ciclo + "] " + proceso.getPCB().getNombre() + 
-                                     " → BLOQUEADO (E/S)");
-                    log.logBloqueo(ciclo, proceso, "Solicitud de E/S");
-                }
-            }
-            
-            if (proceso.getPCB().getProgramCounter() >= proceso.getInstruccionesTotales()) {
-                terminado = true;
-            }
-        }
-        
-        metricas.registrarEjecucion(proceso, ejecutadas, ciclo);
-        log.logEjecucion(ciclo, proceso, ejecutadas);
-        
-        if (terminado) {
-            proceso.getPCB().setEstado(EstadoProceso.TERMINADO);
-            metricas.registrarFinalizacion(proceso, ciclo);
-            gestorMemoria.liberarProceso(proceso);
-            colaTerminados.encolar(proceso);
-            System.out.println("[Ciclo " + ciclo + "] " + proceso.getPCB().getNombre() + 
-                             " → TERMINADO");
-            log.logFinalizacion(ciclo, proceso);
-        } else if (!bloqueado) {
-            proceso.getPCB().setEstado(EstadoProceso.LISTO);
-            colas.getColaCortoPlazo().encolar(proceso);
-            System.out.println("[Ciclo " + ciclo + "] Quantum agotado → cola");
-            log.logQuantumAgotado(ciclo, proceso, quantum);
-        }
-        
-        return ciclo;
-    }
-    
-    private static int ejecutarNoPreemptive(Proceso proceso, ColasMultinivel colas, 
-                                           Metricas metricas, int ciclo, 
-                                           ColaProcesos colaTerminados,
-                                           GestorMemoria gestorMemoria) {
-        boolean terminado = false;
-        int pcInicial = proceso.getPCB().getProgramCounter();
-        
-        while (!terminado && proceso.getPCB().getProgramCounter() < proceso.getInstruccionesTotales()) {
-            proceso.getPCB().incrementarPC();
-            proceso.getPCB().incrementarMAR();
-            ciclo++;
-            
-            if (!proceso.isCPUbound() && proceso.getCiclosAtencion() > 0) {
-                if (proceso.getPCB().getProgramCounter() % proceso.getCiclosAtencion() == 0 
-                    && proceso.getPCB().getProgramCounter() < proceso.getInstruccionesTotales()) {
-                    
-                    int ejecutadas = proceso.getPCB().getProgramCounter() - pcInicial;
-                    metricas.registrarEjecucion(proceso, ejecutadas, ciclo);
-                    log.logEjecucion(ciclo, proceso, ejecutadas);
-                    
-                    proceso.iniciarES();
-                    colas.bloquearProceso(proceso);
-                    System.out.println("[Ciclo " + ciclo + "] " + proceso.getPCB().getNombre() + 
-                                     " → BLOQUEADO (E/S)");
-                    log.logBloqueo(ciclo, proceso, "Solicitud de E/S");
-                    break;
-                }
-            }
-            
-            if (proceso.getPCB().getProgramCounter() >= proceso.getInstruccionesTotales()) {
-                terminado = true;
-            }
-        }
-        
-        if (terminado) {
-            int ejecutadas = proceso.getPCB().getProgramCounter() - pcInicial;
-            metricas.registrarEjecucion(proceso, ejecutadas, ciclo);
-            log.logEjecucion(ciclo, proceso, ejecutadas);
-            
-            proceso.getPCB().setEstado(EstadoProceso.TERMINADO);
-            metricas.registrarFinalizacion(proceso, ciclo);
-            gestorMemoria.liberarProceso(proceso);
-            colaTerminados.encolar(proceso);
-            System.out.println("[Ciclo " + ciclo + "] " + proceso.getPCB().getNombre() + 
-                             " → TERMINADO");
-            log.logFinalizacion(ciclo, proceso);
-        }
-        
-        return ciclo;
-    }
-    
     // ==================== MÉTODOS AUXILIARES (sin cambios) ====================
     
     private static void configurarSistema() {
@@ -622,8 +243,12 @@ public class Main {
         System.out.print("Memoria requerida [64-512KB]: ");
         int memoria = leerEntero(64, 512);
         
+        System.out.print("Ciclo de llegada [0-10000, 0=al inicio]: ");
+        int llegada = leerEntero(0, 10000);
+        
         ProcesoConfig pc = new ProcesoConfig(nombre, instrucciones, esCPU, 
                                             ciclosExc, ciclosAten, prioridad, memoria);
+        pc.setTiempoLlegada(llegada);
         config.agregarProceso(pc);
         
         System.out.println("✓ Proceso agregado: " + nombre);
@@ -640,22 +265,24 @@ public class Main {
         System.out.println("  - Duración de ciclo: " + config.getCicloDuracion() + "ms");
         System.out.println("  - Memoria total: " + config.getMemoriaTotal() + "KB");
         System.out.println("  - Memoria por proceso: " + config.getMemoriaPorProceso() + "KB");
+        System.out.println("  - Núcleos de CPU: " + config.getNucleos());
         System.out.println("  - Algoritmo inicial: " + config.getAlgoritmoInicial());
         
         System.out.println("\nProcesos configurados: " + config.contarProcesos());
-        System.out.println(String.format("%-15s %-8s %-10s %-10s %-8s %-8s", 
-            "Nombre", "Inst", "Tipo", "CiclosE/S", "Prior", "Mem(KB)"));
-        System.out.println("─".repeat(70));
+        System.out.println(String.format("%-15s %-8s %-10s %-10s %-8s %-8s %-8s", 
+            "Nombre", "Inst", "Tipo", "CiclosE/S", "Prior", "Mem(KB)", "Llegada"));
+        System.out.println("─".repeat(79));
         
         for (ProcesoConfig p : config.getProcesos()) {
             if (p != null) {
-                System.out.println(String.format("%-15s %-8d %-10s %-10d %-8d %-8d",
+                System.out.println(String.format("%-15s %-8d %-10s %-10d %-8d %-8d %-8d",
                     p.getNombre(),
                     p.getInstrucciones(),
                     p.isEsCPUbound() ? "CPU-bound" : "I/O-bound",
                     p.getCiclosAtencion(),
                     p.getPrioridad(),
-                    p.getMemoriaRequerida()));
+                    p.getMemoriaRequerida(),
+                    p.getTiempoLlegada()));
             }
         }
         
@@ -1,47 +1,61 @@
 package so_simulador;
 
 import so_simulador.modelo.*;
+import so_simulador.simulacion.ContextoSimulacion;
 import so_simulador.sincronizacion.*;
 
 /**
  * MainConcurrent: prueba de concurrencia real con hilos y semáforos.
  * Aquí no usamos planificadores ni métricas, sino ejecución paralela real.
+ * Con el argumento --virtual corre en tiempo virtual: sin pausas, el reloj
+ * avanza cuando todos los procesos esperan.
  */
 public class MainConcurrent {
     public static void main(String[] args) {
-        // Crear un recurso compartido (ej: impresora) con semáforo binario
-        Semaforo impresora = new Semaforo(1);
+        // Crear un recurso compartido (ej: impresora) con semáforo binario;
+        // justo, así la impresora atiende en orden de llegada
+        Semaforo impresora = new Semaforo(1, true);
 
-        // Crear reloj global
-        Reloj reloj = new Reloj();
+        boolean virtual = args.length > 0 && args[0].equals("--virtual");
 
-        // Crear procesos (nombre, instrucciones, esCPUbound, cicloExcepcion, cicloES, prioridad)
-        Proceso p1 = new Proceso("Proceso A", 5, true, 2, 0, 1);
-        Proceso p2 = new Proceso("Proceso B", 7, true, 3, 0, 2);
-        Proceso p3 = new Proceso("Proceso C", 4, true, 2, 0, 3);
+        // Contexto de esta simulación: reloj, gestor de E/S e ids propios
+        ContextoSimulacion contexto = new ContextoSimulacion();
+        if (virtual) contexto.activarTiempoVirtual();
+        Reloj reloj = contexto.getReloj();
+        GestorES gestorES = contexto.getGestorES();
 
-        // Asignar recurso y reloj a cada proceso
+        // Crear procesos (nombre, instrucciones, esCPUbound, cicloExcepcion, cicloES, prioridad);
+        // el contexto les asigna reloj y gestor de E/S
+        Proceso p1 = contexto.crearProceso("Proceso A", 5, true, 2, 0, 1);
+        Proceso p2 = contexto.crearProceso("Proceso B", 7, true, 3, 0, 2);
+        Proceso p3 = contexto.crearProceso("Proceso C", 4, true, 2, 0, 3);
+
+        // Asignar recurso a cada proceso
         p1.setRecurso(impresora);
         p2.setRecurso(impresora);
         p3.setRecurso(impresora);
 
-        p1.setReloj(reloj);
-        p2.setReloj(reloj);
-        p3.setReloj(reloj);
-
-        // Crear CPU concurrente
-        CPUConcurrent cpu = new CPUConcurrent();
+        // Crear CPU concurrente (cada proceso en un hilo virtual)
+        CPUConcurrent cpu = new CPUConcurrent(CPUConcurrent.TipoHilo.VIRTUAL);
 
-        // Ejecutar procesos como hilos reales
+        // Ejecutar procesos en sus hilos
         cpu.ejecutar(p1);
         cpu.ejecutar(p2);
         cpu.ejecutar(p3);
 
+        if (virtual) {
+            // El reloj avanza solo cada vez que todos esperan
+            contexto.getTiempoVirtual().ejecutar();
+            System.out.println("\n--- FIN DE LA SIMULACIÓN CONCURRENTE (tick " + reloj.getTiempo() + ") ---");
+            return;
+        }
+
         // Avanzar el reloj global mientras haya procesos activos
-        while (p1.isAlive() || p2.isAlive() || p3.isAlive()) {
+        while (p1.estaVivo() || p2.estaVivo() || p3.estaVivo()) {
             try {
                 Thread.sleep(100); // simula ticks de reloj
                 reloj.tick();
+                gestorES.tick(); // despierta las E/S que vencen
             } catch (InterruptedException e) {
                 e.printStackTrace();
             }
@@ -4,17 +4,23 @@ public class ConfiguracionSimulacion {
     private int cicloDuracion; // en milisegundos
     private int memoriaTotal;  // KB
     private int memoriaPorProceso; // KB
+    private int tamanoPagina;   // KB (0 = sin paginación)
+    private int marcosMemoria;  // marcos físicos (0 = memoriaTotal / tamanoPagina)
+    private int nucleos;        // núcleos de CPU
     private String algoritmoInicial;
-    private ProcesoConfig[] procesos;
-    private int maximoProcesos;
+    private ProcesoConfig[] procesos; // crece al agregar; las posiciones libres quedan en null
+    private int totalProcesos;
     
     public ConfiguracionSimulacion() {
         this.cicloDuracion = 1000;
         this.memoriaTotal = 1024;
         this.memoriaPorProceso = 64;
+        this.tamanoPagina = 0;
+        this.marcosMemoria = 0;
+        this.nucleos = 1;
         this.algoritmoInicial = "FCFS";
-        this.maximoProcesos = 100;
-        this.procesos = new ProcesoConfig[maximoProcesos];
+        this.procesos = new ProcesoConfig[16];
+        this.totalProcesos = 0;
     }
     
     // Getters y setters
@@ -33,6 +39,23 @@ public class ConfiguracionSimulacion {
         if (memoriaPorProceso > 0) this.memoriaPorProceso = memoriaPorProceso; 
     }
     
+    public int getTamanoPagina() { return tamanoPagina; }
+    public void setTamanoPagina(int tamanoPagina) { 
+        if (tamanoPagina >= 0) this.tamanoPagina = tamanoPagina; 
+    }
+    
+    public int getMarcosMemoria() { return marcosMemoria; }
+    public void setMarcosMemoria(int marcosMemoria) { 
+        if (marcosMemoria >= 0) this.marcosMemoria = marcosMemoria; 
+    }
+    
+    public boolean usaPaginacion() { return tamanoPagina > 0; }
+    
+    public int getNucleos() { return nucleos; }
+    public void setNucleos(int nucleos) { 
+        if (nucleos > 0) this.nucleos = nucleos; 
+    }
+    
     public String getAlgoritmoInicial() { return algoritmoInicial; }
     public void setAlgoritmoInicial(String algoritmoInicial) { 
         this.algoritmoInicial = algoritmoInicial; 
@@ -41,19 +64,31 @@ public class ConfiguracionSimulacion {
     public ProcesoConfig[] getProcesos() { return procesos; }
     
     public void agregarProceso(ProcesoConfig p) {
-        for (int i = 0; i < procesos.length; i++) {
-            if (procesos[i] == null) {
-                procesos[i] = p;
-                return;
-            }
+        if (p == null) return;
+        if (totalProcesos == procesos.length) {
+            ProcesoConfig[] nuevo = new ProcesoConfig[procesos.length * 2];
+            System.arraycopy(procesos, 0, nuevo, 0, totalProcesos);
+            procesos = nuevo;
         }
+        procesos[totalProcesos++] = p;
     }
     
+    /** Copia de los parámetros; los ProcesoConfig se comparten (el motor solo los lee). */
+    public ConfiguracionSimulacion copiar() {
+        ConfiguracionSimulacion copia = new ConfiguracionSimulacion();
+        copia.cicloDuracion = cicloDuracion;
+        copia.memoriaTotal = memoriaTotal;
+        copia.memoriaPorProceso = memoriaPorProceso;
+        copia.tamanoPagina = tamanoPagina;
+        copia.marcosMemoria = marcosMemoria;
+        copia.nucleos = nucleos;
+        copia.algoritmoInicial = algoritmoInicial;
+        copia.procesos = procesos.clone();
+        copia.totalProcesos = totalProcesos;
+        return copia;
+    }
+
     public int contarProcesos() {
-        int count = 0;
-        for (ProcesoConfig p : procesos) {
-            if (p != null) count++;
-        }
-        return count;
+        return totalProcesos;
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package so_simulador.config;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lee los procesos de un archivo de configuración JSON de a uno, sin
+ * cargar el arreglo "procesos" en memoria. Sirve como FuenteProcesos del
+ * motor para archivos con millones de procesos; para que las llegadas
+ * salgan en orden el archivo debe estar ordenado por llegada.
+ *
+ * Si el archivo tiene un error se informa por System.err y la fuente
+ * termina ahí (getError() lo devuelve).
+ */
+public final class FuenteJSON implements FuenteProcesos, Closeable {
+    private final String rutaArchivo;
+    private LectorJSON lector;   // null = terminada
+    private long leidos;
+    private IOException error;
+
+    public FuenteJSON(String rutaArchivo) {
+        this.rutaArchivo = rutaArchivo;
+        abrir();
+    }
+
+    @Override
+    public ProcesoConfig siguiente() {
+        try {
+            while (lector != null) {
+                LectorJSON.Token t = lector.siguiente();
+                if (t == LectorJSON.Token.INICIO_OBJETO) {
+                    ProcesoConfig p = JSONHandler.leerProceso(lector);
+                    if (p == null) continue; // objeto sin nombre
+                    leidos++;
+                    return p;
+                }
+                if (t == LectorJSON.Token.FIN_ARREGLO) {
+                    close();
+                } else {
+                    throw lector.error("se esperaba un proceso");
+                }
+            }
+        } catch (IOException e) {
+            fallar(e);
+        }
+        return null;
+    }
+
+    @Override
+    public void reiniciar() {
+        cerrarSilencioso();
+        abrir();
+    }
+
+    /** Procesos entregados desde el último reinicio. */
+    public long getLeidos() { return leidos; }
+
+    public IOException getError() { return error; }
+
+    @Override
+    public void close() throws IOException {
+        if (lector != null) {
+            lector.close();
+            lector = null;
+        }
+    }
+
+    /** Abre el archivo y avanza hasta el primer elemento de "procesos". */
+    private void abrir() {
+        leidos = 0;
+        error = null;
+        try {
+            lector = new LectorJSON(new InputStreamReader(
+                new FileInputStream(rutaArchivo), StandardCharsets.UTF_8));
+            if (lector.siguiente() != LectorJSON.Token.INICIO_OBJETO) {
+                throw lector.error("se esperaba '{'");
+            }
+            while (true) {
+                LectorJSON.Token t = lector.siguiente();
+                if (t == LectorJSON.Token.FIN_OBJETO) { // sin procesos
+                    close();
+                    return;
+                }
+                if (t != LectorJSON.Token.CADENA) throw lector.error("se esperaba una clave");
+                boolean esProcesos = lector.textoEs("procesos");
+                LectorJSON.Token valor = lector.siguiente();
+                if (esProcesos && valor == LectorJSON.Token.INICIO_ARREGLO) return;
+                lector.saltarValor(valor);
+            }
+        } catch (IOException e) {
+            fallar(e);
+        }
+    }
+
+    private void fallar(IOException e) {
+        error = e;
+        System.err.println("Error al leer procesos de " + rutaArchivo + ": " + e.getMessage());
+        cerrarSilencioso();
+    }
+
+    private void cerrarSilencioso() {
+        try {
+            close();
+        } catch (IOException e) {
+            lector = null;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package so_simulador.config;
+
+/**
+ * Origen de procesos que el motor consume de a uno a medida que avanza
+ * el tiempo simulado, sin tenerlos todos en memoria.
+ * Los procesos salen ordenados por tiempo de llegada.
+ */
+public interface FuenteProcesos {
+    // Próximo proceso, o null si no quedan
+    ProcesoConfig siguiente();
+
+    // Vuelve al principio (cada corrida del motor empieza de cero)
+    void reiniciar();
+}
@@ -0,0 +1,141 @@
+package so_simulador.config;
+
+import java.util.SplittableRandom;
+
+/**
+ * Genera una carga sintética de procesos a partir de distribuciones, de a
+ * uno por vez: llegadas de Poisson, largo de ráfaga exponencial o Pareto,
+ * mezcla CPU-bound / I/O-bound y prioridades uniformes.
+ *
+ * Con la misma semilla y parámetros la secuencia es siempre la misma, así
+ * que dos corridas con distinto planificador ven exactamente la misma carga.
+ * No guarda los procesos generados: sirve para millones de trabajos.
+ */
+public class GeneradorCargas implements FuenteProcesos {
+    public enum Distribucion {
+        EXPONENCIAL, // la mayoría cerca de la media
+        PARETO       // cola pesada: pocos procesos muy largos
+    }
+
+    private final long semilla;
+    private long cantidad;
+
+    // Llegadas: procesos por ciclo en promedio (Poisson)
+    private double tasaLlegada = 0.5;
+
+    // Largo de los procesos (instrucciones)
+    private Distribucion distribucion = Distribucion.EXPONENCIAL;
+    private double mediaInstrucciones = 20;
+    private double alfaPareto = 1.5;
+    private int maximoInstrucciones = 10_000;
+
+    // Mezcla y prioridades
+    private double proporcionCPUbound = 0.5;
+    private int ciclosAtencionMin = 2;
+    private int ciclosAtencionMax = 8;
+    private int prioridadMin = 1;
+    private int prioridadMax = 10;
+
+    // Memoria (KB, uniforme; 0 = la de la configuración)
+    private int memoriaMin = 0;
+    private int memoriaMax = 0;
+
+    // Estado de la secuencia
+    private SplittableRandom azar;
+    private long generados;
+    private double reloj;
+
+    public GeneradorCargas(long semilla, long cantidad) {
+        this.semilla = semilla;
+        this.cantidad = cantidad;
+        this.azar = new SplittableRandom(semilla);
+    }
+
+    @Override
+    public void reiniciar() {
+        azar = new SplittableRandom(semilla);
+        generados = 0;
+        reloj = 0;
+    }
+
+    @Override
+    public ProcesoConfig siguiente() {
+        if (generados >= cantidad) return null;
+        generados++;
+
+        // Tiempo entre llegadas exponencial = llegadas de Poisson
+        if (generados > 1) reloj += exponencial(1.0 / tasaLlegada);
+        int llegada = reloj >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) reloj;
+
+        int instrucciones = (int) Math.min(maximoInstrucciones, Math.max(1, Math.round(largo())));
+        boolean esCPUbound = azar.nextDouble() < proporcionCPUbound;
+        int ciclosAtencion = esCPUbound ? 0 : entre(ciclosAtencionMin, ciclosAtencionMax);
+        int prioridad = entre(prioridadMin, prioridadMax);
+        int memoria = memoriaMax > 0 ? entre(memoriaMin, memoriaMax) : 0;
+
+        ProcesoConfig pc = new ProcesoConfig("G" + generados, instrucciones, esCPUbound,
+                                             0, ciclosAtencion, prioridad, memoria);
+        pc.setTiempoLlegada(llegada);
+        return pc;
+    }
+
+    private double largo() {
+        if (distribucion == Distribucion.PARETO) {
+            // Mínimo xm elegido para que la media sea mediaInstrucciones (alfa > 1)
+            double xm = mediaInstrucciones * (alfaPareto - 1) / alfaPareto;
+            return xm / Math.pow(1.0 - azar.nextDouble(), 1.0 / alfaPareto);
+        }
+        return exponencial(mediaInstrucciones);
+    }
+
+    private double exponencial(double media) {
+        return -Math.log(1.0 - azar.nextDouble()) * media;
+    }
+
+    private int entre(int min, int max) {
+        return max <= min ? min : min + azar.nextInt(max - min + 1);
+    }
+
+    // ========== PARÁMETROS ==========
+
+    public void setCantidad(long cantidad) { this.cantidad = Math.max(0, cantidad); }
+
+    /** Procesos que llegan por ciclo en promedio. */
+    public void setTasaLlegada(double porCiclo) {
+        if (porCiclo > 0) this.tasaLlegada = porCiclo;
+    }
+
+    /** Largo de ráfaga; con PARETO alfa debe ser mayor que 1 para que la media exista. */
+    public void setDistribucion(Distribucion distribucion, double mediaInstrucciones, double alfaPareto) {
+        this.distribucion = distribucion;
+        if (mediaInstrucciones >= 1) this.mediaInstrucciones = mediaInstrucciones;
+        if (alfaPareto > 1) this.alfaPareto = alfaPareto;
+    }
+
+    public void setMaximoInstrucciones(int maximo) {
+        if (maximo > 0) this.maximoInstrucciones = maximo;
+    }
+
+    public void setProporcionCPUbound(double proporcion) {
+        this.proporcionCPUbound = Math.max(0, Math.min(1, proporcion));
+    }
+
+    public void setCiclosAtencion(int min, int max) {
+        this.ciclosAtencionMin = Math.max(1, min);
+        this.ciclosAtencionMax = Math.max(ciclosAtencionMin, max);
+    }
+
+    public void setPrioridades(int min, int max) {
+        this.prioridadMin = min;
+        this.prioridadMax = Math.max(min, max);
+    }
+
+    public void setMemoria(int minKB, int maxKB) {
+        this.memoriaMin = Math.max(0, minKB);
+        this.memoriaMax = Math.max(memoriaMin, maxKB);
+    }
+
+    public long getSemilla() { return semilla; }
+    public long getCantidad() { return cantidad; }
+    public long getGenerados() { return generados; }
+}
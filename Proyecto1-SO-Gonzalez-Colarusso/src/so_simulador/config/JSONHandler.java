@@ -1,6 +1,7 @@
 package so_simulador.config;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 
 public class JSONHandler {
     
@@ -8,36 +9,58 @@ public class JSONHandler {
      * Guarda la configuración en formato JSON manual
      */
     public static boolean guardar(ConfiguracionSimulacion config, String rutaArchivo) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(rutaArchivo))) {
+        ProcesoConfig[] procesos = config.getProcesos();
+        int total = config.contarProcesos();
+        return guardar(config, new FuenteProcesos() {
+            private int i = 0;
+            @Override public ProcesoConfig siguiente() { return i < total ? procesos[i++] : null; }
+            @Override public void reiniciar() { i = 0; }
+        }, rutaArchivo);
+    }
+    
+    /**
+     * Guarda los parámetros de 'config' con los procesos que entregue la
+     * fuente (por ejemplo un GeneradorCargas), escribiéndolos de a uno.
+     */
+    public static boolean guardar(ConfiguracionSimulacion config, FuenteProcesos procesos, String rutaArchivo) {
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(rutaArchivo), StandardCharsets.UTF_8), 1 << 16))) {
             writer.println("{");
             writer.println("  \"cicloDuracion\": " + config.getCicloDuracion() + ",");
             writer.println("  \"memoriaTotal\": " + config.getMemoriaTotal() + ",");
             writer.println("  \"memoriaPorProceso\": " + config.getMemoriaPorProceso() + ",");
-            writer.println("  \"algoritmoInicial\": \"" + config.getAlgoritmoInicial() + "\",");
+            writer.println("  \"tamanoPagina\": " + config.getTamanoPagina() + ",");
+            writer.println("  \"marcosMemoria\": " + config.getMarcosMemoria() + ",");
+            writer.println("  \"nucleos\": " + config.getNucleos() + ",");
+            writer.println("  \"algoritmoInicial\": \"" + escapar(config.getAlgoritmoInicial()) + "\",");
             writer.println("  \"procesos\": [");
             
-            ProcesoConfig[] procesos = config.getProcesos();
             boolean primero = true;
-            for (ProcesoConfig p : procesos) {
-                if (p != null) {
-                    if (!primero) writer.println(",");
-                    writer.println("    {");
-                    writer.println("      \"nombre\": \"" + p.getNombre() + "\",");
-                    writer.println("      \"instrucciones\": " + p.getInstrucciones() + ",");
-                    writer.println("      \"esCPUbound\": " + p.isEsCPUbound() + ",");
-                    writer.println("      \"ciclosExcepcion\": " + p.getCiclosExcepcion() + ",");
-                    writer.println("      \"ciclosAtencion\": " + p.getCiclosAtencion() + ",");
-                    writer.println("      \"prioridad\": " + p.getPrioridad() + ",");
-                    writer.println("      \"memoriaRequerida\": " + p.getMemoriaRequerida());
-                    writer.print("    }");
-                    primero = false;
+            for (ProcesoConfig p = procesos.siguiente(); p != null; p = procesos.siguiente()) {
+                if (!primero) writer.println(",");
+                writer.println("    {");
+                writer.println("      \"nombre\": \"" + escapar(p.getNombre()) + "\",");
+                writer.println("      \"instrucciones\": " + p.getInstrucciones() + ",");
+                writer.println("      \"esCPUbound\": " + p.isEsCPUbound() + ",");
+                writer.println("      \"ciclosExcepcion\": " + p.getCiclosExcepcion() + ",");
+                writer.println("      \"ciclosAtencion\": " + p.getCiclosAtencion() + ",");
+                writer.println("      \"prioridad\": " + p.getPrioridad() + ",");
+                if (p.getAfinidad() >= 0) {
+                    writer.println("      \"afinidad\": " + p.getAfinidad() + ",");
+                }
+                if (p.getTiempoLlegada() > 0) {
+                    writer.println("      \"tiempoLlegada\": " + p.getTiempoLlegada() + ",");
                 }
+                writer.println("      \"memoriaRequerida\": " + p.getMemoriaRequerida());
+                writer.print("    }");
+                primero = false;
             }
             
             writer.println();
             writer.println("  ]");
             writer.println("}");
             
+            if (writer.checkError()) throw new IOException("no se pudo escribir " + rutaArchivo);
             return true;
         } catch (IOException e) {
             System.err.println("Error al guardar configuración: " + e.getMessage());
@@ -46,100 +69,147 @@ public class JSONHandler {
     }
     
     /**
-     * Carga la configuración desde un archivo JSON
+     * Carga la configuración desde un archivo JSON con cualquier formato
+     * (una línea, indentado, claves en cualquier orden). Las claves
+     * desconocidas se ignoran.
      */
     public static ConfiguracionSimulacion cargar(String rutaArchivo) {
+        return cargar(rutaArchivo, true);
+    }
+    
+    /**
+     * Solo los parámetros del sistema; el arreglo de procesos se saltea
+     * sin guardarlo. Para archivos grandes, junto con una FuenteJSON.
+     */
+    public static ConfiguracionSimulacion cargarParametros(String rutaArchivo) {
+        return cargar(rutaArchivo, false);
+    }
+    
+    private static ConfiguracionSimulacion cargar(String rutaArchivo, boolean conProcesos) {
         ConfiguracionSimulacion config = new ConfiguracionSimulacion();
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(rutaArchivo))) {
-            String linea;
-            ProcesoConfig procesoActual = null;
-            String nombre = null;
-            int instrucciones = 0, ciclosExc = 0, ciclosAten = 0, prioridad = 0, memoria = 0;
-            boolean esCPU = true;
-            
-            while ((linea = reader.readLine()) != null) {
-                linea = linea.trim();
+        try (LectorJSON lector = new LectorJSON(new InputStreamReader(
+                new FileInputStream(rutaArchivo), StandardCharsets.UTF_8))) {
+            if (lector.siguiente() != LectorJSON.Token.INICIO_OBJETO) {
+                throw lector.error("se esperaba '{'");
+            }
+            LectorJSON.Token t;
+            while ((t = lector.siguiente()) != LectorJSON.Token.FIN_OBJETO) {
+                if (t != LectorJSON.Token.CADENA) throw lector.error("se esperaba una clave");
                 
-                // Parse cicloDuracion
-                if (linea.startsWith("\"cicloDuracion\":")) {
-                    String valor = extraerValor(linea);
-                    config.setCicloDuracion(Integer.parseInt(valor));
-                }
-                // Parse memoriaTotal
-                else if (linea.startsWith("\"memoriaTotal\":")) {
-                    String valor = extraerValor(linea);
-                    config.setMemoriaTotal(Integer.parseInt(valor));
-                }
-                // Parse memoriaPorProceso
-                else if (linea.startsWith("\"memoriaPorProceso\":")) {
-                    String valor = extraerValor(linea);
-                    config.setMemoriaPorProceso(Integer.parseInt(valor));
-                }
-                // Parse algoritmoInicial
-                else if (linea.startsWith("\"algoritmoInicial\":")) {
-                    String valor = extraerValorString(linea);
-                    config.setAlgoritmoInicial(valor);
-                }
-                // Parse proceso
-                else if (linea.startsWith("\"nombre\":")) {
-                    nombre = extraerValorString(linea);
-                }
-                else if (linea.startsWith("\"instrucciones\":")) {
-                    instrucciones = Integer.parseInt(extraerValor(linea));
-                }
-                else if (linea.startsWith("\"esCPUbound\":")) {
-                    esCPU = Boolean.parseBoolean(extraerValor(linea));
-                }
-                else if (linea.startsWith("\"ciclosExcepcion\":")) {
-                    ciclosExc = Integer.parseInt(extraerValor(linea));
-                }
-                else if (linea.startsWith("\"ciclosAtencion\":")) {
-                    ciclosAten = Integer.parseInt(extraerValor(linea));
-                }
-                else if (linea.startsWith("\"prioridad\":")) {
-                    prioridad = Integer.parseInt(extraerValor(linea));
-                }
-                else if (linea.startsWith("\"memoriaRequerida\":")) {
-                    memoria = Integer.parseInt(extraerValor(linea));
-                    
-                    // Crear proceso cuando tenemos todos los datos
-                    if (nombre != null) {
-                        ProcesoConfig p = new ProcesoConfig(nombre, instrucciones, esCPU,
-                                ciclosExc, ciclosAten, prioridad, memoria);
-                        config.agregarProceso(p);
-                        nombre = null; // reset
+                if (lector.textoEs("procesos")) {
+                    LectorJSON.Token valor = lector.siguiente();
+                    if (!conProcesos || valor != LectorJSON.Token.INICIO_ARREGLO) {
+                        lector.saltarValor(valor);
+                        continue;
                     }
+                    while ((t = lector.siguiente()) != LectorJSON.Token.FIN_ARREGLO) {
+                        if (t != LectorJSON.Token.INICIO_OBJETO) throw lector.error("se esperaba un proceso");
+                        ProcesoConfig p = leerProceso(lector);
+                        if (p != null) config.agregarProceso(p);
+                    }
+                } else if (lector.textoEs("algoritmoInicial")) {
+                    if (lector.siguiente() == LectorJSON.Token.CADENA) config.setAlgoritmoInicial(lector.getTexto());
+                } else if (lector.textoEs("cicloDuracion")) {
+                    config.setCicloDuracion(leerEntero(lector));
+                } else if (lector.textoEs("memoriaTotal")) {
+                    config.setMemoriaTotal(leerEntero(lector));
+                } else if (lector.textoEs("memoriaPorProceso")) {
+                    config.setMemoriaPorProceso(leerEntero(lector));
+                } else if (lector.textoEs("tamanoPagina")) {
+                    config.setTamanoPagina(leerEntero(lector));
+                } else if (lector.textoEs("marcosMemoria")) {
+                    config.setMarcosMemoria(leerEntero(lector));
+                } else if (lector.textoEs("nucleos")) {
+                    config.setNucleos(leerEntero(lector));
+                } else {
+                    lector.saltarValor(lector.siguiente());
                 }
             }
             
             return config;
             
-        } catch (IOException e) {
+        } catch (IOException | NumberFormatException e) {
             System.err.println("Error al cargar configuración: " + e.getMessage());
-            return config; // retorna configuración por defecto
+            return config; // retorna lo leído hasta el error (o la configuración por defecto)
         }
     }
     
     /**
-     * Extrae el valor numérico o booleano de una línea JSON
+     * Lee un proceso ya abierto con '{' hasta su '}'.
+     * Devuelve null si no tiene nombre.
      */
-    private static String extraerValor(String linea) {
-        int inicio = linea.indexOf(':') + 1;
-        String valor = linea.substring(inicio).trim();
-        // Remover coma final si existe
-        if (valor.endsWith(",")) {
-            valor = valor.substring(0, valor.length() - 1);
+    static ProcesoConfig leerProceso(LectorJSON lector) throws IOException {
+        String nombre = null;
+        int instrucciones = 0, ciclosExc = 0, ciclosAten = 0, prioridad = 0, memoria = 0;
+        int afinidad = -1, llegada = 0;
+        boolean esCPU = true;
+        
+        LectorJSON.Token t;
+        while ((t = lector.siguiente()) != LectorJSON.Token.FIN_OBJETO) {
+            if (t != LectorJSON.Token.CADENA) throw lector.error("se esperaba una clave");
+            
+            if (lector.textoEs("nombre")) {
+                if (lector.siguiente() == LectorJSON.Token.CADENA) nombre = lector.getTexto();
+            } else if (lector.textoEs("instrucciones")) {
+                instrucciones = leerEntero(lector);
+            } else if (lector.textoEs("esCPUbound")) {
+                esCPU = lector.siguiente() == LectorJSON.Token.VERDADERO;
+            } else if (lector.textoEs("ciclosExcepcion")) {
+                ciclosExc = leerEntero(lector);
+            } else if (lector.textoEs("ciclosAtencion")) {
+                ciclosAten = leerEntero(lector);
+            } else if (lector.textoEs("prioridad")) {
+                prioridad = leerEntero(lector);
+            } else if (lector.textoEs("afinidad")) {
+                afinidad = leerEntero(lector);
+            } else if (lector.textoEs("memoriaRequerida")) {
+                memoria = leerEntero(lector);
+            } else if (lector.textoEs("tiempoLlegada")) {
+                llegada = leerEntero(lector);
+            } else {
+                lector.saltarValor(lector.siguiente());
+            }
+        }
+        
+        if (nombre == null) return null;
+        ProcesoConfig p = new ProcesoConfig(nombre, instrucciones, esCPU,
+                ciclosExc, ciclosAten, prioridad, memoria);
+        p.setAfinidad(afinidad);
+        p.setTiempoLlegada(llegada);
+        return p;
+    }
+    
+    private static int leerEntero(LectorJSON lector) throws IOException {
+        LectorJSON.Token t = lector.siguiente();
+        if (t != LectorJSON.Token.NUMERO) {
+            lector.saltarValor(t);
+            throw lector.error("se esperaba un número");
         }
-        return valor.trim();
+        return lector.getEntero();
     }
     
     /**
-     * Extrae el valor string de una línea JSON
+     * Escapa comillas, barras y caracteres de control para escribir una cadena JSON
      */
-    private static String extraerValorString(String linea) {
-        int inicio = linea.indexOf('"', linea.indexOf(':')) + 1;
-        int fin = linea.indexOf('"', inicio);
-        return linea.substring(inicio, fin);
+    private static String escapar(String s) {
+        if (s == null) return "";
+        StringBuilder sb = null;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20) {
+                if (sb != null) sb.append(c);
+                continue;
+            }
+            if (sb == null) sb = new StringBuilder(s.length() + 8).append(s, 0, i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\t': sb.append("\\t"); break;
+                default: sb.append(String.format("\\u%04x", (int) c)); break;
+            }
+        }
+        return sb == null ? s : sb.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,191 @@
+package so_simulador.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Tokenizador JSON por flujo: lee el archivo de a bloques y entrega un
+ * token por vez, sin importar saltos de línea ni espacios. La memoria usada
+ * no depende del tamaño del archivo, solo del valor más largo.
+ *
+ * Los ':' y ',' se validan y se saltan; quien lee sabe por la estructura
+ * si una cadena es clave o valor.
+ */
+class LectorJSON implements Closeable {
+    enum Token {
+        INICIO_OBJETO, FIN_OBJETO, INICIO_ARREGLO, FIN_ARREGLO,
+        CADENA, NUMERO, VERDADERO, FALSO, NULO, FIN
+    }
+
+    private final Reader entrada;
+    private final char[] bloque = new char[1 << 16];
+    private int posicion;
+    private int limite;
+    private int linea = 1;
+
+    // Valor del último token
+    private final StringBuilder texto = new StringBuilder(64);
+    private long numero;
+    private boolean esEntero;
+    private char separador;   // ':' o ',' visto antes del token (0 = ninguno)
+
+    LectorJSON(Reader entrada) {
+        this.entrada = entrada;
+    }
+
+    /** Avanza al próximo token. */
+    Token siguiente() throws IOException {
+        separador = 0;
+        while (true) {
+            int c = leer();
+            switch (c) {
+                case -1: return Token.FIN;
+                case '\n': linea++; continue;
+                case ' ': case '\t': case '\r': continue;
+                case ':': case ',':
+                    if (separador != 0) throw error("'" + (char) c + "' repetido");
+                    separador = (char) c;
+                    continue;
+                case '{': return Token.INICIO_OBJETO;
+                case '}': return Token.FIN_OBJETO;
+                case '[': return Token.INICIO_ARREGLO;
+                case ']': return Token.FIN_ARREGLO;
+                case '"': leerCadena(); return Token.CADENA;
+                case 't': esperar("rue"); return Token.VERDADERO;
+                case 'f': esperar("alse"); return Token.FALSO;
+                case 'n': esperar("ull"); return Token.NULO;
+                default:
+                    if (c == '-' || (c >= '0' && c <= '9')) {
+                        leerNumero((char) c);
+                        return Token.NUMERO;
+                    }
+                    throw error("carácter inesperado '" + (char) c + "'");
+            }
+        }
+    }
+
+    /** Saltea el valor que empieza con 'inicio' (objetos y arreglos completos). */
+    void saltarValor(Token inicio) throws IOException {
+        if (inicio != Token.INICIO_OBJETO && inicio != Token.INICIO_ARREGLO) return;
+        int profundidad = 1;
+        while (profundidad > 0) {
+            Token t = siguiente();
+            if (t == Token.INICIO_OBJETO || t == Token.INICIO_ARREGLO) profundidad++;
+            else if (t == Token.FIN_OBJETO || t == Token.FIN_ARREGLO) profundidad--;
+            else if (t == Token.FIN) throw error("el archivo termina dentro de un valor");
+        }
+    }
+
+    /** Compara la última cadena con 's' sin crear un String. */
+    boolean textoEs(String s) {
+        if (texto.length() != s.length()) return false;
+        for (int i = 0; i < s.length(); i++) {
+            if (texto.charAt(i) != s.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    String getTexto() {
+        return texto.toString();
+    }
+
+    /** Valor del último NUMERO como int (los decimales se truncan). */
+    int getEntero() {
+        if (esEntero) return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, numero));
+        return (int) Double.parseDouble(texto.toString());
+    }
+
+    int getLinea() {
+        return linea;
+    }
+
+    IOException error(String motivo) {
+        return new IOException("JSON inválido en línea " + linea + ": " + motivo);
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+
+    // ========== AUXILIARES ==========
+
+    private int leer() throws IOException {
+        if (posicion == limite) {
+            limite = entrada.read(bloque, 0, bloque.length);
+            posicion = 0;
+            if (limite <= 0) {
+                limite = 0;
+                return -1;
+            }
+        }
+        return bloque[posicion++];
+    }
+
+    private void volver() {
+        posicion--;
+    }
+
+    private void esperar(String resto) throws IOException {
+        for (int i = 0; i < resto.length(); i++) {
+            if (leer() != resto.charAt(i)) throw error("literal desconocido");
+        }
+    }
+
+    private void leerCadena() throws IOException {
+        texto.setLength(0);
+        while (true) {
+            int c = leer();
+            if (c == '"') return;
+            if (c == -1) throw error("cadena sin cerrar");
+            if (c == '\n') linea++;
+            if (c != '\\') {
+                texto.append((char) c);
+                continue;
+            }
+            c = leer();
+            switch (c) {
+                case '"': case '\\': case '/': texto.append((char) c); break;
+                case 'b': texto.append('\b'); break;
+                case 'f': texto.append('\f'); break;
+                case 'n': texto.append('\n'); break;
+                case 'r': texto.append('\r'); break;
+                case 't': texto.append('\t'); break;
+                case 'u':
+                    int codigo = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int d = Character.digit(leer(), 16);
+                        if (d < 0) throw error("escape \\u inválido");
+                        codigo = codigo * 16 + d;
+                    }
+                    texto.append((char) codigo);
+                    break;
+                default: throw error("escape inválido");
+            }
+        }
+    }
+
+    /** Enteros sin crear objetos; con decimales o exponente guarda el texto. */
+    private void leerNumero(char primero) throws IOException {
+        texto.setLength(0);
+        texto.append(primero);
+        boolean negativo = primero == '-';
+        numero = negativo ? 0 : primero - '0';
+        esEntero = true;
+        int c;
+        while ((c = leer()) != -1) {
+            if (c >= '0' && c <= '9') {
+                if (esEntero) numero = numero * 10 + (c - '0');
+            } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                esEntero = false;
+            } else {
+                volver();
+                break;
+            }
+            texto.append((char) c);
+        }
+        if (negativo) numero = -numero;
+        if (texto.length() == 1 && negativo) throw error("número inválido");
+    }
+}
@@ -8,6 +8,8 @@ public class ProcesoConfig {
     private int ciclosAtencion;
     private int prioridad;
     private int memoriaRequerida; // KB
+    private int afinidad = -1;    // núcleo fijo (-1 = cualquiera)
+    private int tiempoLlegada;    // ciclo en que entra al sistema
     
     public ProcesoConfig(String nombre, int instrucciones, boolean esCPUbound,
                          int ciclosExcepcion, int ciclosAtencion, int prioridad, 
@@ -29,6 +31,8 @@ public class ProcesoConfig {
     public int getCiclosAtencion() { return ciclosAtencion; }
     public int getPrioridad() { return prioridad; }
     public int getMemoriaRequerida() { return memoriaRequerida; }
+    public int getAfinidad() { return afinidad; }
+    public int getTiempoLlegada() { return tiempoLlegada; }
     
     // Setters
     public void setNombre(String nombre) { this.nombre = nombre; }
@@ -38,4 +42,6 @@ public class ProcesoConfig {
     public void setCiclosAtencion(int ciclosAtencion) { this.ciclosAtencion = ciclosAtencion; }
     public void setPrioridad(int prioridad) { this.prioridad = prioridad; }
     public void setMemoriaRequerida(int memoriaRequerida) { this.memoriaRequerida = memoriaRequerida; }
+    public void setAfinidad(int afinidad) { this.afinidad = afinidad; }
+    public void setTiempoLlegada(int tiempoLlegada) { this.tiempoLlegada = Math.max(0, tiempoLlegada); }
 }
\ No newline at end of file
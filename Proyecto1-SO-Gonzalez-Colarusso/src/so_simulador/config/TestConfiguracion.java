@@ -45,6 +45,61 @@ public class TestConfiguracion {
             }
         }
         
+        // 5. JSON en una sola línea, claves en otro orden, escapes y claves desconocidas
+        java.io.File archivoMinificado = null;
+        try {
+            archivoMinificado = java.io.File.createTempFile("config_minificado", ".json");
+            String minificado = archivoMinificado.getPath();
+            try (java.io.PrintWriter w = new java.io.PrintWriter(minificado, "UTF-8")) {
+                w.print("{\"procesos\":[{\"memoriaRequerida\":64,\"nombre\":\"Con \\\"comillas\\\" y \\u00f1\","
+                      + "\"instrucciones\":12,\"esCPUbound\":false,\"ciclosAtencion\":3,\"extra\":{\"a\":[1,2]}},"
+                      + "{\"nombre\":\"Otro\",\"instrucciones\":5,\"prioridad\":2}],"
+                      + "\"memoriaTotal\":4096,\"nucleos\":2,\"comentario\":null}");
+            }
+            ConfiguracionSimulacion mini = JSONHandler.cargar(minificado);
+            ProcesoConfig primero = mini.getProcesos()[0];
+            boolean okMini = mini.contarProcesos() == 2 && mini.getMemoriaTotal() == 4096 && mini.getNucleos() == 2
+                    && primero.getNombre().equals("Con \"comillas\" y ñ") && !primero.isEsCPUbound();
+            System.out.println("\n" + (okMini ? "✓" : "✗") + " Minificado: " + mini.contarProcesos()
+                    + " procesos, " + mini.getMemoriaTotal() + "KB, primero: " + primero.getNombre());
+        } catch (java.io.IOException e) {
+            System.out.println("✗ No se pudo escribir el JSON minificado: " + e.getMessage());
+        } finally {
+            if (archivoMinificado != null) archivoMinificado.delete();
+        }
+        
+        // 6. Archivo grande leído por flujo: 500.000 procesos sin tenerlos en memoria
+        // (en un temporal que se borra aunque algo falle: pesa más de 100 MB)
+        java.io.File archivoGrande = null;
+        try {
+            archivoGrande = java.io.File.createTempFile("config_grande", ".json");
+            String grande = archivoGrande.getPath();
+            int cantidad = 500_000;
+            long t0 = System.nanoTime();
+            JSONHandler.guardar(config, new GeneradorCargas(1, cantidad), grande);
+            long t1 = System.nanoTime();
+            long instrucciones = 0;
+            long leidos = 0;
+            try (FuenteJSON fuente = new FuenteJSON(grande)) {
+                for (ProcesoConfig p = fuente.siguiente(); p != null; p = fuente.siguiente()) {
+                    instrucciones += p.getInstrucciones();
+                    leidos++;
+                }
+            }
+            long t2 = System.nanoTime();
+            double mb = archivoGrande.length() / 1e6;
+            ConfiguracionSimulacion soloParametros = JSONHandler.cargarParametros(grande);
+            System.out.println((leidos == cantidad ? "✓" : "✗") + String.format(
+                    " Flujo: %d procesos (%.0f MB), escritura %.0f ms, lectura %.0f ms (%.0f MB/s), %d instrucciones",
+                    leidos, mb, (t1 - t0) / 1e6, (t2 - t1) / 1e6, mb / ((t2 - t1) / 1e9), instrucciones));
+            System.out.println((soloParametros.contarProcesos() == 0 ? "✓" : "✗") + " Solo parámetros: "
+                    + soloParametros.getMemoriaTotal() + "KB, " + soloParametros.contarProcesos() + " procesos");
+        } catch (java.io.IOException e) {
+            System.out.println("✗ " + e.getMessage());
+        } finally {
+            if (archivoGrande != null) archivoGrande.delete();
+        }
+        
         System.out.println("\n=== TEST COMPLETADO ===");
     }
 }
\ No newline at end of file
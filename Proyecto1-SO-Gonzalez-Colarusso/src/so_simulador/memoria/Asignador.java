@@ -0,0 +1,25 @@
+package so_simulador.memoria;
+
+/**
+ * Asignador de memoria contigua: reparte el espacio de direcciones
+ * [0, memoriaTotal) en bloques para los procesos. Todas las unidades en KB.
+ */
+public interface Asignador {
+    /** Reserva un bloque de al menos 'tamano' KB; devuelve su dirección o -1 si no hay hueco. */
+    int asignar(int tamano);
+
+    /** Libera el bloque que se reservó en 'direccion' pidiendo 'tamano' KB. */
+    void liberar(int direccion, int tamano);
+
+    /** KB que ocupa realmente un pedido de 'tamano' KB (puede redondear hacia arriba). */
+    int tamanoBloque(int tamano);
+
+    /** Indica si hoy existe un hueco donde entre un pedido de 'tamano' KB. */
+    boolean puedeAsignar(int tamano);
+
+    int getMemoriaLibre();
+
+    int getMayorHuecoLibre();
+
+    String getNombre();
+}
@@ -0,0 +1,140 @@
+package so_simulador.memoria;
+
+/**
+ * Sistema de compañeros (buddy): los bloques son potencias de dos de
+ * TAMANO_MINIMO KB. Un pedido se redondea a la potencia siguiente (eso es
+ * fragmentación interna); al liberar, el bloque se une con su compañero
+ * mientras este también esté libre.
+ *
+ * Si la memoria total no es potencia de dos se reparte en varios bloques
+ * iniciales (por ejemplo 768 = 512 + 256), que nunca se unen entre sí.
+ */
+public class AsignadorBuddy implements Asignador {
+    public static final int TAMANO_MINIMO = 4; // KB
+
+    private final int bloques;        // cantidad de bloques mínimos
+    private final int maxOrden;       // orden del bloque más grande posible
+    private final int[] cabeza;       // primer bloque libre de cada orden (-1 = ninguno)
+    private final int[] ordenLibre;   // orden del bloque libre que empieza aquí (-1 = no hay)
+    private final int[] siguiente;    // listas de libres por orden, indexadas por bloque
+    private final int[] anterior;
+    private int memoriaLibre;
+
+    public AsignadorBuddy(int memoriaTotal) {
+        this.bloques = Math.max(0, memoriaTotal / TAMANO_MINIMO);
+        int orden = 0;
+        while ((1 << (orden + 1)) <= bloques) orden++;
+        this.maxOrden = orden;
+
+        cabeza = new int[maxOrden + 1];
+        for (int k = 0; k <= maxOrden; k++) cabeza[k] = -1;
+        ordenLibre = new int[Math.max(1, bloques)];
+        siguiente = new int[ordenLibre.length];
+        anterior = new int[ordenLibre.length];
+        for (int i = 0; i < ordenLibre.length; i++) ordenLibre[i] = -1;
+
+        // Bloques iniciales: descomposición binaria de la memoria total
+        int inicio = 0;
+        int restantes = bloques;
+        for (int k = maxOrden; k >= 0 && restantes > 0; k--) {
+            if (restantes >= (1 << k)) {
+                agregarLibre(inicio, k);
+                inicio += 1 << k;
+                restantes -= 1 << k;
+            }
+        }
+        this.memoriaLibre = (bloques - restantes) * TAMANO_MINIMO;
+    }
+
+    @Override
+    public int asignar(int tamano) {
+        if (tamano <= 0) return -1;
+        int k = orden(tamano);
+        int j = k;
+        while (j <= maxOrden && cabeza[j] < 0) j++;
+        if (j > maxOrden) return -1;
+
+        int bloque = cabeza[j];
+        quitarLibre(bloque);
+        // Partir a la mitad hasta llegar al orden pedido; la otra mitad queda libre
+        while (j > k) {
+            j--;
+            agregarLibre(bloque + (1 << j), j);
+        }
+        memoriaLibre -= (1 << k) * TAMANO_MINIMO;
+        return bloque * TAMANO_MINIMO;
+    }
+
+    @Override
+    public void liberar(int direccion, int tamano) {
+        if (tamano <= 0) return;
+        int k = orden(tamano);
+        int bloque = direccion / TAMANO_MINIMO;
+        memoriaLibre += (1 << k) * TAMANO_MINIMO;
+
+        while (k < maxOrden) {
+            int companero = bloque ^ (1 << k);
+            if (companero >= bloques || ordenLibre[companero] != k) break;
+            quitarLibre(companero);
+            bloque = Math.min(bloque, companero);
+            k++;
+        }
+        agregarLibre(bloque, k);
+    }
+
+    @Override
+    public int tamanoBloque(int tamano) {
+        return (1 << orden(tamano)) * TAMANO_MINIMO;
+    }
+
+    @Override
+    public boolean puedeAsignar(int tamano) {
+        if (tamano <= 0) return false;
+        for (int j = orden(tamano); j <= maxOrden; j++) {
+            if (cabeza[j] >= 0) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int getMemoriaLibre() {
+        return memoriaLibre;
+    }
+
+    @Override
+    public int getMayorHuecoLibre() {
+        for (int k = maxOrden; k >= 0; k--) {
+            if (cabeza[k] >= 0) return (1 << k) * TAMANO_MINIMO;
+        }
+        return 0;
+    }
+
+    @Override
+    public String getNombre() {
+        return "Buddy";
+    }
+
+    /** Orden del bloque que corresponde a un pedido (puede superar maxOrden). */
+    private int orden(int tamano) {
+        int necesarios = (tamano + TAMANO_MINIMO - 1) / TAMANO_MINIMO;
+        int k = 0;
+        while ((1 << k) < necesarios) k++;
+        return k;
+    }
+
+    private void agregarLibre(int bloque, int k) {
+        ordenLibre[bloque] = k;
+        anterior[bloque] = -1;
+        siguiente[bloque] = cabeza[k];
+        if (cabeza[k] >= 0) anterior[cabeza[k]] = bloque;
+        cabeza[k] = bloque;
+    }
+
+    private void quitarLibre(int bloque) {
+        int k = ordenLibre[bloque];
+        if (anterior[bloque] >= 0) siguiente[anterior[bloque]] = siguiente[bloque];
+        else cabeza[k] = siguiente[bloque];
+        if (siguiente[bloque] >= 0) anterior[siguiente[bloque]] = anterior[bloque];
+        ordenLibre[bloque] = -1;
+    }
+}
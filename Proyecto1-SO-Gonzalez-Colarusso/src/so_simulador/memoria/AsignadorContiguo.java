@@ -0,0 +1,109 @@
+package so_simulador.memoria;
+
+/**
+ * Base de los asignadores por lista de huecos (primer y mejor ajuste).
+ * Los huecos libres se mantienen en una lista ordenada por dirección; al
+ * liberar, el bloque se une con los huecos vecinos.
+ */
+abstract class AsignadorContiguo implements Asignador {
+    protected static class Hueco {
+        int inicio;
+        int tamano;
+        Hueco anterior;
+        Hueco siguiente;
+
+        Hueco(int inicio, int tamano) {
+            this.inicio = inicio;
+            this.tamano = tamano;
+        }
+    }
+
+    protected Hueco primero; // hueco de menor dirección
+    private int memoriaLibre;
+
+    protected AsignadorContiguo(int memoriaTotal) {
+        this.primero = memoriaTotal > 0 ? new Hueco(0, memoriaTotal) : null;
+        this.memoriaLibre = Math.max(0, memoriaTotal);
+    }
+
+    /** Elige el hueco donde colocar un pedido de 'tamano' KB (null si ninguno sirve). */
+    protected abstract Hueco elegir(int tamano);
+
+    @Override
+    public int asignar(int tamano) {
+        if (tamano <= 0) return -1;
+        Hueco h = elegir(tamano);
+        if (h == null) return -1;
+
+        int direccion = h.inicio;
+        h.inicio += tamano;
+        h.tamano -= tamano;
+        if (h.tamano == 0) quitar(h);
+        memoriaLibre -= tamano;
+        return direccion;
+    }
+
+    @Override
+    public void liberar(int direccion, int tamano) {
+        if (tamano <= 0) return;
+        memoriaLibre += tamano;
+
+        // Buscar el primer hueco después del bloque
+        Hueco anterior = null;
+        Hueco siguiente = primero;
+        while (siguiente != null && siguiente.inicio < direccion) {
+            anterior = siguiente;
+            siguiente = siguiente.siguiente;
+        }
+
+        boolean uneConAnterior = anterior != null && anterior.inicio + anterior.tamano == direccion;
+        boolean uneConSiguiente = siguiente != null && direccion + tamano == siguiente.inicio;
+
+        if (uneConAnterior && uneConSiguiente) {
+            anterior.tamano += tamano + siguiente.tamano;
+            quitar(siguiente);
+        } else if (uneConAnterior) {
+            anterior.tamano += tamano;
+        } else if (uneConSiguiente) {
+            siguiente.inicio = direccion;
+            siguiente.tamano += tamano;
+        } else {
+            Hueco nuevo = new Hueco(direccion, tamano);
+            nuevo.anterior = anterior;
+            nuevo.siguiente = siguiente;
+            if (anterior != null) anterior.siguiente = nuevo; else primero = nuevo;
+            if (siguiente != null) siguiente.anterior = nuevo;
+        }
+    }
+
+    @Override
+    public int tamanoBloque(int tamano) {
+        return tamano;
+    }
+
+    @Override
+    public boolean puedeAsignar(int tamano) {
+        return tamano > 0 && elegir(tamano) != null;
+    }
+
+    @Override
+    public int getMemoriaLibre() {
+        return memoriaLibre;
+    }
+
+    @Override
+    public int getMayorHuecoLibre() {
+        int mayor = 0;
+        for (Hueco h = primero; h != null; h = h.siguiente) {
+            if (h.tamano > mayor) mayor = h.tamano;
+        }
+        return mayor;
+    }
+
+    private void quitar(Hueco h) {
+        if (h.anterior != null) h.anterior.siguiente = h.siguiente; else primero = h.siguiente;
+        if (h.siguiente != null) h.siguiente.anterior = h.anterior;
+        h.anterior = null;
+        h.siguiente = null;
+    }
+}
@@ -0,0 +1,29 @@
+package so_simulador.memoria;
+
+/**
+ * Mejor ajuste (best-fit): usa el hueco más chico donde entra el pedido,
+ * para dejar libres los huecos grandes.
+ */
+public class AsignadorMejorAjuste extends AsignadorContiguo {
+
+    public AsignadorMejorAjuste(int memoriaTotal) {
+        super(memoriaTotal);
+    }
+
+    @Override
+    protected Hueco elegir(int tamano) {
+        Hueco mejor = null;
+        for (Hueco h = primero; h != null; h = h.siguiente) {
+            if (h.tamano >= tamano && (mejor == null || h.tamano < mejor.tamano)) {
+                mejor = h;
+                if (h.tamano == tamano) break; // no hay ajuste mejor que el exacto
+            }
+        }
+        return mejor;
+    }
+
+    @Override
+    public String getNombre() {
+        return "Mejor ajuste";
+    }
+}
@@ -0,0 +1,24 @@
+package so_simulador.memoria;
+
+/**
+ * Primer ajuste (first-fit): usa el primer hueco, por dirección, donde entra el pedido.
+ */
+public class AsignadorPrimerAjuste extends AsignadorContiguo {
+
+    public AsignadorPrimerAjuste(int memoriaTotal) {
+        super(memoriaTotal);
+    }
+
+    @Override
+    protected Hueco elegir(int tamano) {
+        for (Hueco h = primero; h != null; h = h.siguiente) {
+            if (h.tamano >= tamano) return h;
+        }
+        return null;
+    }
+
+    @Override
+    public String getNombre() {
+        return "Primer ajuste";
+    }
+}
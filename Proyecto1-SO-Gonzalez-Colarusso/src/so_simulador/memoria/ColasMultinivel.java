@@ -1,5 +1,6 @@
 package so_simulador.memoria;
 
+import java.util.Comparator;
 import so_simulador.modelo.*;
 
 /**
@@ -7,8 +8,18 @@ import so_simulador.modelo.*;
  * - Largo plazo: procesos nuevos esperando admisión
  * - Mediano plazo: procesos suspendidos (swapped out)
  * - Corto plazo: procesos listos para ejecutar
+ *
+ * Los procesos que llegan más adelante esperan en la cola de llegadas
+ * (ordenada por ciclo de llegada) y entran a largo plazo cuando el tiempo
+ * simulado alcanza su llegada. Se mide cuánto esperan en largo plazo
+ * hasta conseguir memoria (latencia de admisión).
  */
 public class ColasMultinivel {
+    // Llegadas futuras: la más próxima primero (empates en orden de programación)
+    private static final Comparator<Proceso> POR_LLEGADA =
+            Comparator.comparingInt(Proceso::getTiempoLlegada);
+
+    private ColaPrioridadProcesos colaLlegadas;
     private ColaProcesos colaLargoPlazo;    // NEW
     private ColaProcesos colaMedianoPlazo;  // SUSPENDED
     private ColaProcesos colaCortoPlazo;    // READY
@@ -16,10 +27,25 @@ public class ColasMultinivel {
     
     private GestorMemoria gestorMemoria;
     
+    // Latencia de admisión (llegada → carga en memoria)
+    private long cargadosDesdeNuevo;
+    private long esperaAdmisionTotal;
+    private int esperaAdmisionMaxima;
+    private int maximoEnLargoPlazo;
+    
     public ColasMultinivel(GestorMemoria gestorMemoria) {
+        this(gestorMemoria, new ColaProcesos());
+    }
+    
+    /**
+     * Permite usar una cola de listos específica del planificador
+     * (por ejemplo, un montículo para SJF o Prioridades)
+     */
+    public ColasMultinivel(GestorMemoria gestorMemoria, ColaProcesos colaCortoPlazo) {
+        this.colaLlegadas = new ColaPrioridadProcesos(POR_LLEGADA);
         this.colaLargoPlazo = new ColaProcesos();
         this.colaMedianoPlazo = new ColaProcesos();
-        this.colaCortoPlazo = new ColaProcesos();
+        this.colaCortoPlazo = colaCortoPlazo;
         this.colaBloqueados = new ColaProcesos();
         this.gestorMemoria = gestorMemoria;
     }
@@ -28,10 +54,47 @@ public class ColasMultinivel {
      * Admite un proceso nuevo al sistema (va a largo plazo)
      */
     public void admitirProceso(Proceso p) {
-        p.getPCB().setEstado(EstadoProceso.NUEVO);
+        p.getPCB().setEstado(EstadoProceso.NUEVO, p.getTiempoLlegada());
         colaLargoPlazo.encolar(p);
+        if (colaLargoPlazo.tamano() > maximoEnLargoPlazo) maximoEnLargoPlazo = colaLargoPlazo.tamano();
+    }
+    
+    /**
+     * Admite un proceso que llega en tiempoActual (queda como su tiempo de llegada)
+     */
+    public void admitirProceso(Proceso p, int tiempoActual) {
+        p.setTiempoLlegada(tiempoActual);
+        admitirProceso(p);
+    }
+    
+    /**
+     * Deja un proceso esperando su tiempo de llegada
+     */
+    public void programarLlegada(Proceso p) {
+        colaLlegadas.encolar(p);
     }
     
+    /**
+     * Admite el próximo proceso cuya llegada ya ocurrió y lo retorna
+     * (null si ninguno llegó todavía). Se llama hasta que dé null.
+     */
+    public Proceso admitirSiguienteLlegada(int tiempoActual) {
+        if (colaLlegadas.estaVacia() || colaLlegadas.verPrimero().getTiempoLlegada() > tiempoActual) {
+            return null;
+        }
+        Proceso p = colaLlegadas.desencolar();
+        admitirProceso(p); // conserva su tiempo de llegada
+        return p;
+    }
+    
+    /**
+     * Ciclo de la próxima llegada, o -1 si no hay llegadas pendientes
+     */
+    public int getProximaLlegada() {
+        return colaLlegadas.estaVacia() ? -1 : colaLlegadas.verPrimero().getTiempoLlegada();
+    }
+
+    
     /**
      * Planificador de largo plazo: intenta cargar procesos nuevos en memoria
      * Retorna el número de procesos cargados
@@ -39,19 +102,21 @@ public class ColasMultinivel {
     public int planificarLargoPlazo(int tiempoActual) {
         int cargados = 0;
         
-        // Mientras haya espacio y procesos nuevos
-        while (!colaLargoPlazo.estaVacia() && gestorMemoria.hayEspacioDisponible()) {
-            Proceso p = colaLargoPlazo.desencolar();
+        // Mientras haya procesos nuevos y el primero entre en memoria
+        // (cada uno ocupa su memoria requerida; el orden de llegada se respeta)
+        while (!colaLargoPlazo.estaVacia()) {
+            Proceso p = colaLargoPlazo.verPrimero();
+            if (!gestorMemoria.cargarProceso(p, tiempoActual)) break;
             
-            if (gestorMemoria.cargarProceso(p, tiempoActual)) {
-                p.getPCB().setEstado(EstadoProceso.LISTO);
-                colaCortoPlazo.encolar(p);
-                cargados++;
-            } else {
-                // No se pudo cargar, devolver a la cola
-                colaLargoPlazo.encolar(p);
-                break;
-            }
+            colaLargoPlazo.desencolar();
+            p.getPCB().setEstado(EstadoProceso.LISTO, tiempoActual);
+            colaCortoPlazo.encolar(p);
+            cargados++;
+            
+            int espera = Math.max(0, tiempoActual - p.getTiempoLlegada());
+            cargadosDesdeNuevo++;
+            esperaAdmisionTotal += espera;
+            if (espera > esperaAdmisionMaxima) esperaAdmisionMaxima = espera;
         }
         
         return cargados;
@@ -74,10 +139,10 @@ public class ColasMultinivel {
                 
                 // Determinar estado destino según su estado anterior
                 if (p.getContadorES() > 0) {
-                    p.getPCB().setEstado(EstadoProceso.BLOQUEADO);
+                    p.getPCB().setEstado(EstadoProceso.BLOQUEADO, tiempoActual);
                     colaBloqueados.encolar(p);
                 } else {
-                    p.getPCB().setEstado(EstadoProceso.LISTO);
+                    p.getPCB().setEstado(EstadoProceso.LISTO, tiempoActual);
                     colaCortoPlazo.encolar(p);
                 }
                 
@@ -93,37 +158,20 @@ public class ColasMultinivel {
     /**
      * Suspende un proceso (lo mueve a mediano plazo y libera memoria)
      */
-    public boolean suspenderProceso(Proceso p) {
-        // Buscar en corto plazo
-        ColaProcesos.ColaTemporal itCorto = colaCortoPlazo.crearIterador();
+    public boolean suspenderProceso(Proceso p, int tiempoActual) {
+        // Cada proceso conoce la cola que lo contiene: O(1)
         boolean encontrado = false;
-        while (itCorto.tieneSiguiente()) {
-            if (itCorto.siguiente() == p) {
-                encontrado = true;
-                break;
-            }
-        }
-        
-        if (encontrado) {
+        if (colaCortoPlazo.contiene(p)) {
             colaCortoPlazo.eliminarProceso(p);
-        } else {
-            // Buscar en bloqueados
-            ColaProcesos.ColaTemporal itBloq = colaBloqueados.crearIterador();
-            while (itBloq.tieneSiguiente()) {
-                if (itBloq.siguiente() == p) {
-                    encontrado = true;
-                    break;
-                }
-            }
-            
-            if (encontrado) {
-                colaBloqueados.eliminarProceso(p);
-            }
+            encontrado = true;
+        } else if (colaBloqueados.contiene(p)) {
+            colaBloqueados.eliminarProceso(p);
+            encontrado = true;
         }
         
         if (encontrado) {
             gestorMemoria.liberarProceso(p);
-            p.getPCB().setEstado(EstadoProceso.SUSPENDIDO);
+            p.getPCB().setEstado(EstadoProceso.SUSPENDIDO, tiempoActual);
             colaMedianoPlazo.encolar(p);
             return true;
         }
@@ -149,6 +197,10 @@ public class ColasMultinivel {
     
     // Getters para acceso a las colas
     
+    public ColaProcesos getColaLlegadas() {
+        return colaLlegadas;
+    }
+    
     public ColaProcesos getColaLargoPlazo() {
         return colaLargoPlazo;
     }
@@ -168,39 +220,50 @@ public class ColasMultinivel {
     /**
      * Mueve un proceso de listo a bloqueado
      */
-    public void bloquearProceso(Proceso p) {
+    public void bloquearProceso(Proceso p, int tiempoActual) {
         colaCortoPlazo.eliminarProceso(p);
-        p.getPCB().setEstado(EstadoProceso.BLOQUEADO);
+        p.getPCB().setEstado(EstadoProceso.BLOQUEADO, tiempoActual);
         colaBloqueados.encolar(p);
     }
     
     /**
      * Mueve un proceso de bloqueado a listo
      */
-    public void desbloquearProceso(Proceso p) {
+    public void desbloquearProceso(Proceso p, int tiempoActual) {
         colaBloqueados.eliminarProceso(p);
-        p.getPCB().setEstado(EstadoProceso.LISTO);
+        p.getPCB().setEstado(EstadoProceso.LISTO, tiempoActual);
         colaCortoPlazo.encolar(p);
     }
     
+    // Latencia de admisión
+    
+    /** Ciclos promedio entre la llegada y la carga en memoria. */
+    public double getEsperaAdmisionPromedio() {
+        return cargadosDesdeNuevo == 0 ? 0.0 : (double) esperaAdmisionTotal / cargadosDesdeNuevo;
+    }
+    
+    public int getEsperaAdmisionMaxima() {
+        return esperaAdmisionMaxima;
+    }
+    
+    /** Mayor cantidad de procesos que esperaron a la vez en largo plazo. */
+    public int getMaximoEnLargoPlazo() {
+        return maximoEnLargoPlazo;
+    }
+    
+    public String getEstadisticasAdmision() {
+        return String.format("Admisión: espera promedio %.2f ciclos, máxima %d, hasta %d en cola de nuevos",
+                getEsperaAdmisionPromedio(), esperaAdmisionMaxima, maximoEnLargoPlazo);
+    }
+    
     /**
      * Reporta el estado de todas las colas
      */
     public String getResumen() {
         return String.format("Colas - Nuevo: %d | Listo: %d | Bloqueado: %d | Suspendido: %d",
-                contarCola(colaLargoPlazo),
-                contarCola(colaCortoPlazo),
-                contarCola(colaBloqueados),
-                contarCola(colaMedianoPlazo));
-    }
-    
-    private int contarCola(ColaProcesos cola) {
-        int count = 0;
-        ColaProcesos.ColaTemporal it = cola.crearIterador();
-        while (it.tieneSiguiente()) {
-            it.siguiente();
-            count++;
-        }
-        return count;
+                colaLargoPlazo.tamano(),
+                colaCortoPlazo.tamano(),
+                colaBloqueados.tamano(),
+                colaMedianoPlazo.tamano());
     }
 }
\ No newline at end of file
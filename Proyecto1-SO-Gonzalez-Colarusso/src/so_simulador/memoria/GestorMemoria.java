@@ -1,21 +1,44 @@
 package so_simulador.memoria;
 
 import so_simulador.modelo.*;
+import java.util.Arrays;
 
 /**
  * Gestiona la memoria principal y el swapping de procesos.
  * Implementa políticas de suspensión cuando no hay suficiente memoria.
+ * Los procesos cargados se ubican por PID en O(1) y cada política tiene
+ * su propia estructura ordenada (lista LRU, montículos de prioridad y de
+ * espera), así que cargar y elegir víctima no recorren toda la tabla.
+ * Cada proceso ocupa su memoria requerida en un bloque contiguo que
+ * ubica el Asignador elegido (primer ajuste, mejor ajuste o buddy).
  */
 public class GestorMemoria {
     private int memoriaTotal;      // KB totales
-    private int memoriaDisponible; // KB libres
-    private int memoriaPorProceso; // KB que ocupa cada proceso
+    private int memoriaPorProceso; // KB de un proceso que no indica su requerimiento
+    
+    private final Asignador asignador;  // ubica los bloques en el espacio de direcciones
+    private int memoriaAsignada;        // KB en bloques entregados
+    private int fragmentacionInterna;   // KB asignados de más por redondeo
     
-    private EntradaMemoria[] tabla; // Tabla de procesos en memoria
     private int maxProcesos;
     private int procesosEnMemoria;
     
-    private static final int MAX_ENTRADAS = 256;
+    // Entradas de los procesos cargados; las libres se reutilizan
+    private EntradaMemoria[] entradas;
+    private int[] libres;          // pila de índices libres en 'entradas'
+    private int totalLibres;
+    private int totalEntradas;     // entradas creadas (usadas + libres)
+
+    // Tabla indexada por PID: posición en 'entradas' (-1 = no está en memoria)
+    private int[] entradaPorPid;
+    private int pidBase;           // PID de la posición 0 de la tabla
+
+    // Estructuras para elegir víctima en cada política
+    private final EntradaMemoria lru;       // centinela de la lista LRU (más viejo primero)
+    private final Monticulo porPrioridad;   // mayor número de prioridad arriba
+    private final Monticulo porEspera;      // mayor tiempo de espera arriba
+    private long contadorCarga;             // desempate: el cargado antes va primero
+    private final Proceso.ObservadorEspera observadorEspera = this::esperaCambiada;
     
     // Políticas de swapping
     public enum PoliticaSwap {
@@ -25,29 +48,58 @@ public class GestorMemoria {
     }
     
     private PoliticaSwap politica;
+    private MemoriaVirtual memoriaVirtual; // null = sin paginación
+    
+    // Asignadores de memoria contigua
+    public enum TipoAsignador {
+        PRIMER_AJUSTE, // First-fit
+        MEJOR_AJUSTE,  // Best-fit
+        BUDDY          // Sistema de compañeros
+    }
     
     private static class EntradaMemoria {
         Proceso proceso;
+        int indice;               // posición en 'entradas'
+        int direccion;            // inicio del bloque asignado
+        int tamano;               // KB pedidos
+        int bloque;               // KB realmente asignados
         int tiempoUltimoAcceso;
-        boolean enUso;
-        
-        EntradaMemoria() {
-            this.enUso = false;
-        }
+        long orden;
+        int claveEspera;          // tiempo de espera del proceso (lo mantiene esperaCambiada)
+        EntradaMemoria anterior;  // lista LRU
+        EntradaMemoria siguiente;
+        final int[] posicion = new int[2]; // índice en cada montículo
     }
     
     public GestorMemoria(int memoriaTotal, int memoriaPorProceso) {
+        this(memoriaTotal, memoriaPorProceso, TipoAsignador.PRIMER_AJUSTE);
+    }
+    
+    public GestorMemoria(int memoriaTotal, int memoriaPorProceso, TipoAsignador tipoAsignador) {
         this.memoriaTotal = memoriaTotal;
         this.memoriaPorProceso = memoriaPorProceso;
         this.maxProcesos = memoriaTotal / memoriaPorProceso;
-        this.memoriaDisponible = memoriaTotal;
+        this.asignador = crearAsignador(tipoAsignador, memoriaTotal);
+        this.memoriaAsignada = 0;
+        this.fragmentacionInterna = 0;
         this.procesosEnMemoria = 0;
         this.politica = PoliticaSwap.LRU;
         
-        this.tabla = new EntradaMemoria[MAX_ENTRADAS];
-        for (int i = 0; i < MAX_ENTRADAS; i++) {
-            tabla[i] = new EntradaMemoria();
-        }
+        int capacidad = Math.max(4, Math.min(maxProcesos, 1024));
+        this.entradas = new EntradaMemoria[capacidad];
+        this.libres = new int[capacidad];
+        this.totalLibres = 0;
+        this.totalEntradas = 0;
+        this.entradaPorPid = new int[capacidad];
+        Arrays.fill(entradaPorPid, -1);
+        this.pidBase = -1;
+        
+        this.lru = new EntradaMemoria();
+        lru.anterior = lru;
+        lru.siguiente = lru;
+        this.porPrioridad = new Monticulo(0, capacidad);
+        this.porEspera = new Monticulo(1, capacidad);
+        this.contadorCarga = 0;
     }
     
     /**
@@ -56,19 +108,21 @@ public class GestorMemoria {
      */
     public boolean cargarProceso(Proceso p, int tiempoActual) {
         // Verificar si ya está en memoria
-        if (estaEnMemoria(p)) {
-            actualizarAcceso(p, tiempoActual);
+        EntradaMemoria e = buscar(p);
+        if (e != null) {
+            actualizarAcceso(e, tiempoActual);
             return true;
         }
         
-        // Verificar si hay espacio disponible
-        if (memoriaDisponible >= memoriaPorProceso) {
-            // Hay espacio, cargar directamente
-            agregarAMemoria(p, tiempoActual);
+        // Buscar un hueco del tamaño del proceso
+        int tamano = getMemoriaRequerida(p);
+        int direccion = asignador.asignar(tamano);
+        if (direccion >= 0) {
+            agregarAMemoria(p, tiempoActual, direccion, tamano);
             return true;
         }
         
-        // No hay espacio, el proceso debe ser suspendido
+        // No hay hueco, el proceso debe ser suspendido
         return false;
     }
     
@@ -76,15 +130,21 @@ public class GestorMemoria {
      * Libera la memoria ocupada por un proceso (cuando termina o se suspende)
      */
     public void liberarProceso(Proceso p) {
-        for (int i = 0; i < MAX_ENTRADAS; i++) {
-            if (tabla[i].enUso && tabla[i].proceso == p) {
-                tabla[i].enUso = false;
-                tabla[i].proceso = null;
-                memoriaDisponible += memoriaPorProceso;
-                procesosEnMemoria--;
-                return;
-            }
-        }
+        EntradaMemoria e = buscar(p);
+        if (e == null) return;
+        if (memoriaVirtual != null) memoriaVirtual.liberarProceso(p);
+        
+        entradaPorPid[p.getPCB().getId() - pidBase] = -1;
+        sacarDeLRU(e);
+        porPrioridad.quitar(e);
+        porEspera.quitar(e);
+        p.setObservadorEspera(null);
+        e.proceso = null;
+        libres[totalLibres++] = e.indice;
+        asignador.liberar(e.direccion, e.tamano);
+        memoriaAsignada -= e.bloque;
+        fragmentacionInterna -= e.bloque - e.tamano;
+        procesosEnMemoria--;
     }
     
     /**
@@ -110,115 +170,268 @@ public class GestorMemoria {
         
         if (victima != null) {
             liberarProceso(victima);
-            victima.getPCB().setEstado(EstadoProceso.SUSPENDIDO);
+            victima.getPCB().setEstado(EstadoProceso.SUSPENDIDO, tiempoActual);
         }
         
         return victima;
     }
     
     /**
-     * Selecciona víctima usando LRU (Least Recently Used)
+     * Selecciona víctima usando LRU (Least Recently Used).
+     * La lista está ordenada por último acceso: la víctima es la primera
+     * que no esté en ejecución.
      */
     private Proceso seleccionarVictimaLRU() {
-        int indiceMenor = -1;
-        int menorTiempo = Integer.MAX_VALUE;
-        
-        for (int i = 0; i < MAX_ENTRADAS; i++) {
-            if (tabla[i].enUso) {
-                // Solo considerar procesos que NO estén en ejecución
-                if (tabla[i].proceso.getPCB().getEstado() != EstadoProceso.EJECUCION) {
-                    if (tabla[i].tiempoUltimoAcceso < menorTiempo) {
-                        menorTiempo = tabla[i].tiempoUltimoAcceso;
-                        indiceMenor = i;
-                    }
-                }
+        for (EntradaMemoria e = lru.siguiente; e != lru; e = e.siguiente) {
+            if (e.proceso.getPCB().getEstado() != EstadoProceso.EJECUCION) {
+                return e.proceso;
             }
         }
-        
-        return (indiceMenor >= 0) ? tabla[indiceMenor].proceso : null;
+        return null;
     }
     
     /**
-     * Selecciona víctima por menor prioridad
+     * Selecciona víctima por menor prioridad (mayor número), sin contar
+     * los procesos en ejecución.
      */
     private Proceso seleccionarVictimaPrioridad() {
-        int indiceMenor = -1;
-        int menorPrioridad = -1;
-        
-        for (int i = 0; i < MAX_ENTRADAS; i++) {
-            if (tabla[i].enUso) {
-                if (tabla[i].proceso.getPCB().getEstado() != EstadoProceso.EJECUCION) {
-                    int prioridad = tabla[i].proceso.getPrioridad();
-                    if (prioridad > menorPrioridad) { // Mayor número = menor prioridad
-                        menorPrioridad = prioridad;
-                        indiceMenor = i;
-                    }
-                }
-            }
-        }
-        
-        return (indiceMenor >= 0) ? tabla[indiceMenor].proceso : null;
+        return porPrioridad.primeroQueCumple(EstadoProceso.EJECUCION, false);
     }
     
     /**
-     * Selecciona víctima por mayor tiempo en espera
+     * Selecciona víctima por mayor tiempo en espera entre los LISTO.
+     * El montículo ya está al día: cada cambio de espera lo reubica.
      */
     private Proceso seleccionarVictimaTiempoEspera() {
-        int indiceMayor = -1;
-        int mayorEspera = -1;
-        
-        for (int i = 0; i < MAX_ENTRADAS; i++) {
-            if (tabla[i].enUso) {
-                if (tabla[i].proceso.getPCB().getEstado() == EstadoProceso.LISTO) {
-                    int espera = tabla[i].proceso.getTiempoEspera();
-                    if (espera > mayorEspera) {
-                        mayorEspera = espera;
-                        indiceMayor = i;
-                    }
-                }
-            }
-        }
-        
-        return (indiceMayor >= 0) ? tabla[indiceMayor].proceso : null;
+        return porEspera.primeroQueCumple(EstadoProceso.LISTO, true);
+    }
+
+    /** El planificador cambió la espera de un proceso cargado: se reubica en O(log n). */
+    private void esperaCambiada(Proceso p) {
+        EntradaMemoria e = buscar(p);
+        if (e == null) return;
+        e.claveEspera = p.getTiempoEspera();
+        porEspera.reubicar(e);
     }
     
     // Métodos auxiliares
     
-    private void agregarAMemoria(Proceso p, int tiempo) {
-        for (int i = 0; i < MAX_ENTRADAS; i++) {
-            if (!tabla[i].enUso) {
-                tabla[i].proceso = p;
-                tabla[i].tiempoUltimoAcceso = tiempo;
-                tabla[i].enUso = true;
-                memoriaDisponible -= memoriaPorProceso;
-                procesosEnMemoria++;
-                return;
+    private void agregarAMemoria(Proceso p, int tiempo, int direccion, int tamano) {
+        EntradaMemoria e;
+        if (totalLibres > 0) {
+            e = entradas[libres[--totalLibres]];
+        } else {
+            if (totalEntradas == entradas.length) {
+                EntradaMemoria[] nuevas = new EntradaMemoria[entradas.length * 2];
+                System.arraycopy(entradas, 0, nuevas, 0, totalEntradas);
+                entradas = nuevas;
+                int[] nuevosLibres = new int[entradas.length];
+                System.arraycopy(libres, 0, nuevosLibres, 0, totalLibres);
+                libres = nuevosLibres;
             }
+            e = new EntradaMemoria();
+            e.indice = totalEntradas;
+            entradas[totalEntradas++] = e;
         }
+        
+        e.proceso = p;
+        e.direccion = direccion;
+        e.tamano = tamano;
+        e.bloque = asignador.tamanoBloque(tamano);
+        e.tiempoUltimoAcceso = tiempo;
+        e.orden = contadorCarga++;
+        e.claveEspera = p.getTiempoEspera();
+        int pos = posicionPid(p.getPCB().getId()); // puede agrandar la tabla
+        entradaPorPid[pos] = e.indice;
+        agregarAlFinalLRU(e);
+        porPrioridad.insertar(e);
+        porEspera.insertar(e);
+        p.setObservadorEspera(observadorEspera);
+        memoriaAsignada += e.bloque;
+        fragmentacionInterna += e.bloque - tamano;
+        procesosEnMemoria++;
     }
     
-    private boolean estaEnMemoria(Proceso p) {
-        for (int i = 0; i < MAX_ENTRADAS; i++) {
-            if (tabla[i].enUso && tabla[i].proceso == p) {
-                return true;
-            }
+    private static Asignador crearAsignador(TipoAsignador tipo, int memoriaTotal) {
+        switch (tipo) {
+            case MEJOR_AJUSTE:
+                return new AsignadorMejorAjuste(memoriaTotal);
+            case BUDDY:
+                return new AsignadorBuddy(memoriaTotal);
+            default:
+                return new AsignadorPrimerAjuste(memoriaTotal);
         }
-        return false;
     }
     
-    private void actualizarAcceso(Proceso p, int tiempo) {
-        for (int i = 0; i < MAX_ENTRADAS; i++) {
-            if (tabla[i].enUso && tabla[i].proceso == p) {
-                tabla[i].tiempoUltimoAcceso = tiempo;
-                return;
+    /** Entrada del proceso si está en memoria, O(1). */
+    private EntradaMemoria buscar(Proceso p) {
+        int i = p.getPCB().getId() - pidBase;
+        if (pidBase < 0 || i < 0 || i >= entradaPorPid.length) return null;
+        int indice = entradaPorPid[i];
+        return indice >= 0 ? entradas[indice] : null;
+    }
+    
+    private void actualizarAcceso(EntradaMemoria e, int tiempo) {
+        e.tiempoUltimoAcceso = tiempo;
+        // El tiempo no retrocede: pasar al final mantiene la lista ordenada
+        sacarDeLRU(e);
+        agregarAlFinalLRU(e);
+    }
+    
+    /**
+     * Posición del PID en la tabla; la agranda si hace falta.
+     * Los PID de una simulación son consecutivos, así que la tabla arranca
+     * en el primero que se carga y no en 0.
+     */
+    private int posicionPid(int pid) {
+        if (pidBase < 0) pidBase = pid;
+        if (pid < pidBase) {
+            int corrimiento = pidBase - pid;
+            int[] nueva = new int[entradaPorPid.length + corrimiento];
+            Arrays.fill(nueva, 0, corrimiento, -1);
+            System.arraycopy(entradaPorPid, 0, nueva, corrimiento, entradaPorPid.length);
+            entradaPorPid = nueva;
+            pidBase = pid;
+        }
+        int i = pid - pidBase;
+        if (i >= entradaPorPid.length) {
+            int[] nueva = new int[Math.max(entradaPorPid.length * 2, i + 1)];
+            Arrays.fill(nueva, entradaPorPid.length, nueva.length, -1);
+            System.arraycopy(entradaPorPid, 0, nueva, 0, entradaPorPid.length);
+            entradaPorPid = nueva;
+        }
+        return i;
+    }
+    
+    private void agregarAlFinalLRU(EntradaMemoria e) {
+        e.anterior = lru.anterior;
+        e.siguiente = lru;
+        lru.anterior.siguiente = e;
+        lru.anterior = e;
+    }
+    
+    private void sacarDeLRU(EntradaMemoria e) {
+        e.anterior.siguiente = e.siguiente;
+        e.siguiente.anterior = e.anterior;
+        e.anterior = null;
+        e.siguiente = null;
+    }
+    
+    /**
+     * Montículo máximo de entradas. 'cual' elige la clave:
+     * 0 = número de prioridad, 1 = tiempo de espera.
+     */
+    private static class Monticulo {
+        private final int cual;
+        private EntradaMemoria[] datos;
+        private int tamano;
+        
+        Monticulo(int cual, int capacidad) {
+            this.cual = cual;
+            this.datos = new EntradaMemoria[capacidad];
+            this.tamano = 0;
+        }
+        
+        void insertar(EntradaMemoria e) {
+            if (tamano == datos.length) {
+                EntradaMemoria[] nuevos = new EntradaMemoria[datos.length * 2];
+                System.arraycopy(datos, 0, nuevos, 0, tamano);
+                datos = nuevos;
+            }
+            colocar(e, tamano++);
+            subir(tamano - 1);
+        }
+        
+        void quitar(EntradaMemoria e) {
+            int i = e.posicion[cual];
+            tamano--;
+            if (i != tamano) {
+                colocar(datos[tamano], i);
+                datos[tamano] = null;
+                if (!subir(i)) bajar(i);
+            } else {
+                datos[tamano] = null;
+            }
+            e.posicion[cual] = -1;
+        }
+        
+        /**
+         * Primer proceso en orden del montículo cuyo estado es (o no es,
+         * según 'igual') el indicado. Los que no sirven se sacan un momento
+         * y se vuelven a insertar.
+         */
+        Proceso primeroQueCumple(EstadoProceso estado, boolean igual) {
+            EntradaMemoria[] apartadas = null;
+            int totalApartadas = 0;
+            Proceso elegido = null;
+            while (tamano > 0) {
+                EntradaMemoria tope = datos[0];
+                if ((tope.proceso.getPCB().getEstado() == estado) == igual) {
+                    elegido = tope.proceso;
+                    break;
+                }
+                if (apartadas == null) apartadas = new EntradaMemoria[tamano];
+                apartadas[totalApartadas++] = tope;
+                quitar(tope);
+            }
+            for (int i = 0; i < totalApartadas; i++) {
+                insertar(apartadas[i]);
+            }
+            return elegido;
+        }
+        
+        /** La clave de 'e' cambió: sube o baja hasta su lugar, O(log n). */
+        void reubicar(EntradaMemoria e) {
+            int i = e.posicion[cual];
+            if (i < 0) return;
+            if (!subir(i)) bajar(i);
+        }
+        
+        private int clave(EntradaMemoria e) {
+            return cual == 0 ? e.proceso.getPrioridad() : e.claveEspera;
+        }
+        
+        private boolean precede(EntradaMemoria a, EntradaMemoria b) {
+            int ka = clave(a), kb = clave(b);
+            return ka > kb || (ka == kb && a.orden < b.orden);
+        }
+        
+        private boolean subir(int i) {
+            EntradaMemoria e = datos[i];
+            int inicio = i;
+            while (i > 0) {
+                int padre = (i - 1) / 2;
+                if (!precede(e, datos[padre])) break;
+                colocar(datos[padre], i);
+                i = padre;
+            }
+            colocar(e, i);
+            return i != inicio;
+        }
+        
+        private void bajar(int i) {
+            EntradaMemoria e = datos[i];
+            while (true) {
+                int hijo = 2 * i + 1;
+                if (hijo >= tamano) break;
+                if (hijo + 1 < tamano && precede(datos[hijo + 1], datos[hijo])) hijo++;
+                if (!precede(datos[hijo], e)) break;
+                colocar(datos[hijo], i);
+                i = hijo;
             }
+            colocar(e, i);
+        }
+        
+        private void colocar(EntradaMemoria e, int i) {
+            datos[i] = e;
+            e.posicion[cual] = i;
         }
     }
     
     // Getters y setters
     
     public int getMemoriaDisponible() { 
-        return memoriaDisponible; 
+        return asignador.getMemoriaLibre(); 
     }
     
     public int getProcesosEnMemoria() { 
@@ -229,8 +442,59 @@ public class GestorMemoria {
         return maxProcesos; 
     }
     
+    /** Hay un hueco para un proceso del tamaño por defecto. */
     public boolean hayEspacioDisponible() {
-        return memoriaDisponible >= memoriaPorProceso;
+        return asignador.puedeAsignar(memoriaPorProceso);
+    }
+    
+    /** Hay un hueco donde entra este proceso. */
+    public boolean hayEspacioPara(Proceso p) {
+        return asignador.puedeAsignar(getMemoriaRequerida(p));
+    }
+    
+    /** El proceso entraría con la memoria vacía (si no, liberar espacio no sirve). */
+    public boolean cabeEnMemoria(Proceso p) {
+        return asignador.tamanoBloque(getMemoriaRequerida(p)) <= memoriaTotal;
+    }
+    
+    /** KB que ocupa el proceso: su requerimiento, o el valor por defecto si no lo indica. */
+    public int getMemoriaRequerida(Proceso p) {
+        return p.getMemoriaRequerida() > 0 ? p.getMemoriaRequerida() : memoriaPorProceso;
+    }
+    
+    /**
+     * Activa la capa de paginación. Si marcos es 0 se usan tantos marcos
+     * como entren en la memoria total.
+     */
+    public MemoriaVirtual activarPaginacion(int marcos, int tamanoPagina,
+                                            MemoriaVirtual.PoliticaReemplazo politicaReemplazo) {
+        if (marcos <= 0) marcos = memoriaTotal / Math.max(1, tamanoPagina);
+        memoriaVirtual = new MemoriaVirtual(this, marcos, tamanoPagina, politicaReemplazo);
+        return memoriaVirtual;
+    }
+    
+    public MemoriaVirtual getMemoriaVirtual() {
+        return memoriaVirtual;
+    }
+    
+    public Asignador getAsignador() {
+        return asignador;
+    }
+    
+    /**
+     * Fragmentación externa: fracción de la memoria libre que no está en
+     * el hueco más grande (0 = toda la memoria libre es contigua).
+     */
+    public double getFragmentacionExterna() {
+        int libre = asignador.getMemoriaLibre();
+        if (libre == 0) return 0.0;
+        return 1.0 - (double) asignador.getMayorHuecoLibre() / libre;
+    }
+    
+    /** Fragmentación interna: fracción de lo asignado que sobra por redondeo. */
+    public double getFragmentacionInterna() {
+        if (memoriaAsignada == 0) return 0.0;
+        return (double) fragmentacionInterna / memoriaAsignada;
     }
     
     public void setPolitica(PoliticaSwap politica) {
@@ -245,9 +509,10 @@ public class GestorMemoria {
      * Devuelve estadísticas de uso de memoria
      */
     public String getEstadisticas() {
-        double porcentajeUso = ((memoriaTotal - memoriaDisponible) * 100.0) / memoriaTotal;
-        return String.format("Memoria: %d/%d KB (%.1f%% usado) | Procesos: %d/%d",
-                memoriaTotal - memoriaDisponible, memoriaTotal, porcentajeUso,
-                procesosEnMemoria, maxProcesos);
+        int usada = memoriaTotal - asignador.getMemoriaLibre();
+        double porcentajeUso = (usada * 100.0) / memoriaTotal;
+        return String.format("Memoria: %d/%d KB (%.1f%% usado) | Procesos: %d/%d | %s (frag. ext. %.1f%%, int. %.1f%%)",
+                usada, memoriaTotal, porcentajeUso, procesosEnMemoria, maxProcesos,
+                asignador.getNombre(), getFragmentacionExterna() * 100, getFragmentacionInterna() * 100);
     }
 }
\ No newline at end of file
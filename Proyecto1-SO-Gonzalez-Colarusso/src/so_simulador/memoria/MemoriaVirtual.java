@@ -0,0 +1,229 @@
+package so_simulador.memoria;
+
+import so_simulador.modelo.*;
+
+/**
+ * Capa de paginación sobre GestorMemoria.
+ * GestorMemoria sigue decidiendo qué procesos están admitidos; esta capa
+ * decide qué páginas de cada uno ocupan los marcos físicos. Cada proceso
+ * tiene su TablaPaginas y las referencias salen del MAR: la instrucción
+ * que ejecuta el proceso accede a la dirección MAR (en KB) de su espacio.
+ *
+ * Un fallo de página se atiende cargando la página en un marco libre o,
+ * si no hay, reemplazando según la política elegida. Se crea con
+ * GestorMemoria.activarPaginacion().
+ */
+public class MemoriaVirtual {
+    public enum PoliticaReemplazo {
+        FIFO,               // la página cargada hace más tiempo
+        LRU,                // la usada hace más tiempo
+        RELOJ,              // aguja circular con bit de referencia
+        SEGUNDA_OPORTUNIDAD // FIFO que perdona a las referenciadas
+    }
+
+    // Costos para el tiempo efectivo de acceso (nanosegundos)
+    public static final long ACCESO_MEMORIA_NS = 100;
+    public static final long SERVICIO_FALLO_NS = 8_000_000;
+
+    private final GestorMemoria gestorMemoria;
+    private final int tamanoPagina; // KB
+    private final int marcos;
+    private final PoliticaReemplazo politica;
+
+    // Estado de cada marco
+    private final Proceso[] duenio;
+    private final int[] pagina;
+    private final boolean[] referenciado;
+
+    // Lista de marcos ocupados: orden de carga (FIFO, segunda oportunidad)
+    // o de último uso (LRU). -1 = fin de lista
+    private final int[] anterior;
+    private final int[] siguiente;
+    private int cabeza;
+    private int cola;
+
+    private final int[] libres; // pila de marcos libres
+    private int totalLibres;
+    private int aguja;          // posición del reloj
+
+    private long referencias;
+    private long fallos;
+    private long reemplazos;
+
+    MemoriaVirtual(GestorMemoria gestorMemoria, int marcos, int tamanoPagina, PoliticaReemplazo politica) {
+        this.gestorMemoria = gestorMemoria;
+        this.marcos = Math.max(1, marcos);
+        this.tamanoPagina = Math.max(1, tamanoPagina);
+        this.politica = politica;
+
+        duenio = new Proceso[this.marcos];
+        pagina = new int[this.marcos];
+        referenciado = new boolean[this.marcos];
+        anterior = new int[this.marcos];
+        siguiente = new int[this.marcos];
+        cabeza = -1;
+        cola = -1;
+
+        libres = new int[this.marcos];
+        for (int i = 0; i < this.marcos; i++) {
+            libres[i] = this.marcos - 1 - i; // el marco 0 sale primero
+        }
+        totalLibres = this.marcos;
+        aguja = 0;
+    }
+
+    /**
+     * Registra una ráfaga de 'instrucciones' accesos a partir de la dirección
+     * 'mar'. Solo cuesta una consulta por página distinta tocada; los demás
+     * accesos caen en la misma página y son aciertos.
+     * Devuelve la cantidad de fallos de página.
+     */
+    public int referenciarRafaga(Proceso p, int mar, int instrucciones) {
+        if (instrucciones <= 0) return 0;
+        TablaPaginas tabla = obtenerTabla(p);
+        int paginas = tabla.getPaginas();
+        int espacio = paginas * tamanoPagina;
+        referencias += instrucciones;
+
+        int fallosRafaga = 0;
+        int direccion = mar % espacio;
+        // Avanzar página por página, desde la dirección inicial hasta la final
+        for (int i = 0; i < instrucciones; ) {
+            if (acceder(p, tabla, direccion / tamanoPagina)) fallosRafaga++;
+            int hastaFinDePagina = tamanoPagina - direccion % tamanoPagina;
+            i += hastaFinDePagina;
+            direccion = (direccion + hastaFinDePagina) % espacio;
+        }
+        return fallosRafaga;
+    }
+
+    /** Un acceso a una dirección virtual (en KB). Devuelve true si hubo fallo. */
+    public boolean referenciar(Proceso p, int direccion) {
+        TablaPaginas tabla = obtenerTabla(p);
+        referencias++;
+        int pag = (direccion / tamanoPagina) % tabla.getPaginas();
+        return acceder(p, tabla, pag);
+    }
+
+    /** Devuelve los marcos del proceso (al terminar o ser suspendido). */
+    public void liberarProceso(Proceso p) {
+        TablaPaginas tabla = p.getTablaPaginas();
+        if (tabla == null || tabla.getPaginasPresentes() == 0) return;
+        for (int pag = 0; pag < tabla.getPaginas(); pag++) {
+            if (tabla.estaPresente(pag)) {
+                int m = tabla.getMarco(pag);
+                tabla.descargar(pag);
+                sacarDeLista(m);
+                duenio[m] = null;
+                referenciado[m] = false;
+                libres[totalLibres++] = m;
+            }
+        }
+    }
+
+    // ========== FALLOS Y REEMPLAZO ==========
+
+    private boolean acceder(Proceso p, TablaPaginas tabla, int pag) {
+        if (tabla.estaPresente(pag)) {
+            int m = tabla.getMarco(pag);
+            referenciado[m] = true;
+            if (politica == PoliticaReemplazo.LRU) {
+                sacarDeLista(m);
+                agregarAlFinal(m);
+            }
+            return false;
+        }
+
+        fallos++;
+        int m;
+        if (totalLibres > 0) {
+            m = libres[--totalLibres];
+        } else {
+            m = elegirVictima();
+            duenio[m].getTablaPaginas().descargar(pagina[m]);
+            sacarDeLista(m);
+            reemplazos++;
+        }
+        duenio[m] = p;
+        pagina[m] = pag;
+        referenciado[m] = true;
+        tabla.cargar(pag, m);
+        agregarAlFinal(m);
+        return true;
+    }
+
+    private int elegirVictima() {
+        switch (politica) {
+            case RELOJ:
+                // Avanzar la aguja limpiando bits hasta encontrar uno en 0
+                while (true) {
+                    int m = aguja;
+                    aguja = (aguja + 1) % marcos;
+                    if (duenio[m] == null) continue;
+                    if (!referenciado[m]) return m;
+                    referenciado[m] = false;
+                }
+            case SEGUNDA_OPORTUNIDAD:
+                // La más vieja, salvo que esté referenciada: se le limpia el bit y va al final
+                while (referenciado[cabeza]) {
+                    int m = cabeza;
+                    referenciado[m] = false;
+                    sacarDeLista(m);
+                    agregarAlFinal(m);
+                }
+                return cabeza;
+            default: // FIFO y LRU: el primero de la lista
+                return cabeza;
+        }
+    }
+
+    private TablaPaginas obtenerTabla(Proceso p) {
+        TablaPaginas tabla = p.getTablaPaginas();
+        if (tabla == null) {
+            int kb = Math.max(1, gestorMemoria.getMemoriaRequerida(p));
+            tabla = new TablaPaginas((kb + tamanoPagina - 1) / tamanoPagina);
+            p.setTablaPaginas(tabla);
+        }
+        return tabla;
+    }
+
+    private void agregarAlFinal(int m) {
+        anterior[m] = cola;
+        siguiente[m] = -1;
+        if (cola >= 0) siguiente[cola] = m; else cabeza = m;
+        cola = m;
+    }
+
+    private void sacarDeLista(int m) {
+        if (anterior[m] >= 0) siguiente[anterior[m]] = siguiente[m]; else cabeza = siguiente[m];
+        if (siguiente[m] >= 0) anterior[siguiente[m]] = anterior[m]; else cola = anterior[m];
+        anterior[m] = -1;
+        siguiente[m] = -1;
+    }
+
+    // ========== ESTADÍSTICAS ==========
+
+    public long getReferencias() { return referencias; }
+    public long getFallos() { return fallos; }
+    public long getReemplazos() { return reemplazos; }
+    public int getMarcos() { return marcos; }
+    public int getTamanoPagina() { return tamanoPagina; }
+    public PoliticaReemplazo getPolitica() { return politica; }
+
+    /** Fallos por acceso a memoria. */
+    public double getTasaFallos() {
+        return referencias == 0 ? 0.0 : (double) fallos / referencias;
+    }
+
+    /** Tiempo efectivo de acceso: (1 - p) * acceso + p * servicio de fallo, en ns. */
+    public double getTiempoAccesoEfectivo() {
+        double p = getTasaFallos();
+        return (1 - p) * ACCESO_MEMORIA_NS + p * SERVICIO_FALLO_NS;
+    }
+
+    public String getEstadisticas() {
+        return String.format("Paginación %s: %d marcos de %d KB | Fallos: %d/%d (%.2f%%) | Reemplazos: %d | EAT: %.1f ns",
+                politica, marcos, tamanoPagina, fallos, referencias, getTasaFallos() * 100,
+                reemplazos, getTiempoAccesoEfectivo());
+    }
+}
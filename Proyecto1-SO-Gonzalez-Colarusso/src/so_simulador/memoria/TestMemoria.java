@@ -16,13 +16,14 @@ public class TestMemoria {
         ColasMultinivel colas = new ColasMultinivel(gestor);
         
         // 3. Crear 10 procesos (más de los que caben en memoria)
-        // Constructor: (nombre, instrucciones, esCPUbound, ciclosExcepcion, ciclosAtencion, prioridad)
+        // Constructor: (id, nombre, instrucciones, esCPUbound, ciclosExcepcion, ciclosAtencion, prioridad)
         System.out.println("--- Admitiendo 10 procesos al sistema ---");
         for (int i = 1; i <= 10; i++) {
             boolean esCPUbound = i % 2 == 0;  // alternados
             int ciclosAtencion = esCPUbound ? 0 : 3;  // I/O bound tiene ciclos de atención
             
             Proceso p = new Proceso(
+                i,                  // id
                 "Proceso " + i,     // nombre
                 5 + i,              // instrucciones
                 esCPUbound,         // esCPUbound
@@ -52,7 +53,7 @@ public class TestMemoria {
         int bloqueados = 0;
         while (it.tieneSiguiente() && bloqueados < 2) {
             Proceso p = it.siguiente();
-            colas.bloquearProceso(p);
+            colas.bloquearProceso(p, 2);
             System.out.println("✓ " + p.getPCB().getNombre() + " → BLOQUEADO");
             bloqueados++;
         }
@@ -112,7 +113,33 @@ public class TestMemoria {
                              " (prioridad: " + victima.getPrioridad() + ")");
         }
         System.out.println(colas.getResumen() + "\n");
+
+        // 11. Política TIEMPO_ESPERA: la víctima sigue a los cambios de espera
+        System.out.println("--- Probando política TIEMPO_ESPERA ---");
+        GestorMemoria porEspera = new GestorMemoria(512, 128);
+        porEspera.setPolitica(GestorMemoria.PoliticaSwap.TIEMPO_ESPERA);
+        Proceso[] listos = new Proceso[4];
+        for (int i = 0; i < listos.length; i++) {
+            listos[i] = new Proceso(100 + i, "E" + i, 10, true, 0, 0, 1);
+            listos[i].getPCB().setEstado(EstadoProceso.LISTO);
+            porEspera.cargarProceso(listos[i], 0);
+        }
+        for (int t = 0; t < 3; t++) listos[2].incrementarEspera();
+        listos[1].incrementarEspera();
+        Proceso primera = porEspera.realizarSwap(1);
+        for (int t = 0; t < 5; t++) listos[0].incrementarEspera(); // pasa al frente después de cargado
+        listos[1].resetEspera();
+        Proceso segunda = porEspera.realizarSwap(2);
+        for (int t = 0; t < 9; t++) listos[2].incrementarEspera(); // ya no está en memoria: no cuenta
+        Proceso tercera = porEspera.realizarSwap(3);
+        boolean ok = primera == listos[2] && segunda == listos[0] && tercera == listos[1];
+        System.out.println((ok ? "✓" : "✗") + " Víctimas por espera: " + nombre(primera) + ", "
+                + nombre(segunda) + ", " + nombre(tercera) + " (esperado E2, E0, E1)\n");
         
         System.out.println("=== TEST COMPLETADO ===");
     }
-}
\ No newline at end of file
+
+    private static String nombre(Proceso p) {
+        return p == null ? "ninguno" : p.getPCB().getNombre();
+    }
+}
@@ -1,29 +1,67 @@
 package so_simulador.modelo;
 
+import java.io.PrintStream;
+
 /**
- * CPUConcurrent: versión usada solo para MainConcurrent,
- * que ejecuta procesos como hilos reales (Thread.start()).
+ * CPUConcurrent: versión usada solo para MainConcurrent, que ejecuta cada
+ * proceso en su propio hilo. Con hilos virtuales los procesos bloqueados
+ * (E/S, suspensión) no ocupan un hilo del sistema, así que se pueden tener
+ * cientos de miles a la vez sobre unos pocos hilos portadores.
  */
 public class CPUConcurrent {
+    public enum TipoHilo {
+        PLATAFORMA, // un hilo del sistema por proceso
+        VIRTUAL;    // hilos virtuales sobre el pool de portadores
+
+        /**
+         * Crea el hilo sin arrancarlo. Usa un Thread.Builder nuevo en cada
+         * llamada: los constructores no son seguros entre hilos y name()
+         * los modifica.
+         */
+        public Thread crear(String nombre, Runnable tarea) {
+            Thread.Builder constructor = this == VIRTUAL ? Thread.ofVirtual() : Thread.ofPlatform();
+            return constructor.name(nombre).unstarted(tarea);
+        }
+    }
+
+    private final TipoHilo tipo;
+    private PrintStream salida = System.out;
+
+    public CPUConcurrent() {
+        this(TipoHilo.PLATAFORMA);
+    }
+
+    public CPUConcurrent(TipoHilo tipo) {
+        this.tipo = tipo;
+    }
 
     /**
-     * Ejecuta el proceso como hilo real si aún no fue arrancado.
+     * Ejecuta el proceso en un hilo nuevo si aún no fue arrancado.
      */
     public void ejecutar(Proceso p) {
         if (p.getPCB().getEstado() == EstadoProceso.TERMINADO) {
-            System.out.println("CPUConcurrent: " + p.getPCB().getNombre() + " ya terminó.");
+            imprimir("CPUConcurrent: " + p.getPCB().getNombre() + " ya terminó.");
             return;
         }
 
-        if (!p.isAlive()) {
-            System.out.println("CPUConcurrent: iniciando hilo de " + p.getPCB().getNombre());
-            p.start();
+        if (p.getHilo() == null) {
+            imprimir("CPUConcurrent: iniciando hilo de " + p.getPCB().getNombre());
+            p.iniciar(tipo);
         } else {
-            System.out.println("CPUConcurrent: " + p.getPCB().getNombre() + " ya está corriendo.");
+            imprimir("CPUConcurrent: " + p.getPCB().getNombre() + " ya está corriendo.");
         }
     }
 
     public void liberarCPU() {
         // no hace nada aquí; en concurrencia real cada hilo maneja su propio estado
     }
+
+    public TipoHilo getTipo() { return tipo; }
+
+    /** Dónde escribe sus mensajes (null = en silencio). */
+    public void setSalida(PrintStream salida) { this.salida = salida; }
+
+    private void imprimir(String linea) {
+        if (salida != null) salida.println(linea);
+    }
 }
@@ -0,0 +1,174 @@
+package so_simulador.modelo;
+
+import java.util.Comparator;
+
+/**
+ * Cola de listos implementada como montículo binario.
+ * Desencolar devuelve el proceso que va primero según el criterio
+ * (empates en orden de llegada a la cola), en O(log n).
+ * Cada proceso guarda su índice en el montículo, así que eliminarProceso
+ * también es O(log n).
+ */
+public class ColaPrioridadProcesos extends ColaProcesos {
+    private final Comparator<Proceso> criterio;
+    private Proceso[] heap;
+    private int tamano;
+    private long contadorOrden;
+    private boolean desordenada; // las claves cambiaron desde el último reordenar()
+
+    public ColaPrioridadProcesos(Comparator<Proceso> criterio) {
+        this.criterio = criterio;
+        this.heap = new Proceso[16];
+        this.tamano = 0;
+        this.contadorOrden = 0;
+    }
+
+    public Comparator<Proceso> getCriterio() {
+        return criterio;
+    }
+
+    @Override
+    public boolean estaVacia() { return tamano == 0; }
+
+    @Override
+    public int tamano() { return tamano; }
+
+    @Override
+    public void encolar(Proceso p) {
+        if (p.colaActual != null) p.colaActual.eliminarProceso(p);
+        if (tamano == heap.length) {
+            Proceso[] nuevo = new Proceso[heap.length * 2];
+            System.arraycopy(heap, 0, nuevo, 0, tamano);
+            heap = nuevo;
+        }
+        p.colaActual = this;
+        p.ordenCola = contadorOrden++;
+        colocar(p, tamano);
+        tamano++;
+        if (!desordenada) subir(tamano - 1);
+    }
+
+    @Override
+    public Proceso desencolar() {
+        if (tamano == 0) return null;
+        if (desordenada) reordenar();
+        Proceso p = heap[0];
+        quitarEn(0);
+        return p;
+    }
+
+    /** Devuelve el primero según el criterio sin sacarlo. */
+    @Override
+    public Proceso verPrimero() {
+        if (desordenada) reordenar();
+        return tamano == 0 ? null : heap[0];
+    }
+
+    @Override
+    public void eliminarProceso(Proceso p) {
+        if (p == null || p.colaActual != this) return;
+        quitarEn(p.indiceCola);
+    }
+
+    /**
+     * Avisa que las claves de los procesos encolados cambiaron (por ejemplo,
+     * el tiempo de espera que usa HRRN). El montículo se rehace recién en el
+     * próximo desencolar, una sola vez aunque se marque varias veces.
+     */
+    public void marcarDesordenada() {
+        desordenada = true;
+    }
+
+    /** Rehace el montículo completo en O(n). */
+    public void reordenar() {
+        for (int i = tamano / 2 - 1; i >= 0; i--) {
+            bajar(i);
+        }
+        desordenada = false;
+    }
+
+    /**
+     * Si el primero según el criterio puede ejecutar en el núcleo, sale ese
+     * en O(log n). Si no, sale el primero del arreglo que pueda, que no es
+     * necesariamente el siguiente en el orden del criterio; se recorre el
+     * montículo por índice, sin copiarlo.
+     */
+    @Override
+    public Proceso extraerParaNucleo(int nucleo) {
+        if (desordenada) reordenar();
+        for (int i = 0; i < tamano; i++) {
+            Proceso p = heap[i];
+            if (p.puedeEjecutarEn(nucleo)) {
+                quitarEn(i);
+                return p;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public ColaTemporal crearIterador() {
+        Proceso[] copia = new Proceso[tamano];
+        System.arraycopy(heap, 0, copia, 0, tamano);
+        return new ColaTemporal(copia, tamano);
+    }
+
+    @Override
+    public void imprimirCola() {
+        for (int i = 0; i < tamano; i++) {
+            System.out.println(heap[i]);
+        }
+    }
+
+    // ========== MONTÍCULO ==========
+
+    private void quitarEn(int i) {
+        Proceso quitado = heap[i];
+        tamano--;
+        if (i != tamano) {
+            colocar(heap[tamano], i);
+            heap[tamano] = null;
+            if (!desordenada && !subir(i)) bajar(i);
+        } else {
+            heap[tamano] = null;
+        }
+        quitado.colaActual = null;
+        quitado.indiceCola = -1;
+    }
+
+    private boolean subir(int i) {
+        Proceso p = heap[i];
+        int inicio = i;
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (!precede(p, heap[padre])) break;
+            colocar(heap[padre], i);
+            i = padre;
+        }
+        colocar(p, i);
+        return i != inicio;
+    }
+
+    private void bajar(int i) {
+        Proceso p = heap[i];
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= tamano) break;
+            if (hijo + 1 < tamano && precede(heap[hijo + 1], heap[hijo])) hijo++;
+            if (!precede(heap[hijo], p)) break;
+            colocar(heap[hijo], i);
+            i = hijo;
+        }
+        colocar(p, i);
+    }
+
+    private boolean precede(Proceso a, Proceso b) {
+        int c = criterio.compare(a, b);
+        return c < 0 || (c == 0 && a.ordenCola < b.ordenCola);
+    }
+
+    private void colocar(Proceso p, int i) {
+        heap[i] = p;
+        p.indiceCola = i;
+    }
+}
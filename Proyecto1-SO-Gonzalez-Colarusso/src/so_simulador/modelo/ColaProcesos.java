@@ -1,38 +1,67 @@
 package so_simulador.modelo;
 
+/**
+ * Cola FIFO de procesos: lista doblemente enlazada circular con nodo centinela.
+ * Cada proceso guarda el nodo que lo contiene, así que eliminarProceso y
+ * contiene son O(1). Un proceso está en una sola cola a la vez: encolarlo
+ * lo saca de la cola anterior.
+ */
 public class ColaProcesos {
-    private Nodo primero;
-    private Nodo ultimo;
+    private final Nodo centinela;
+    private int tamano;
 
-    private class Nodo {
+    static class Nodo {
         Proceso proceso;
+        Nodo anterior;
         Nodo siguiente;
         Nodo(Proceso p) { this.proceso = p; }
     }
 
-    public boolean estaVacia() { return primero == null; }
+    public ColaProcesos() {
+        centinela = new Nodo(null);
+        centinela.anterior = centinela;
+        centinela.siguiente = centinela;
+        tamano = 0;
+    }
+
+    public boolean estaVacia() { return tamano == 0; }
+
+    /** Cantidad de procesos en la cola, O(1). */
+    public int tamano() { return tamano; }
+
+    /** Indica si el proceso está en esta cola, O(1). */
+    public boolean contiene(Proceso p) {
+        return p != null && p.colaActual == this;
+    }
 
     public void encolar(Proceso p) {
+        if (p.colaActual != null) p.colaActual.eliminarProceso(p);
         Nodo nuevo = new Nodo(p);
-        if (estaVacia()) {
-            primero = ultimo = nuevo;
-        } else {
-            ultimo.siguiente = nuevo;
-            ultimo = nuevo;
-        }
+        Nodo ultimo = centinela.anterior;
+        nuevo.anterior = ultimo;
+        nuevo.siguiente = centinela;
+        ultimo.siguiente = nuevo;
+        centinela.anterior = nuevo;
+        p.colaActual = this;
+        p.nodoCola = nuevo;
+        tamano++;
+    }
+
+    /** Devuelve el primero de la cola sin sacarlo (null si está vacía). */
+    public Proceso verPrimero() {
+        return estaVacia() ? null : centinela.siguiente.proceso;
     }
 
     public Proceso desencolar() {
         if (estaVacia()) return null;
-        Proceso p = primero.proceso;
-        primero = primero.siguiente;
-        if (primero == null) ultimo = null;
-        return p;
+        Nodo primero = centinela.siguiente;
+        desenlazar(primero);
+        return primero.proceso;
     }
 
     public void imprimirCola() {
-        Nodo actual = primero;
-        while (actual != null) {
+        Nodo actual = centinela.siguiente;
+        while (actual != centinela) {
             System.out.println(actual.proceso);
             actual = actual.siguiente;
         }
@@ -40,9 +69,22 @@ public class ColaProcesos {
 
     public class ColaTemporal {
         private Nodo cursor;
+        // Recorrido sobre una copia (colas que no son listas enlazadas)
+        private Proceso[] elementos;
+        private int indice;
+        private int cantidad;
+
         ColaTemporal(Nodo inicio) { this.cursor = inicio; }
-        public boolean tieneSiguiente() { return cursor != null; }
+        ColaTemporal(Proceso[] elementos, int cantidad) {
+            this.elementos = elementos;
+            this.cantidad = cantidad;
+        }
+        public boolean tieneSiguiente() {
+            if (elementos != null) return indice < cantidad;
+            return cursor != centinela;
+        }
         public Proceso siguiente() {
+            if (elementos != null) return elementos[indice++];
             Proceso p = cursor.proceso;
             cursor = cursor.siguiente;
             return p;
@@ -50,27 +92,39 @@ public class ColaProcesos {
     }
 
     public ColaTemporal crearIterador() {
-        return new ColaTemporal(primero);
+        return new ColaTemporal(centinela.siguiente);
     }
 
-    public void eliminarProceso(Proceso p) {
-        if (estaVacia()) return;
-
-        if (primero.proceso == p) {
-            desencolar();
-            return;
-        }
-
-        Nodo actual = primero;
-        while (actual.siguiente != null) {
-            if (actual.siguiente.proceso == p) {
-                actual.siguiente = actual.siguiente.siguiente;
-                if (actual.siguiente == null) {
-                    ultimo = actual;
-                }
-                return;
+    /**
+     * Saca el primero (en orden de cola) que pueda ejecutar en el núcleo,
+     * o null si todos están fijados a otros. Recorre la lista sin copiarla.
+     */
+    public Proceso extraerParaNucleo(int nucleo) {
+        for (Nodo n = centinela.siguiente; n != centinela; n = n.siguiente) {
+            if (n.proceso.puedeEjecutarEn(nucleo)) {
+                Proceso p = n.proceso;
+                desenlazar(n);
+                return p;
             }
-            actual = actual.siguiente;
         }
+        return null;
+    }
+
+    public void eliminarProceso(Proceso p) {
+        if (p == null || p.colaActual != this || p.nodoCola == null) return;
+        desenlazar(p.nodoCola);
+    }
+
+    /**
+     * Quita el nodo de la lista. Se conserva su enlace "siguiente" para que un
+     * iterador posicionado sobre él pueda seguir avanzando.
+     */
+    private void desenlazar(Nodo nodo) {
+        nodo.anterior.siguiente = nodo.siguiente;
+        nodo.siguiente.anterior = nodo.anterior;
+        nodo.anterior = null;
+        nodo.proceso.colaActual = null;
+        nodo.proceso.nodoCola = null;
+        tamano--;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,241 @@
+package so_simulador.modelo;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import so_simulador.planificador.*;
+
+/**
+ * Despachador del modo concurrente: cada proceso corre en su propio hilo,
+ * pero solo ejecuta instrucciones mientras tiene uno de los N núcleos.
+ * Un hilo despachador elige con el Planificador a quién darle cada núcleo
+ * libre; el proceso lo devuelve al agotar el quantum, al bloquearse o al
+ * terminar, y se estaciona (LockSupport.park) hasta que se lo vuelvan a dar.
+ *
+ * Mide despachos, expropiaciones y el tiempo desde que se le da el núcleo
+ * a un proceso hasta que su hilo vuelve a correr (el cambio de contexto).
+ */
+public class DespachadorConcurrente {
+    private final Planificador planificador;
+    private final int nucleos;
+    private final CPUConcurrent.TipoHilo tipo;
+    private final ColaProcesos listos;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Protegidos por lock
+    private int libres;
+    private int vivos;
+    private boolean cerrado;
+
+    private Thread hiloDespachador;
+    private volatile boolean pendiente; // hay algo que despachar
+
+    // Estadísticas
+    private long despachos;
+    private long expropiaciones;
+    private final LongAdder nsCambioContexto = new LongAdder();
+    private final AtomicInteger enEjecucion = new AtomicInteger();
+    private volatile int maximoEnEjecucion;
+    private long inicioNs;
+    private long duracionNs;
+
+    public DespachadorConcurrente(Planificador planificador, int nucleos, CPUConcurrent.TipoHilo tipo) {
+        this.planificador = planificador;
+        this.nucleos = Math.max(1, nucleos);
+        this.tipo = tipo;
+        this.listos = planificador.crearColaListos();
+        this.libres = this.nucleos;
+    }
+
+    /** Arranca el hilo despachador (antes de ejecutar procesos). */
+    public void iniciar() {
+        inicioNs = System.nanoTime();
+        hiloDespachador = Thread.ofPlatform().name("despachador").daemon(true).start(this::bucle);
+    }
+
+    /** Arranca el hilo del proceso; ejecuta cuando el despachador le dé un núcleo. */
+    public void ejecutar(Proceso p) {
+        lock.lock();
+        try {
+            vivos++;
+        } finally {
+            lock.unlock();
+        }
+        p.setDespachador(this);
+        p.iniciar(tipo);
+    }
+
+    /** No se van a agregar más procesos: espera a que terminen todos. */
+    public void esperarFin() throws InterruptedException {
+        lock.lock();
+        try {
+            cerrado = true;
+        } finally {
+            lock.unlock();
+        }
+        avisarDespachador();
+        hiloDespachador.join();
+        duracionNs = System.nanoTime() - inicioNs;
+    }
+
+    // ========== LLAMADOS DESDE EL HILO DEL PROCESO ==========
+
+    /** Pasa a LISTO y se estaciona hasta que le den un núcleo. */
+    void esperarCPU(Proceso p) {
+        lock.lock();
+        try {
+            p.cpuAsignada = false;
+            p.getPCB().setEstado(EstadoProceso.LISTO);
+            encolar(p);
+        } finally {
+            lock.unlock();
+        }
+        avisarDespachador();
+        boolean interrumpido = false;
+        while (!p.cpuAsignada) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) interrumpido = true; // se repone al salir
+        }
+        if (interrumpido) Thread.currentThread().interrupt();
+        nsCambioContexto.add(System.nanoTime() - p.cpuAsignadaEnNs);
+    }
+
+    /** Cuenta una instrucción; si se agotó el quantum devuelve el núcleo y espera otro turno. */
+    void instruccionEjecutada(Proceso p) {
+        if (--p.quantumRestante > 0) return;
+        if (planificador instanceof MLFQ
+                && p.getMlfqNivel() < ((MLFQ) planificador).getNivelesCount() - 1) {
+            p.demoteMlfq();
+        }
+        lock.lock();
+        try {
+            expropiaciones++;
+        } finally {
+            lock.unlock();
+        }
+        liberarCPU(p);
+        esperarCPU(p);
+    }
+
+    /** Devuelve el núcleo (antes de bloquearse o al terminar). */
+    void liberarCPU(Proceso p) {
+        if (!p.cpuAsignada) return;
+        p.cpuAsignada = false;
+        enEjecucion.decrementAndGet();
+        lock.lock();
+        try {
+            libres++;
+        } finally {
+            lock.unlock();
+        }
+        avisarDespachador();
+    }
+
+    void terminar(Proceso p) {
+        liberarCPU(p);
+        lock.lock();
+        try {
+            vivos--;
+        } finally {
+            lock.unlock();
+        }
+        avisarDespachador();
+    }
+
+    // ========== HILO DESPACHADOR ==========
+
+    private void bucle() {
+        while (true) {
+            pendiente = false;
+            lock.lock();
+            try {
+                while (libres > 0) {
+                    Proceso p = seleccionar();
+                    if (p == null) break;
+                    libres--;
+                    despachos++;
+                    otorgar(p);
+                }
+                if (cerrado && vivos == 0) return;
+            } finally {
+                lock.unlock();
+            }
+            while (!pendiente) {
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    private Proceso seleccionar() {
+        if (planificador instanceof MLFQ) {
+            MLFQ mlfq = (MLFQ) planificador;
+            mlfq.aging();
+            return mlfq.seleccionarProceso(listos);
+        }
+        if (listos.estaVacia()) return null;
+        if (planificador instanceof HRRN) {
+            ColaProcesos.ColaTemporal it = listos.crearIterador();
+            while (it.tieneSiguiente()) it.siguiente().incrementarEspera();
+            if (listos instanceof ColaPrioridadProcesos) ((ColaPrioridadProcesos) listos).marcarDesordenada();
+        }
+        return planificador.seleccionarProceso(listos);
+    }
+
+    private void otorgar(Proceso p) {
+        p.quantumRestante = getQuantum(p);
+        p.getPCB().setEstado(EstadoProceso.EJECUCION);
+        int corriendo = enEjecucion.incrementAndGet();
+        if (corriendo > maximoEnEjecucion) maximoEnEjecucion = corriendo;
+        p.cpuAsignadaEnNs = System.nanoTime();
+        p.cpuAsignada = true;
+        LockSupport.unpark(p.getHilo());
+    }
+
+    private void encolar(Proceso p) {
+        if (planificador instanceof MLFQ) {
+            ((MLFQ) planificador).encolarProceso(p);
+        } else {
+            listos.encolar(p);
+        }
+    }
+
+    /** Quantum del proceso según la política; sin límite si no es expropiativa. */
+    private int getQuantum(Proceso p) {
+        if (planificador instanceof RoundRobin) {
+            return ((RoundRobin) planificador).getQuantum();
+        }
+        if (planificador instanceof MLFQ) {
+            return ((MLFQ) planificador).getQuantumParaNivel(p.getMlfqNivel());
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private void avisarDespachador() {
+        pendiente = true;
+        Thread h = hiloDespachador;
+        if (h != null) LockSupport.unpark(h);
+    }
+
+    // ========== ESTADÍSTICAS ==========
+
+    public int getNucleos() { return nucleos; }
+    public long getDespachos() { return despachos; }
+    public long getExpropiaciones() { return expropiaciones; }
+    /** Mayor cantidad de procesos ejecutando a la vez (nunca más que los núcleos). */
+    public int getMaximoEnEjecucion() { return maximoEnEjecucion; }
+    public long getDuracionNs() { return duracionNs; }
+
+    /** Nanosegundos promedio entre otorgar un núcleo y que el proceso vuelva a correr. */
+    public double getCambioContextoPromedioNs() {
+        return despachos == 0 ? 0.0 : (double) nsCambioContexto.sum() / despachos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s en %d núcleos: %d despachos, %d expropiaciones, " +
+                "cambio de contexto %.1f µs, %.0f ms",
+                planificador.getNombre(), nucleos, despachos, expropiaciones,
+                getCambioContextoPromedioNs() / 1000, duracionNs / 1e6);
+    }
+}
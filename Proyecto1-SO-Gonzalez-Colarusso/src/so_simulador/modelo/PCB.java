@@ -1,15 +1,24 @@
 package so_simulador.modelo;
 
+/**
+ * Bloque de control de proceso. El id lo asigna quien crea el proceso
+ * (normalmente el ContextoSimulacion de cada simulación).
+ *
+ * Los cambios de estado con ciclo suman el tiempo que el proceso pasó en
+ * el estado que deja, así que los ciclos en LISTO, BLOQUEADO, etc. se
+ * conocen en O(1) sin recorrer nada al final.
+ */
 public class PCB {
-    private static int contadorId = 0;
     private final int id;
     private String nombre;
     private EstadoProceso estado;
     private int programCounter;
     private int memoryAddressRegister;
+    private final int[] ciclosPorEstado = new int[EstadoProceso.values().length];
+    private int cicloEstado = -1; // ciclo en que entró al estado actual (-1 = sin marcar)
 
-    public PCB(String nombre) {
-        this.id = ++contadorId;
+    public PCB(int id, String nombre) {
+        this.id = id;
         this.nombre = nombre;
         this.estado = EstadoProceso.NUEVO;
         this.programCounter = 0;
@@ -22,10 +31,31 @@ public class PCB {
     public int getProgramCounter() { return programCounter; }
     public int getMemoryAddressRegister() { return memoryAddressRegister; }
 
+    /** Cambia el estado sin contar tiempo (modo concurrente). */
     public void setEstado(EstadoProceso estado) { this.estado = estado; }
+
+    /** Cambia el estado en 'ciclo' y suma al estado anterior el tiempo que estuvo en él. */
+    public void setEstado(EstadoProceso estado, int ciclo) {
+        if (cicloEstado >= 0 && ciclo > cicloEstado) {
+            ciclosPorEstado[this.estado.ordinal()] += ciclo - cicloEstado;
+        }
+        if (ciclo > cicloEstado) cicloEstado = ciclo;
+        this.estado = estado;
+    }
+
+    /** Ciclos que pasó en 'estado' (sin contar el intervalo abierto). */
+    public int getCiclosEn(EstadoProceso estado) {
+        return ciclosPorEstado[estado.ordinal()];
+    }
     public void incrementarPC() { this.programCounter++; }
     public void incrementarMAR() { this.memoryAddressRegister++; }
 
+    /** Avanza PC y MAR una ráfaga completa de instrucciones. */
+    public void avanzar(int instrucciones) {
+        this.programCounter += instrucciones;
+        this.memoryAddressRegister += instrucciones;
+    }
+
     @Override
     public String toString() {
         return String.format("PCB{id=%d, nombre=%s, estado=%s, PC=%d, MAR=%d}", 
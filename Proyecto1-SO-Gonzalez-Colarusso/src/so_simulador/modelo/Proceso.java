@@ -1,14 +1,19 @@
 package so_simulador.modelo;
 
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 import so_simulador.sincronizacion.GestorES;
 import so_simulador.sincronizacion.Reloj;
 import so_simulador.sincronizacion.Semaforo;
+import so_simulador.sincronizacion.TiempoVirtual;
 
 /**
  * Proceso híbrido: soporta simulación secuencial (ejecutarQuantum/run como antes)
- * y concurrencia real con bloqueo por semáforos y E/S.
+ * y concurrencia real con bloqueo por semáforos y E/S. En modo concurrente
+ * corre como Runnable en un hilo de plataforma o virtual (ver CPUConcurrent).
  */
-public class Proceso extends Thread {
+public class Proceso implements Runnable {
     private PCB pcb;
     private int instruccionesTotales;
     private boolean esCPUbound;
@@ -17,6 +22,9 @@ public class Proceso extends Thread {
     private int prioridad;
     private int tiempoLlegada;
     private int tiempoEspera;
+    private ObservadorEspera observadorEspera;
+    private int memoriaRequerida; // KB (0 = usar el valor por defecto del gestor)
+    private TablaPaginas tablaPaginas; // solo con memoria virtual paginada
     
     // Control de E/S para simulación secuencial
     private int contadorES;  // ciclos restantes de E/S
@@ -26,13 +34,41 @@ public class Proceso extends Thread {
     private int mlfqNivel = 0;
     private int mlfqTiempoEspera = 0;
 
+    // Multinúcleo
+    private int nucleo = -1;   // último núcleo donde ejecutó (afinidad blanda)
+    private int afinidad = -1; // núcleo fijo (-1 = puede migrar)
+
+    // Posición en la cola que lo contiene (la mantiene ColaProcesos)
+    ColaProcesos colaActual;
+    ColaProcesos.Nodo nodoCola;
+    int indiceCola = -1;
+    long ordenCola;
+
     // Concurrencia
+    private static final int DURACION_ES = 3; // ticks de una E/S en modo concurrente
     private Reloj reloj;
     private Semaforo recurso;
+    private GestorES gestorES; // null = sin E/S en modo concurrente
+    private volatile Thread hilo;
+    private volatile boolean avisado;  // E/S terminada o reanudación pendiente
+    private int retardoInstruccion = 25; // ms
+    private PrintStream salida = System.out;
+    private TiempoVirtual tiempoVirtual; // null = tiempo real (Thread.sleep)
+    private final AtomicBoolean suspensionVirtual = new AtomicBoolean(); // suspender() sin reanudar todavía
+
+    // Con DespachadorConcurrente: solo ejecuta mientras tiene un núcleo
+    private DespachadorConcurrente despachador;
+    volatile boolean cpuAsignada;
+    volatile long cpuAsignadaEnNs;
+    int quantumRestante;
 
-    public Proceso(String nombre, int instrucciones, boolean esCPUbound,
+    /**
+     * El id lo asigna quien crea el proceso; ContextoSimulacion.crearProceso
+     * lo numera dentro de su simulación.
+     */
+    public Proceso(int id, String nombre, int instrucciones, boolean esCPUbound,
                    int ciclosExcepcion, int ciclosAtencion, int prioridad) {
-        this.pcb = new PCB(nombre);
+        this.pcb = new PCB(id, nombre);
         this.instruccionesTotales = instrucciones;
         this.esCPUbound = esCPUbound;
         this.ciclosExcepcion = ciclosExcepcion;
@@ -40,6 +76,7 @@ public class Proceso extends Thread {
         this.prioridad = prioridad;
         this.tiempoLlegada = 0;
         this.tiempoEspera = 0;
+        this.memoriaRequerida = 0;
         this.contadorES = 0;
         this.duracionES = 2; // por defecto 2 ciclos de E/S
     }
@@ -53,6 +90,10 @@ public class Proceso extends Thread {
     public int getPrioridad() { return prioridad; }
     public void setTiempoLlegada(int ciclo) { this.tiempoLlegada = ciclo; }
     public int getTiempoLlegada() { return tiempoLlegada; }
+    public int getMemoriaRequerida() { return memoriaRequerida; }
+    public void setMemoriaRequerida(int kb) { this.memoriaRequerida = kb; }
+    public TablaPaginas getTablaPaginas() { return tablaPaginas; }
+    public void setTablaPaginas(TablaPaginas tabla) { this.tablaPaginas = tabla; }
 
     // Control de E/S
     public void iniciarES() {
@@ -63,6 +104,14 @@ public class Proceso extends Thread {
         if (contadorES > 0) contadorES--;
     }
     
+    public void completarES() {
+        this.contadorES = 0;
+    }
+    
+    public int getDuracionES() {
+        return duracionES;
+    }
+    
     public int getContadorES() {
         return contadorES;
     }
@@ -72,9 +121,23 @@ public class Proceso extends Thread {
     }
 
     // HRRN
-    public void incrementarEspera() { this.tiempoEspera++; }
+    public void incrementarEspera() {
+        this.tiempoEspera++;
+        if (observadorEspera != null) observadorEspera.esperaCambiada(this);
+    }
     public int getTiempoEspera() { return tiempoEspera; }
-    public void resetEspera() { this.tiempoEspera = 0; }
+    public void resetEspera() {
+        this.tiempoEspera = 0;
+        if (observadorEspera != null) observadorEspera.esperaCambiada(this);
+    }
+
+    /** Aviso de que cambió el tiempo de espera (lo usa GestorMemoria para reordenar). */
+    public interface ObservadorEspera {
+        void esperaCambiada(Proceso p);
+    }
+
+    /** Un solo observador a la vez; null = ninguno. */
+    public void setObservadorEspera(ObservadorEspera observador) { this.observadorEspera = observador; }
 
     public int getServicioRestante() {
         return instruccionesTotales - pcb.getProgramCounter();
@@ -89,108 +152,219 @@ public class Proceso extends Thread {
     public void demoteMlfq() { this.mlfqNivel++; }
     public void promoteMlfq() { if (this.mlfqNivel > 0) this.mlfqNivel--; }
 
+    // Multinúcleo
+    public int getNucleo() { return nucleo; }
+    public void setNucleo(int nucleo) { this.nucleo = nucleo; }
+    public int getAfinidad() { return afinidad; }
+    public void setAfinidad(int afinidad) { this.afinidad = afinidad; }
+    public boolean puedeEjecutarEn(int n) { return afinidad < 0 || afinidad == n; }
+
     // Concurrencia: setters
     public void setRecurso(Semaforo recurso) { this.recurso = recurso; }
     public void setReloj(Reloj reloj) { this.reloj = reloj; }
+    public void setGestorES(GestorES gestorES) { this.gestorES = gestorES; }
+
+    /**
+     * En tiempo virtual cada instrucción dura un tick del reloj, la E/S
+     * dura los mismos ticks que en GestorES y los estados del PCB se
+     * cuentan en ticks.
+     */
+    public void setTiempoVirtual(TiempoVirtual tiempoVirtual) { this.tiempoVirtual = tiempoVirtual; }
+
+    /**
+     * Arranca el proceso en un hilo nuevo del tipo dado (de plataforma o
+     * virtual).
+     */
+    public void iniciar(CPUConcurrent.TipoHilo tipo) {
+        if (tiempoVirtual != null) {
+            if (despachador != null) {
+                throw new IllegalStateException("El tiempo virtual no se combina con DespachadorConcurrente");
+            }
+            tiempoVirtual.registrar();
+        }
+        hilo = tipo.crear(pcb.getNombre(), this);
+        hilo.start();
+    }
+
+    public Thread getHilo() { return hilo; }
+
+    public boolean estaVivo() {
+        Thread h = hilo;
+        return h != null && h.isAlive();
+    }
+
+    /** Espera a que termine el hilo (si se inició). */
+    public void esperarFin() throws InterruptedException {
+        Thread h = hilo;
+        if (h != null) h.join();
+    }
+
+    /** Pausa por instrucción en modo concurrente (0 = sin pausa). */
+    public void setRetardoInstruccion(int ms) { this.retardoInstruccion = Math.max(0, ms); }
+
+    void setDespachador(DespachadorConcurrente despachador) { this.despachador = despachador; }
+
+    /** Dónde escribe sus mensajes en modo concurrente (null = en silencio). */
+    public void setSalida(PrintStream salida) { this.salida = salida; }
 
     /**
-     * Ejecutado cuando se inicia el Thread (modo concurrente).
+     * Ejecutado cuando se inicia el hilo (modo concurrente). Las esperas
+     * usan LockSupport.park en lugar de wait(): un hilo virtual estacionado
+     * libera su hilo portador, así que miles de procesos bloqueados por E/S
+     * no ocupan hilos del sistema.
      */
     @Override
     public void run() {
-        pcb.setEstado(EstadoProceso.EJECUCION);
+        tomarCPU();
 
         while (pcb.getProgramCounter() < instruccionesTotales) {
-            if (reloj != null) reloj.tick();
+            if (reloj != null && tiempoVirtual == null) reloj.tick();
 
             pcb.incrementarPC();
             pcb.incrementarMAR();
 
             // Bloqueo por semáforo
             if (recurso != null && ciclosExcepcion > 0 && pcb.getProgramCounter() == ciclosExcepcion) {
-                synchronized (System.out) {
-                    System.out.println("[" + pcb.getNombre() + "] intentando acceder al recurso...");
-                }
+                imprimir("[" + pcb.getNombre() + "] intentando acceder al recurso...");
 
-                pcb.setEstado(EstadoProceso.BLOQUEADO);
-                recurso.waitSem();
-
-                synchronized (System.out) {
-                    System.out.println("[" + pcb.getNombre() + "] obtuvo el recurso ✅");
+                soltarCPU();
+                cambiarEstado(EstadoProceso.BLOQUEADO);
+                if (tiempoVirtual != null) {
+                    tiempoVirtual.adquirir(recurso);
+                } else {
+                    recurso.waitSem();
                 }
 
-                pcb.setEstado(EstadoProceso.EJECUCION);
+                imprimir("[" + pcb.getNombre() + "] obtuvo el recurso ✅");
+
+                tomarCPU();
             }
 
             // E/S cada ciclosAtencion instrucciones
-            if (ciclosAtencion > 0 && (pcb.getProgramCounter() % ciclosAtencion) == 0 && pcb.getProgramCounter() < instruccionesTotales) {
-                synchronized (System.out) {
-                    System.out.println("[" + pcb.getNombre() + "] inicia operación de E/S → BLOQUEADO");
-                }
+            if (gestorES != null && ciclosAtencion > 0 && (pcb.getProgramCounter() % ciclosAtencion) == 0 && pcb.getProgramCounter() < instruccionesTotales) {
+                imprimir("[" + pcb.getNombre() + "] inicia operación de E/S → BLOQUEADO");
 
-                pcb.setEstado(EstadoProceso.BLOQUEADO);
-
-                boolean ok = GestorES.getInstance().registrarBloqueado(this, 3);
-                if (!ok) {
-                    try { Thread.sleep(100); } catch (InterruptedException ex) {}
+                soltarCPU();
+                cambiarEstado(EstadoProceso.BLOQUEADO);
+                if (tiempoVirtual != null) {
+                    tiempoVirtual.esperarTicks(DURACION_ES);
                 } else {
-                    synchronized (this) {
-                        try {
-                            this.wait();
-                        } catch (InterruptedException e) {}
-                    }
+                    gestorES.registrarBloqueado(this, DURACION_ES);
+                    esperarAviso();
                 }
 
-                pcb.setEstado(EstadoProceso.LISTO);
-                synchronized (System.out) {
-                    System.out.println("[" + pcb.getNombre() + "] E/S completada → LISTO");
-                }
-                pcb.setEstado(EstadoProceso.EJECUCION);
+                cambiarEstado(EstadoProceso.LISTO);
+                imprimir("[" + pcb.getNombre() + "] E/S completada → LISTO");
+                tomarCPU();
             }
 
-            try {
-                Thread.sleep(25);
-            } catch (InterruptedException e) {
+            if (tiempoVirtual != null) {
+                tiempoVirtual.esperarTicks(1); // la instrucción dura un tick
                 if (pcb.getEstado() == EstadoProceso.SUSPENDIDO) {
-                    synchronized (System.out) {
-                        System.out.println("[" + pcb.getNombre() + "] SUSPENDIDO, esperando reanudar...");
-                    }
-                    synchronized (this) {
-                        try { this.wait(); } catch (InterruptedException ex) {}
-                    }
-                    synchronized (System.out) {
-                        System.out.println("[" + pcb.getNombre() + "] reanudado desde SUSPENDIDO");
+                    Thread.interrupted(); // la interrupción de suspender() no hace falta acá
+                    imprimir("[" + pcb.getNombre() + "] SUSPENDIDO, esperando reanudar...");
+                    tiempoVirtual.suspender(); // el reloj sigue sin él
+                    esperarAviso();            // reanudarManual() ya lo volvió a contar
+                    imprimir("[" + pcb.getNombre() + "] reanudado desde SUSPENDIDO");
+                    cambiarEstado(EstadoProceso.EJECUCION);
+                }
+            } else {
+                try {
+                    if (retardoInstruccion > 0) Thread.sleep(retardoInstruccion);
+                } catch (InterruptedException e) {
+                    if (pcb.getEstado() == EstadoProceso.SUSPENDIDO) {
+                        imprimir("[" + pcb.getNombre() + "] SUSPENDIDO, esperando reanudar...");
+                        soltarCPU();
+                        esperarAviso();
+                        imprimir("[" + pcb.getNombre() + "] reanudado desde SUSPENDIDO");
+                        tomarCPU();
                     }
-                    pcb.setEstado(EstadoProceso.EJECUCION);
                 }
             }
+
+            if (despachador != null && pcb.getProgramCounter() < instruccionesTotales) {
+                despachador.instruccionEjecutada(this);
+            }
         }
 
-        pcb.setEstado(EstadoProceso.TERMINADO);
+        cambiarEstado(EstadoProceso.TERMINADO);
+        if (despachador != null) despachador.terminar(this);
 
         if (recurso != null) {
-            recurso.signal();
-            synchronized (System.out) {
-                System.out.println("[" + pcb.getNombre() + "] liberó el recurso 🔓");
+            if (tiempoVirtual != null) {
+                tiempoVirtual.liberar(recurso);
+            } else {
+                recurso.signal();
             }
+            imprimir("[" + pcb.getNombre() + "] liberó el recurso 🔓");
         }
 
-        synchronized (System.out) {
-            System.out.println("[" + pcb.getNombre() + "] TERMINADO");
+        imprimir("[" + pcb.getNombre() + "] TERMINADO");
+        if (tiempoVirtual != null) tiempoVirtual.terminar();
+    }
+
+    /** En tiempo virtual el PCB cuenta cuántos ticks pasa en cada estado. */
+    private void cambiarEstado(EstadoProceso estado) {
+        if (tiempoVirtual != null) {
+            pcb.setEstado(estado, tiempoVirtual.getTiempo());
+        } else {
+            pcb.setEstado(estado);
+        }
+    }
+
+    /** Sin despachador pasa directo a EJECUCION; con despachador espera un núcleo. */
+    private void tomarCPU() {
+        if (despachador != null) {
+            despachador.esperarCPU(this);
+        } else {
+            cambiarEstado(EstadoProceso.EJECUCION);
+        }
+    }
+
+    private void soltarCPU() {
+        if (despachador != null) despachador.liberarCPU(this);
+    }
+
+    /** Se estaciona hasta que llegue un aviso (si ya llegó, sigue de largo). */
+    private void esperarAviso() {
+        while (!avisado) {
+            LockSupport.park(this);
+            Thread.interrupted(); // una interrupción no reemplaza al aviso
+        }
+        avisado = false;
+    }
+
+    private void avisar() {
+        avisado = true;
+        Thread h = hilo;
+        if (h != null) LockSupport.unpark(h);
+    }
+
+    private void imprimir(String linea) {
+        if (salida == null) return;
+        synchronized (salida) {
+            salida.println(linea);
         }
     }
 
-    public synchronized void reanudarPorES() {
-        this.notify();
+    public void reanudarPorES() {
+        avisar();
     }
 
-    public synchronized void reanudarManual() {
-        this.notify();
+    public void reanudarManual() {
+        if (tiempoVirtual != null) {
+            // Una sola vez por suspensión, y antes del aviso para que el reloj no avance sin él
+            if (pcb.getEstado() != EstadoProceso.SUSPENDIDO || !suspensionVirtual.compareAndSet(true, false)) return;
+            tiempoVirtual.reanudar();
+        }
+        avisar();
     }
 
     public void suspender() {
-        pcb.setEstado(EstadoProceso.SUSPENDIDO);
-        this.interrupt();
+        if (tiempoVirtual != null) suspensionVirtual.set(true);
+        cambiarEstado(EstadoProceso.SUSPENDIDO); // cierra el intervalo en EJECUCION
+        Thread h = hilo;
+        if (h != null) h.interrupt();
     }
 
     /**
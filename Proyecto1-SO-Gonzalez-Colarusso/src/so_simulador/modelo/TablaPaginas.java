@@ -0,0 +1,37 @@
+package so_simulador.modelo;
+
+/**
+ * Tabla de páginas de un proceso: para cada página virtual, el marco
+ * físico que la contiene (-1 si no está cargada).
+ */
+public class TablaPaginas {
+    private final int[] marcos;
+    private int presentes;
+
+    public TablaPaginas(int paginas) {
+        this.marcos = new int[Math.max(1, paginas)];
+        for (int i = 0; i < marcos.length; i++) marcos[i] = -1;
+        this.presentes = 0;
+    }
+
+    public int getPaginas() { return marcos.length; }
+    public int getPaginasPresentes() { return presentes; }
+
+    public boolean estaPresente(int pagina) {
+        return marcos[pagina] >= 0;
+    }
+
+    public int getMarco(int pagina) {
+        return marcos[pagina];
+    }
+
+    public void cargar(int pagina, int marco) {
+        if (marcos[pagina] < 0) presentes++;
+        marcos[pagina] = marco;
+    }
+
+    public void descargar(int pagina) {
+        if (marcos[pagina] >= 0) presentes--;
+        marcos[pagina] = -1;
+    }
+}
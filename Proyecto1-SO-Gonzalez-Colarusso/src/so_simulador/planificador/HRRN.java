@@ -1,13 +1,30 @@
 package so_simulador.planificador;
 
 import so_simulador.modelo.*;
+import java.util.Comparator;
 
 public class HRRN implements Planificador {
+    // Mayor response ratio primero
+    static final Comparator<Proceso> CRITERIO =
+            (a, b) -> Double.compare(ratio(b), ratio(a));
+
+    static double ratio(Proceso p) {
+        int servicio = p.getServicioRestante();
+        int espera = p.getTiempoEspera();
+        return (double) (espera + servicio) / servicio;
+    }
 
     @Override
     public Proceso seleccionarProceso(ColaProcesos cola) {
         if (cola.estaVacia()) return null;
 
+        // Con la cola de prioridad propia el ratio se recalcula solo si la
+        // cola fue marcada como desordenada (cambió la espera)
+        if (cola instanceof ColaPrioridadProcesos
+                && ((ColaPrioridadProcesos) cola).getCriterio() == CRITERIO) {
+            return cola.desencolar();
+        }
+
         Proceso mejor = null;
         double mejorRatio = -1;
 
@@ -15,10 +32,7 @@ public class HRRN implements Planificador {
         while (aux.tieneSiguiente()) {
             Proceso actual = aux.siguiente();
 
-            int servicio = actual.getServicioRestante();
-            int espera = actual.getTiempoEspera();
-
-            double ratio = (double) (espera + servicio) / servicio;
+            double ratio = ratio(actual);
 
             if (ratio > mejorRatio) {
                 mejor = actual;
@@ -31,6 +45,11 @@ public class HRRN implements Planificador {
         return mejor;
     }
 
+    @Override
+    public ColaProcesos crearColaListos() {
+        return new ColaPrioridadProcesos(CRITERIO);
+    }
+
     @Override
     public String getNombre() {
         return "Highest Response Ratio Next (HRRN)";
@@ -20,6 +20,11 @@ public class MLFQ implements Planificador {
         }
     }
 
+    /** Misma configuración que 'modelo' con las colas vacías (una por núcleo). */
+    public MLFQ(MLFQ modelo) {
+        this(modelo.nivelesCount, modelo.quantums, modelo.agingThreshold);
+    }
+
     // Encolar al nivel correspondiente (usado por el Main o por el propio MLFQ)
     public void encolarProceso(Proceso p) {
         int nivel = p.getMlfqNivel();
@@ -28,6 +33,14 @@ public class MLFQ implements Planificador {
         niveles[nivel].encolar(p);
     }
 
+    // Quitar un proceso de su nivel (por ejemplo, cuando el swap lo suspende)
+    public void eliminarProceso(Proceso p) {
+        int nivel = p.getMlfqNivel();
+        if (nivel < 0) nivel = 0;
+        if (nivel >= nivelesCount) nivel = nivelesCount - 1;
+        niveles[nivel].eliminarProceso(p);
+    }
+
     // Planificador selecciona el siguiente proceso del nivel más alto no vacío
     @Override
     public Proceso seleccionarProceso(ColaProcesos colaGeneral) {
@@ -55,6 +68,17 @@ public class MLFQ implements Planificador {
         return nivelesCount;
     }
 
+    public ColaProcesos getCola(int nivel) {
+        return niveles[nivel];
+    }
+
+    // Procesos esperando en todos los niveles
+    public int tamano() {
+        int total = 0;
+        for (int i = 0; i < nivelesCount; i++) total += niveles[i].tamano();
+        return total;
+    }
+
     // aging: incrementar espera en todas las colas y promover si excede threshold
     public void aging() {
         for (int lvl = 1; lvl < nivelesCount; lvl++) { // no promote desde nivel 0
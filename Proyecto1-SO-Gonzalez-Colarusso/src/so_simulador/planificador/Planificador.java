@@ -8,4 +8,9 @@ public interface Planificador {
 
     // Nombre del algoritmo (para mostrar en interfaz/logs)
     String getNombre();
+
+    // Cola de listos adecuada para la política (FIFO por defecto)
+    default ColaProcesos crearColaListos() {
+        return new ColaProcesos();
+    }
 }
\ No newline at end of file
@@ -1,13 +1,23 @@
 package so_simulador.planificador;
 
 import so_simulador.modelo.*;
+import java.util.Comparator;
 
 public class Prioridades implements Planificador {
+    // Menor número = mayor prioridad
+    static final Comparator<Proceso> CRITERIO =
+            Comparator.comparingInt(Proceso::getPrioridad);
 
     @Override
     public Proceso seleccionarProceso(ColaProcesos cola) {
         if (cola.estaVacia()) return null;
 
+        // Con la cola de prioridad propia el mejor está en la cima: O(log n)
+        if (cola instanceof ColaPrioridadProcesos
+                && ((ColaPrioridadProcesos) cola).getCriterio() == CRITERIO) {
+            return cola.desencolar();
+        }
+
         Proceso mejor = null;
         ColaProcesos.ColaTemporal aux = cola.crearIterador();
 
@@ -23,6 +33,11 @@ public class Prioridades implements Planificador {
         return mejor;
     }
 
+    @Override
+    public ColaProcesos crearColaListos() {
+        return new ColaPrioridadProcesos(CRITERIO);
+    }
+
     @Override
     public String getNombre() {
         return "Planificación por Prioridades";
@@ -1,13 +1,23 @@
 package so_simulador.planificador;
 
 import so_simulador.modelo.*;
+import java.util.Comparator;
 
 public class SJF implements Planificador {
+    // Menos instrucciones primero
+    static final Comparator<Proceso> CRITERIO =
+            Comparator.comparingInt(Proceso::getInstruccionesTotales);
 
     @Override
     public Proceso seleccionarProceso(ColaProcesos cola) {
         if (cola.estaVacia()) return null;
 
+        // Con la cola de prioridad propia el más corto está en la cima: O(log n)
+        if (cola instanceof ColaPrioridadProcesos
+                && ((ColaPrioridadProcesos) cola).getCriterio() == CRITERIO) {
+            return cola.desencolar();
+        }
+
         // Recorremos la cola para encontrar el proceso con menos instrucciones
         Proceso masCorto = null;
         ColaProcesos.ColaTemporal aux = cola.crearIterador();
@@ -24,8 +34,13 @@ public class SJF implements Planificador {
         return masCorto;
     }
 
+    @Override
+    public ColaProcesos crearColaListos() {
+        return new ColaPrioridadProcesos(CRITERIO);
+    }
+
     @Override
     public String getNombre() {
         return "Shortest Job First (SJF)";
     }
-}
\ No newline at end of file
+}
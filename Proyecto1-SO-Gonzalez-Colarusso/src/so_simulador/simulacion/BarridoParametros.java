@@ -0,0 +1,205 @@
+package so_simulador.simulacion;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import so_simulador.config.ConfiguracionSimulacion;
+import so_simulador.memoria.GestorMemoria;
+import so_simulador.planificador.*;
+import so_simulador.util.HistogramaLatencia;
+import so_simulador.util.Metricas;
+
+/**
+ * Barrido de parámetros sobre una misma configuración: arma la grilla
+ * algoritmo × quantum × memoria total × política de swap y corre cada
+ * combinación como una simulación independiente en un ForkJoinPool.
+ *
+ * Cada corrida tiene su propio motor, planificador y procesos (con ids
+ * propios), así que no comparten estado. El quantum solo multiplica a
+ * Round Robin; los demás algoritmos se corren una vez por combinación.
+ */
+public class BarridoParametros {
+    public enum Algoritmo {
+        FCFS, SJF, ROUND_ROBIN, PRIORIDADES, HRRN, MLFQ;
+
+        public Planificador crear(int quantum) {
+            switch (this) {
+                case FCFS: return new FCFS();
+                case SJF: return new SJF();
+                case ROUND_ROBIN: return new RoundRobin(quantum);
+                case PRIORIDADES: return new Prioridades();
+                case HRRN: return new HRRN();
+                default: return new MLFQ(3, new int[] {1, 2, 4}, 5);
+            }
+        }
+    }
+
+    /** Resultado de una combinación de la grilla. */
+    public static class Fila {
+        private final Algoritmo algoritmo;
+        private final int quantum;          // 0 = no aplica
+        private final int memoriaTotal;     // KB
+        private final GestorMemoria.PoliticaSwap politicaSwap;
+        private ResultadoSimulacion resultado;
+
+        Fila(Algoritmo algoritmo, int quantum, int memoriaTotal, GestorMemoria.PoliticaSwap politicaSwap) {
+            this.algoritmo = algoritmo;
+            this.quantum = quantum;
+            this.memoriaTotal = memoriaTotal;
+            this.politicaSwap = politicaSwap;
+        }
+
+        public Algoritmo getAlgoritmo() { return algoritmo; }
+        public int getQuantum() { return quantum; }
+        public int getMemoriaTotal() { return memoriaTotal; }
+        public GestorMemoria.PoliticaSwap getPoliticaSwap() { return politicaSwap; }
+        public ResultadoSimulacion getResultado() { return resultado; }
+    }
+
+    // Por debajo de este tamaño la tarea corre secuencialmente
+    private static final int UMBRAL = 4;
+
+    private final ConfiguracionSimulacion base;
+    private Algoritmo[] algoritmos = Algoritmo.values();
+    private int[] quantums = {2};
+    private int[] memorias;
+    private GestorMemoria.PoliticaSwap[] politicas = {GestorMemoria.PoliticaSwap.LRU};
+    private int paralelismo = Runtime.getRuntime().availableProcessors();
+
+    private Fila[] filas;
+    private long duracionNs;
+
+    public BarridoParametros(ConfiguracionSimulacion base) {
+        this.base = base;
+        this.memorias = new int[] {base.getMemoriaTotal()};
+    }
+
+    public void setAlgoritmos(Algoritmo... algoritmos) { this.algoritmos = algoritmos; }
+    public void setQuantums(int... quantums) { this.quantums = quantums; }
+    public void setMemorias(int... memoriasKB) { this.memorias = memoriasKB; }
+    public void setPoliticasSwap(GestorMemoria.PoliticaSwap... politicas) { this.politicas = politicas; }
+    public void setParalelismo(int hilos) { this.paralelismo = Math.max(1, hilos); }
+
+    /**
+     * Corre toda la grilla y devuelve una fila por combinación, en el orden
+     * de la grilla (algoritmo, quantum, memoria, política).
+     */
+    public Fila[] ejecutar() {
+        // Una copia de la configuración por tamaño de memoria, compartida (solo lectura)
+        ConfiguracionSimulacion[] configs = new ConfiguracionSimulacion[memorias.length];
+        for (int m = 0; m < memorias.length; m++) {
+            configs[m] = base.copiar();
+            configs[m].setMemoriaTotal(memorias[m]);
+        }
+
+        int total = 0;
+        for (Algoritmo a : algoritmos) {
+            total += (a == Algoritmo.ROUND_ROBIN ? quantums.length : 1) * memorias.length * politicas.length;
+        }
+        filas = new Fila[total];
+        int[] indiceConfig = new int[total];
+        int i = 0;
+        for (Algoritmo a : algoritmos) {
+            int[] qs = a == Algoritmo.ROUND_ROBIN ? quantums : new int[] {0};
+            for (int q : qs) {
+                for (int m = 0; m < memorias.length; m++) {
+                    for (GestorMemoria.PoliticaSwap politica : politicas) {
+                        indiceConfig[i] = m;
+                        filas[i++] = new Fila(a, q, memorias[m], politica);
+                    }
+                }
+            }
+        }
+
+        long inicio = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        try {
+            pool.invoke(new Tarea(configs, indiceConfig, 0, total));
+        } finally {
+            pool.shutdown();
+        }
+        duracionNs = System.nanoTime() - inicio;
+        return filas;
+    }
+
+    /** Divide el rango de filas a la mitad hasta que queda poco trabajo. */
+    private class Tarea extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ConfiguracionSimulacion[] configs;
+        private final int[] indiceConfig;
+        private final int desde;
+        private final int hasta;
+
+        Tarea(ConfiguracionSimulacion[] configs, int[] indiceConfig, int desde, int hasta) {
+            this.configs = configs;
+            this.indiceConfig = indiceConfig;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL) {
+                for (int i = desde; i < hasta; i++) {
+                    Fila f = filas[i];
+                    MotorSimulacion motor = new MotorSimulacion(configs[indiceConfig[i]], f.algoritmo.crear(f.quantum));
+                    motor.setPoliticaSwap(f.politicaSwap);
+                    f.resultado = motor.ejecutar();
+                }
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new Tarea(configs, indiceConfig, desde, medio),
+                      new Tarea(configs, indiceConfig, medio, hasta));
+        }
+    }
+
+    public long getDuracionNs() { return duracionNs; }
+
+    /** Tabla comparativa con las métricas agregadas de cada combinación. */
+    public String getTabla() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-12s %3s %6s %-14s %7s %9s %9s %8s %10s %7s %7s%n",
+                "Algoritmo", "q", "MemKB", "Swap", "Ciclos", "Turnar.", "Respuesta", "p99 T.", "Throughput", "CPU", "Jain"));
+        if (filas == null) return sb.toString();
+        for (Fila f : filas) {
+            ResultadoSimulacion r = f.resultado;
+            Metricas m = r.getMetricas();
+            sb.append(String.format("%-12s %3s %6d %-14s %7d %9.2f %9.2f %8d %10.4f %7.3f %7.3f%s%n",
+                    f.algoritmo, f.quantum > 0 ? String.valueOf(f.quantum) : "-", f.memoriaTotal, f.politicaSwap,
+                    r.getCiclosTotales(), m.getPromedioTurnaround(), m.getPromedioRespuesta(),
+                    m.getHistograma(Metricas.Latencia.TURNAROUND).getPercentil(99), m.getThroughput(), m.getUtilizacionPromedio(), m.getIndiceEquidad(),
+                    r.estaCompleta() ? "" : "  (incompleta)"));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Histograma de 'tipo' sumando todas las combinaciones de 'algoritmo'
+     * (null = todas), para ver la cola de latencias del algoritmo en la grilla.
+     */
+    public HistogramaLatencia getHistograma(Metricas.Latencia tipo, Algoritmo algoritmo) {
+        HistogramaLatencia total = new HistogramaLatencia();
+        if (filas == null) return total;
+        for (Fila f : filas) {
+            if (algoritmo == null || f.algoritmo == algoritmo) {
+                total.combinar(f.resultado.getMetricas().getHistograma(tipo));
+            }
+        }
+        return total;
+    }
+
+    /** Combinación con menor turnaround promedio entre las completas. */
+    public Fila getMejorTurnaround() {
+        Fila mejor = null;
+        if (filas == null) return null;
+        for (Fila f : filas) {
+            if (!f.resultado.estaCompleta()) continue;
+            if (mejor == null || f.resultado.getMetricas().getPromedioTurnaround()
+                    < mejor.resultado.getMetricas().getPromedioTurnaround()) {
+                mejor = f;
+            }
+        }
+        return mejor;
+    }
+}
@@ -0,0 +1,70 @@
+package so_simulador.simulacion;
+
+/**
+ * Cola de eventos ordenada por tiempo (montículo binario mínimo).
+ * Los eventos con el mismo tiempo salen en el orden en que se programaron.
+ */
+public class ColaEventos {
+    private Evento[] heap;
+    private int tamano;
+    private long contadorSecuencia;
+
+    public ColaEventos() {
+        this.heap = new Evento[32];
+        this.tamano = 0;
+        this.contadorSecuencia = 0;
+    }
+
+    public boolean estaVacia() { return tamano == 0; }
+
+    public int tamano() { return tamano; }
+
+    /** Programa un evento, O(log n). */
+    public void programar(Evento e) {
+        if (tamano == heap.length) {
+            Evento[] nuevo = new Evento[heap.length * 2];
+            System.arraycopy(heap, 0, nuevo, 0, tamano);
+            heap = nuevo;
+        }
+        e.secuencia = contadorSecuencia++;
+        int i = tamano++;
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (!antes(e, heap[padre])) break;
+            heap[i] = heap[padre];
+            i = padre;
+        }
+        heap[i] = e;
+    }
+
+    /** Devuelve el próximo evento sin sacarlo (null si no hay). */
+    public Evento verProximo() {
+        return tamano == 0 ? null : heap[0];
+    }
+
+    /** Saca el próximo evento, O(log n). */
+    public Evento extraer() {
+        if (tamano == 0) return null;
+        Evento primero = heap[0];
+        Evento ultimo = heap[--tamano];
+        heap[tamano] = null;
+        if (tamano > 0) {
+            int i = 0;
+            while (true) {
+                int hijo = 2 * i + 1;
+                if (hijo >= tamano) break;
+                if (hijo + 1 < tamano && antes(heap[hijo + 1], heap[hijo])) hijo++;
+                if (!antes(heap[hijo], ultimo)) break;
+                heap[i] = heap[hijo];
+                i = hijo;
+            }
+            heap[i] = ultimo;
+        }
+        return primero;
+    }
+
+    private boolean antes(Evento a, Evento b) {
+        if (a.getTiempo() != b.getTiempo()) return a.getTiempo() < b.getTiempo();
+        return a.secuencia < b.secuencia;
+    }
+}
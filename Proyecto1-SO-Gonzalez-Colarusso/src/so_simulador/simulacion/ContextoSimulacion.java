@@ -0,0 +1,103 @@
+package so_simulador.simulacion;
+
+import so_simulador.modelo.Proceso;
+import so_simulador.sincronizacion.GestorES;
+import so_simulador.sincronizacion.Reloj;
+import so_simulador.sincronizacion.TiempoVirtual;
+import so_simulador.util.LogEventos;
+
+/**
+ * Estado propio de una simulación: numeración de procesos, log de eventos,
+ * gestor de E/S y reloj. Reemplaza a los singletons globales, así varias
+ * simulaciones pueden correr a la vez en la misma JVM sin compartir ids,
+ * logs ni locks.
+ *
+ * Un contexto pertenece a una sola simulación; los ids los genera el hilo
+ * que crea los procesos.
+ */
+public class ContextoSimulacion {
+    private int proximoId;
+    private LogEventos log;      // null = sin log
+    private final GestorES gestorES;
+    private final Reloj reloj;
+    private TiempoVirtual tiempoVirtual; // null = modo concurrente en tiempo real
+
+    public ContextoSimulacion() {
+        this.proximoId = 0;
+        this.log = null;
+        this.gestorES = new GestorES();
+        this.reloj = new Reloj();
+    }
+
+    /** Id para el próximo proceso de esta simulación (empieza en 1). */
+    public int siguienteId() {
+        return ++proximoId;
+    }
+
+    /** Vuelve a numerar desde 1 (al preparar de nuevo la misma simulación). */
+    public void reiniciarIds() {
+        proximoId = 0;
+    }
+
+    /**
+     * Crea un proceso con id de esta simulación, ya conectado a su
+     * gestor de E/S y a su reloj.
+     */
+    public Proceso crearProceso(String nombre, int instrucciones, boolean esCPUbound,
+                                int ciclosExcepcion, int ciclosAtencion, int prioridad) {
+        Proceso p = new Proceso(siguienteId(), nombre, instrucciones, esCPUbound,
+                                ciclosExcepcion, ciclosAtencion, prioridad);
+        p.setGestorES(gestorES);
+        p.setReloj(reloj);
+        p.setTiempoVirtual(tiempoVirtual);
+        return p;
+    }
+
+    // ========== LOG ==========
+
+    /** Crea el log de esta simulación y abre su archivo (null = nombre con fecha). */
+    public boolean iniciarLog(String archivo) {
+        if (log == null) log = new LogEventos();
+        return log.iniciarLog(archivo);
+    }
+
+    public LogEventos getLog() {
+        return log;
+    }
+
+    public void setLog(LogEventos log) {
+        this.log = log;
+    }
+
+    // ========== E/S Y RELOJ ==========
+
+    public GestorES getGestorES() {
+        return gestorES;
+    }
+
+    public Reloj getReloj() {
+        return reloj;
+    }
+
+    /**
+     * Pasa el modo concurrente a tiempo virtual: los procesos que se creen
+     * desde ahora esperan ticks en vez de dormir, y se corre con
+     * getTiempoVirtual().ejecutar() en lugar de dar ticks a mano.
+     */
+    public TiempoVirtual activarTiempoVirtual() {
+        if (tiempoVirtual == null) tiempoVirtual = new TiempoVirtual(reloj);
+        return tiempoVirtual;
+    }
+
+    public TiempoVirtual getTiempoVirtual() {
+        return tiempoVirtual;
+    }
+
+    /** Cierra el log y la traza, si había. */
+    public void cerrar() {
+        if (log != null) {
+            log.cerrarTraza();
+            log.cerrarLog();
+        }
+    }
+}
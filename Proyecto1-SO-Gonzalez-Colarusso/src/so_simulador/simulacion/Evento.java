@@ -0,0 +1,46 @@
+package so_simulador.simulacion;
+
+import so_simulador.modelo.Proceso;
+
+/**
+ * Evento del núcleo de simulación por eventos discretos.
+ * El motor salta de un evento al siguiente en orden de tiempo.
+ */
+public class Evento {
+    public enum Tipo {
+        LLEGADA,        // el proceso entra al sistema
+        FIN_ES,         // termina la E/S de un proceso bloqueado
+        FIN_QUANTUM,    // el proceso agotó su quantum
+        SOLICITUD_ES,   // el proceso se detiene para pedir E/S
+        FINALIZACION    // el proceso ejecutó su última instrucción
+    }
+
+    private final int tiempo;
+    private final Tipo tipo;
+    private final Proceso proceso;
+    private final int instrucciones; // ráfaga de CPU que cierra el evento (0 si no aplica)
+    long secuencia;                  // desempate FIFO, lo asigna ColaEventos
+
+    public Evento(int tiempo, Tipo tipo, Proceso proceso, int instrucciones) {
+        this.tiempo = tiempo;
+        this.tipo = tipo;
+        this.proceso = proceso;
+        this.instrucciones = instrucciones;
+    }
+
+    public int getTiempo() { return tiempo; }
+    public Tipo getTipo() { return tipo; }
+    public Proceso getProceso() { return proceso; }
+    public int getInstrucciones() { return instrucciones; }
+
+    /** Indica si el evento cierra una ráfaga de CPU. */
+    public boolean esFinDeRafaga() {
+        return tipo == Tipo.FIN_QUANTUM || tipo == Tipo.SOLICITUD_ES || tipo == Tipo.FINALIZACION;
+    }
+
+    @Override
+    public String toString() {
+        return "Evento{t=" + tiempo + ", " + tipo + ", " +
+               (proceso != null ? proceso.getPCB().getNombre() : "-") + "}";
+    }
+}
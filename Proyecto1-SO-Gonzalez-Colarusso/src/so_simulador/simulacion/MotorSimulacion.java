@@ -0,0 +1,683 @@
+package so_simulador.simulacion;
+
+import so_simulador.config.*;
+import so_simulador.memoria.*;
+import so_simulador.modelo.*;
+import so_simulador.planificador.*;
+import so_simulador.util.LogEventos;
+import so_simulador.util.Metricas;
+import java.io.PrintStream;
+
+/**
+ * Motor de simulación secuencial, independiente del menú interactivo.
+ * Recibe una configuración y un planificador, ejecuta hasta que no quedan
+ * procesos y devuelve un ResultadoSimulacion.
+ *
+ * El tiempo avanza por eventos discretos: al despachar se calcula la ráfaga
+ * completa (hasta fin de quantum, pedido de E/S o fin del proceso) y se
+ * programa un solo evento para su final; la E/S también termina con un
+ * evento. El reloj salta al próximo evento, así que una ráfaga o una espera
+ * larga cuestan O(1) eventos en lugar de un paso por ciclo.
+ *
+ * Con varios núcleos cada uno tiene su propia cola de listos (y su
+ * instancia de MLFQ) y se despacha por separado con el mismo planificador.
+ * Los procesos que pasan a LISTO vuelven al último núcleo donde ejecutaron
+ * (afinidad); los nuevos van al núcleo menos cargado. La carga se reparte
+ * según la PoliticaBalanceo.
+ *
+ * Por defecto no escribe nada: la salida por consola y el log de eventos
+ * solo se usan si se asignan con setSalida / setLog. Los ids de proceso y
+ * el log salen del ContextoSimulacion de la corrida (uno nuevo si no se pasa).
+ *
+ * Los procesos con tiempo de llegada esperan en la cola de llegadas de
+ * ColasMultinivel; un único evento LLEGADA, en el ciclo de la próxima,
+ * los admite cuando el reloj la alcanza. Además de los de la configuración
+ * puede consumir una FuenteProcesos: de la fuente hay un solo proceso
+ * esperando llegar a la vez, y al admitirlo se pide el siguiente, así que
+ * la carga nunca se materializa entera.
+ */
+public class MotorSimulacion {
+    public enum PoliticaBalanceo {
+        NINGUNO,   // cada proceso se queda en el núcleo donde lo ubicaron
+        PULL,      // un núcleo sin trabajo le quita un proceso al más cargado
+        PUSH_PULL  // además, cada INTERVALO_BALANCEO ciclos se empareja la carga
+    }
+
+    private static final int INTERVALO_BALANCEO = 8;
+
+    private final ConfiguracionSimulacion config;
+    private final Planificador planificador;
+    private final ContextoSimulacion contexto;
+    private int nucleos;
+    private PoliticaBalanceo balanceo;
+    private GestorMemoria.PoliticaSwap politicaSwap;
+    private GestorMemoria.TipoAsignador tipoAsignador;
+    private MemoriaVirtual.PoliticaReemplazo politicaReemplazo;
+
+    private FuenteProcesos fuente;      // null = solo los de la configuración
+    private boolean retenerTerminados;  // false = no guardar los terminados
+
+    private PrintStream salida; // null = sin consola
+    private LogEventos log;     // null = sin log
+
+    private GestorMemoria gestorMemoria;
+    private MemoriaVirtual memoriaVirtual; // null = sin paginación
+    private ColasMultinivel colas;
+    private CPU[] cpus;
+    private ColaProcesos[] colasNucleo;  // cola de listos de cada núcleo
+    private Planificador[] planNucleo;   // MLFQ: una instancia por núcleo
+    private Metricas metricas;
+    private ColaProcesos colaTerminados;
+    private ColaEventos eventos;
+    private int ciclo;
+    private int procesosAdmitidos;
+    private int procesosTerminados;
+    private long eventosProcesados;
+    private Proceso pendienteFuente; // llegada programada de la fuente
+    private int llegadaProgramada;   // ciclo del evento LLEGADA pendiente (-1 = ninguno)
+    private long migraciones;
+    private long tiempoEnSistemaTotal;  // suma de (fin - llegada) de los terminados
+    private int ultimoBalanceo;
+    private boolean preparado;
+
+    public MotorSimulacion(ConfiguracionSimulacion config, Planificador planificador) {
+        this(config, planificador, new ContextoSimulacion());
+    }
+
+    public MotorSimulacion(ConfiguracionSimulacion config, Planificador planificador,
+                           ContextoSimulacion contexto) {
+        this.config = config;
+        this.planificador = planificador;
+        this.contexto = contexto;
+        this.log = contexto.getLog();
+        this.politicaSwap = GestorMemoria.PoliticaSwap.LRU;
+        this.tipoAsignador = GestorMemoria.TipoAsignador.PRIMER_AJUSTE;
+        this.politicaReemplazo = MemoriaVirtual.PoliticaReemplazo.LRU;
+        this.nucleos = config.getNucleos();
+        this.balanceo = PoliticaBalanceo.PUSH_PULL;
+        this.retenerTerminados = true;
+        this.preparado = false;
+    }
+
+    /**
+     * Crea memoria, colas y procesos a partir de la configuración.
+     * Se llama automáticamente desde ejecutar() si no se hizo antes.
+     */
+    public void preparar() {
+        gestorMemoria = new GestorMemoria(config.getMemoriaTotal(), config.getMemoriaPorProceso(), tipoAsignador);
+        gestorMemoria.setPolitica(politicaSwap);
+        memoriaVirtual = config.usaPaginacion()
+                ? gestorMemoria.activarPaginacion(config.getMarcosMemoria(), config.getTamanoPagina(), politicaReemplazo)
+                : null;
+        // La cola de corto plazo de ColasMultinivel recibe a los que pasan a
+        // LISTO; desde ahí se reparten a la cola de cada núcleo
+        colas = new ColasMultinivel(gestorMemoria);
+        cpus = new CPU[nucleos];
+        colasNucleo = new ColaProcesos[nucleos];
+        planNucleo = new Planificador[nucleos];
+        for (int k = 0; k < nucleos; k++) {
+            cpus[k] = new CPU();
+            colasNucleo[k] = planificador.crearColaListos();
+            planNucleo[k] = (k > 0 && planificador instanceof MLFQ)
+                    ? new MLFQ((MLFQ) planificador) : planificador;
+        }
+        metricas = new Metricas();
+        metricas.setNucleos(nucleos);
+        colaTerminados = new ColaProcesos();
+        eventos = new ColaEventos();
+        ciclo = 0;
+        procesosAdmitidos = 0;
+        contexto.reiniciarIds();
+        procesosTerminados = 0;
+        tiempoEnSistemaTotal = 0;
+        eventosProcesados = 0;
+        migraciones = 0;
+        ultimoBalanceo = -INTERVALO_BALANCEO;
+
+        imprimir("\n✓ Sistema de memoria inicializado:");
+        imprimir("  " + gestorMemoria.getEstadisticas());
+        imprimir("  Capacidad máxima: " + gestorMemoria.getMaxProcesos() + " procesos en RAM\n");
+        if (nucleos > 1) {
+            imprimir("  CPU: " + nucleos + " núcleos, balanceo " + balanceo + "\n");
+        }
+        if (memoriaVirtual != null) {
+            imprimir("  Paginación: " + memoriaVirtual.getMarcos() + " marcos de " +
+                     memoriaVirtual.getTamanoPagina() + " KB, reemplazo " + memoriaVirtual.getPolitica() + "\n");
+        }
+        if (log != null) log.logSistema("Memoria inicializada: " + gestorMemoria.getMaxProcesos() + " procesos max");
+
+        imprimir("--- Admitiendo procesos al sistema ---");
+        for (ProcesoConfig pc : config.getProcesos()) {
+            if (pc != null) {
+                Proceso p = crearProceso(pc);
+
+                // Los que llegan más tarde entran al sistema con su evento de llegada
+                if (p.getTiempoLlegada() > 0) {
+                    colas.programarLlegada(p);
+                } else {
+                    admitir(p);
+                }
+                imprimir("✓ " + p.getPCB().getNombre() +
+                         " (" + (p.isCPUbound() ? "CPU-bound" : "I/O-bound") +
+                         ", " + p.getInstruccionesTotales() + " inst., " +
+                         gestorMemoria.getMemoriaRequerida(p) + " KB)");
+            }
+        }
+
+        pendienteFuente = null;
+        llegadaProgramada = -1;
+        if (fuente != null) {
+            fuente.reiniciar();
+            programarLlegadaFuente();
+        }
+        programarEventoLlegada();
+
+        imprimir("\nTotal admitidos: " + procesosAdmitidos);
+        imprimir(colas.getResumen() + "\n");
+        preparado = true;
+    }
+
+    /**
+     * Ejecuta la simulación completa y devuelve el resultado.
+     * El reloj salta de un evento al siguiente; entre eventos no hay trabajo.
+     */
+    public ResultadoSimulacion ejecutar() {
+        if (!preparado) preparar();
+
+        // Planificación de largo plazo inicial
+        int cargados = colas.planificarLargoPlazo(ciclo);
+        imprimir("[Ciclo " + ciclo + "] Planificador de largo plazo: " +
+                 cargados + " procesos cargados en memoria");
+        if (log != null) log.logLargoPlazo(ciclo, cargados, colas.getColaLargoPlazo().estaVacia() ? 0 : 1);
+
+        despachar();
+
+        while (!eventos.estaVacia()) {
+            int proximo = eventos.verProximo().getTiempo();
+            if (proximo > ciclo && !hayNucleoOcupado()) {
+                imprimir("[Ciclo " + ciclo + "] CPU inactiva hasta el ciclo " + proximo);
+                if (log != null) log.logCPUInactivaHasta(ciclo, proximo);
+            }
+            ciclo = proximo;
+
+            // Atender todos los eventos de este instante antes de despachar
+            while (!eventos.estaVacia() && eventos.verProximo().getTiempo() == ciclo) {
+                procesarEvento(eventos.extraer());
+                eventosProcesados++;
+            }
+
+            despachar();
+        }
+
+        preparado = false;
+        return new ResultadoSimulacion(planificador.getNombre(), ciclo, procesosAdmitidos,
+                procesosTerminados, eventosProcesados, metricas, colaTerminados,
+                colas, gestorMemoria.getEstadisticas(), memoriaVirtual,
+                nucleos, migraciones,
+                procesosTerminados > 0 ? (double) tiempoEnSistemaTotal / procesosTerminados : 0.0);
+    }
+
+    private void procesarEvento(Evento e) {
+        Proceso p = e.getProceso();
+        switch (e.getTipo()) {
+            case LLEGADA:
+                if (e.getTiempo() != llegadaProgramada) break; // reemplazado por uno anterior
+                llegadaProgramada = -1;
+                Proceso llegado;
+                while ((llegado = colas.admitirSiguienteLlegada(ciclo)) != null) {
+                    registrarAdmision(llegado);
+                    if (llegado == pendienteFuente) programarLlegadaFuente();
+                }
+                programarEventoLlegada();
+                break;
+            case FIN_ES:
+                p.completarES();
+                // Si lo suspendieron mientras esperaba, al reanudarse va directo a LISTO
+                if (colas.getColaBloqueados().contiene(p)) {
+                    colas.desbloquearProceso(p, ciclo);
+                    imprimir("[Ciclo " + ciclo + "] " + p.getPCB().getNombre() + " → DESBLOQUEADO");
+                    if (log != null) log.logDesbloqueo(ciclo, p);
+                }
+                break;
+            default:
+                terminarRafaga(e);
+                break;
+        }
+    }
+
+    /**
+     * Cierra la ráfaga en curso: aplica las instrucciones ejecutadas y
+     * decide el destino del proceso según el tipo de evento.
+     */
+    private void terminarRafaga(Evento e) {
+        Proceso proceso = e.getProceso();
+        int ejecutadas = e.getInstrucciones();
+
+        // Las direcciones que recorre el MAR durante la ráfaga pasan por la tabla de páginas
+        if (memoriaVirtual != null) {
+            memoriaVirtual.referenciarRafaga(proceso, proceso.getPCB().getMemoryAddressRegister(), ejecutadas);
+        }
+        int nucleo = proceso.getNucleo();
+        proceso.getPCB().avanzar(ejecutadas);
+        metricas.registrarEjecucion(proceso, ejecutadas, ciclo);
+        metricas.registrarEjecucionNucleo(nucleo, ejecutadas);
+        if (log != null) log.logEjecucion(ciclo, proceso, ejecutadas);
+
+        switch (e.getTipo()) {
+            case FINALIZACION:
+                finalizarProceso(proceso);
+                break;
+            case SOLICITUD_ES:
+                proceso.iniciarES();
+                colas.bloquearProceso(proceso, ciclo);
+                eventos.programar(new Evento(ciclo + proceso.getDuracionES(), Evento.Tipo.FIN_ES, proceso, 0));
+                imprimir("[Ciclo " + ciclo + "] " + proceso.getPCB().getNombre() + " → BLOQUEADO (E/S)");
+                if (log != null) log.logBloqueo(ciclo, proceso, "Solicitud de E/S");
+                break;
+            default: // FIN_QUANTUM
+                if (planificador instanceof MLFQ
+                        && proceso.getMlfqNivel() < ((MLFQ) planificador).getNivelesCount() - 1) {
+                    proceso.demoteMlfq();
+                }
+                // Vuelve por la cola general; repartirListos lo devuelve a su núcleo
+                proceso.getPCB().setEstado(EstadoProceso.LISTO, ciclo);
+                colas.getColaCortoPlazo().encolar(proceso);
+                imprimir("[Ciclo " + ciclo + "] Quantum agotado → cola");
+                if (log != null) log.logQuantumAgotado(ciclo, proceso, ejecutadas);
+                break;
+        }
+
+        cpus[nucleo].liberarCPU();
+    }
+
+    /**
+     * Si hay algún núcleo libre: planificación de largo y mediano plazo,
+     * swapping, reparto de los listos y despacho en cada núcleo libre.
+     */
+    private void despachar() {
+        if (!hayNucleoLibre()) return;
+
+        int nuevos = colas.planificarLargoPlazo(ciclo);
+        int reanudados = colas.planificarMedianoPlazo(ciclo);
+
+        if (nuevos > 0) {
+            imprimir("[Ciclo " + ciclo + "] Largo plazo: " + nuevos + " procesos cargados");
+            if (log != null) log.logLargoPlazo(ciclo, nuevos, 0);
+        }
+        if (reanudados > 0) {
+            imprimir("[Ciclo " + ciclo + "] Mediano plazo: " + reanudados + " procesos reanudados");
+            if (log != null) log.logMedianoPlazo(ciclo, reanudados);
+        }
+
+        // La víctima del swap sale de su cola (o de su nivel del MLFQ) al pasar a mediano plazo
+        gestionarSwap();
+
+        repartirListos();
+        if (balanceo == PoliticaBalanceo.PUSH_PULL && nucleos > 1 && ciclo - ultimoBalanceo >= INTERVALO_BALANCEO) {
+            balancearCarga();
+            ultimoBalanceo = ciclo;
+        }
+
+        for (int k = 0; k < nucleos; k++) {
+            if (!cpus[k].estaOcupada()) despacharNucleo(k);
+        }
+    }
+
+    /**
+     * Elige y carga el siguiente proceso del núcleo k con su ráfaga ya calculada.
+     */
+    private void despacharNucleo(int k) {
+        // Pull: un núcleo sin trabajo propio le quita uno al más cargado
+        if (cargaEnCola(k) == 0 && balanceo != PoliticaBalanceo.NINGUNO && nucleos > 1) {
+            robarTrabajo(k);
+        }
+
+        Planificador plan = planNucleo[k];
+        ColaProcesos cola = colasNucleo[k];
+        MLFQ mlfq = (plan instanceof MLFQ) ? (MLFQ) plan : null;
+        if (mlfq != null) {
+            mlfq.aging();
+        } else if (cola.estaVacia()) {
+            return;
+        }
+
+        // Incrementar espera para HRRN
+        if (plan instanceof HRRN) {
+            ColaProcesos.ColaTemporal aux = cola.crearIterador();
+            while (aux.tieneSiguiente()) {
+                aux.siguiente().incrementarEspera();
+            }
+            if (cola instanceof ColaPrioridadProcesos) {
+                ((ColaPrioridadProcesos) cola).marcarDesordenada();
+            }
+        }
+
+        Proceso siguiente = plan.seleccionarProceso(cola);
+        if (siguiente == null) return;
+
+        if (siguiente.getNucleo() >= 0 && siguiente.getNucleo() != k) migraciones++;
+        siguiente.setNucleo(k);
+        gestorMemoria.cargarProceso(siguiente, ciclo);
+        siguiente.getPCB().setEstado(EstadoProceso.EJECUCION, ciclo);
+        metricas.registrarInicio(siguiente, ciclo);
+        cpus[k].cargarProceso(siguiente);
+
+        String cpu = nucleos > 1 ? "CPU" + k : "CPU";
+        if (mlfq != null) {
+            imprimir("[Ciclo " + ciclo + "] " + cpu + " → " + siguiente.getPCB().getNombre() +
+                     " (Nivel " + siguiente.getMlfqNivel() + ")");
+            if (log != null) log.logSeleccion(ciclo, "MLFQ-Nivel" + siguiente.getMlfqNivel(), siguiente);
+        } else {
+            imprimir("[Ciclo " + ciclo + "] " + cpu + " → " + siguiente.getPCB().getNombre());
+            if (log != null) log.logSeleccion(ciclo, planificador.getNombre(), siguiente);
+        }
+
+        programarRafaga(siguiente);
+    }
+
+    // ==================== NÚCLEOS ====================
+
+    /**
+     * Pasa los procesos recién listos a la cola de un núcleo: el fijado por
+     * afinidad, si no el último donde ejecutó, y si es nuevo el menos cargado.
+     */
+    private void repartirListos() {
+        ColaProcesos listos = colas.getColaCortoPlazo();
+        while (!listos.estaVacia()) {
+            Proceso p = listos.desencolar();
+            int k;
+            if (p.getAfinidad() >= 0) {
+                k = p.getAfinidad();
+            } else if (p.getNucleo() >= 0) {
+                k = p.getNucleo();
+            } else {
+                k = nucleoMenosCargado();
+            }
+            encolarEnNucleo(k, p);
+        }
+    }
+
+    /** Push: mueve procesos del núcleo más cargado al menos cargado hasta emparejar. */
+    private void balancearCarga() {
+        for (int intento = 0; intento < nucleos; intento++) {
+            int max = 0;
+            int min = 0;
+            for (int k = 1; k < nucleos; k++) {
+                if (carga(k) > carga(max)) max = k;
+                if (carga(k) < carga(min)) min = k;
+            }
+            if (carga(max) - carga(min) <= 1) return;
+            Proceso p = extraerMigrable(max, min);
+            if (p == null) return;
+            encolarEnNucleo(min, p);
+        }
+    }
+
+    /** Pull: el núcleo k toma un proceso de la cola más larga. */
+    private void robarTrabajo(int k) {
+        int origen = -1;
+        for (int j = 0; j < nucleos; j++) {
+            if (j != k && cargaEnCola(j) > 0 && (origen < 0 || cargaEnCola(j) > cargaEnCola(origen))) {
+                origen = j;
+            }
+        }
+        if (origen < 0) return;
+        Proceso p = extraerMigrable(origen, k);
+        if (p != null) encolarEnNucleo(k, p);
+    }
+
+    /**
+     * Saca de la cola del núcleo 'origen' un proceso que pueda ir a
+     * 'destino': el primero de la cola (o el del tope del montículo) si no
+     * está fijado a otro núcleo; ver ColaProcesos.extraerParaNucleo.
+     */
+    private Proceso extraerMigrable(int origen, int destino) {
+        if (planNucleo[origen] instanceof MLFQ) {
+            MLFQ mlfq = (MLFQ) planNucleo[origen];
+            for (int nivel = 0; nivel < mlfq.getNivelesCount(); nivel++) {
+                Proceso p = mlfq.getCola(nivel).extraerParaNucleo(destino);
+                if (p != null) return p;
+            }
+            return null;
+        }
+        return colasNucleo[origen].extraerParaNucleo(destino);
+    }
+
+    private void encolarEnNucleo(int k, Proceso p) {
+        if (planNucleo[k] instanceof MLFQ) {
+            ((MLFQ) planNucleo[k]).encolarProceso(p);
+        } else {
+            colasNucleo[k].encolar(p);
+        }
+    }
+
+    private int cargaEnCola(int k) {
+        return planNucleo[k] instanceof MLFQ ? ((MLFQ) planNucleo[k]).tamano() : colasNucleo[k].tamano();
+    }
+
+    /** Procesos esperando en el núcleo más el que ejecuta. */
+    private int carga(int k) {
+        return cargaEnCola(k) + (cpus[k].estaOcupada() ? 1 : 0);
+    }
+
+    private int nucleoMenosCargado() {
+        int mejor = 0;
+        for (int k = 1; k < nucleos; k++) {
+            if (carga(k) < carga(mejor)) mejor = k;
+        }
+        return mejor;
+    }
+
+    private boolean hayNucleoLibre() {
+        for (int k = 0; k < nucleos; k++) {
+            if (!cpus[k].estaOcupada()) return true;
+        }
+        return false;
+    }
+
+    private boolean hayNucleoOcupado() {
+        for (int k = 0; k < nucleos; k++) {
+            if (cpus[k].estaOcupada()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Calcula de una vez cuántas instrucciones ejecuta el proceso antes de
+     * detenerse (fin de quantum, pedido de E/S o fin del proceso) y programa
+     * un único evento para ese instante.
+     */
+    private void programarRafaga(Proceso p) {
+        int pc = p.getPCB().getProgramCounter();
+        int restantes = Math.max(0, p.getInstruccionesTotales() - pc);
+        int rafaga = restantes;
+        Evento.Tipo tipo = Evento.Tipo.FINALIZACION;
+
+        // Un proceso I/O-bound pide E/S cada ciclosAtencion instrucciones,
+        // salvo en su última instrucción
+        if (!p.isCPUbound() && p.getCiclosAtencion() > 0) {
+            int hastaES = p.getCiclosAtencion() - pc % p.getCiclosAtencion();
+            if (hastaES < rafaga) {
+                rafaga = hastaES;
+                tipo = Evento.Tipo.SOLICITUD_ES;
+            }
+        }
+
+        int quantum = getQuantum(p);
+        if (quantum < rafaga) {
+            rafaga = quantum;
+            tipo = Evento.Tipo.FIN_QUANTUM;
+        }
+
+        eventos.programar(new Evento(ciclo + rafaga, tipo, p, rafaga));
+    }
+
+    /** Quantum del proceso según la política; sin límite si no es expropiativa. */
+    private int getQuantum(Proceso p) {
+        if (planificador instanceof RoundRobin) {
+            return ((RoundRobin) planificador).getQuantum();
+        }
+        if (planificador instanceof MLFQ) {
+            return ((MLFQ) planificador).getQuantumParaNivel(p.getMlfqNivel());
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private Proceso crearProceso(ProcesoConfig pc) {
+        Proceso p = contexto.crearProceso(
+            pc.getNombre(),
+            pc.getInstrucciones(),
+            pc.isEsCPUbound(),
+            pc.getCiclosExcepcion(),
+            pc.getCiclosAtencion(),
+            pc.getPrioridad()
+        );
+        p.setMemoriaRequerida(pc.getMemoriaRequerida());
+        p.setTiempoLlegada(pc.getTiempoLlegada());
+        if (pc.getAfinidad() >= 0 && pc.getAfinidad() < nucleos) p.setAfinidad(pc.getAfinidad());
+        return p;
+    }
+
+    /** Pide el próximo proceso a la fuente y programa su llegada. */
+    private void programarLlegadaFuente() {
+        ProcesoConfig pc = fuente.siguiente();
+        if (pc == null) {
+            pendienteFuente = null;
+            return;
+        }
+        pendienteFuente = crearProceso(pc);
+        // Una fuente desordenada no puede hacer retroceder el reloj
+        pendienteFuente.setTiempoLlegada(Math.max(ciclo, pc.getTiempoLlegada()));
+        colas.programarLlegada(pendienteFuente);
+    }
+
+    /** Un solo evento LLEGADA pendiente, en el ciclo de la próxima llegada. */
+    private void programarEventoLlegada() {
+        int proxima = colas.getProximaLlegada();
+        if (proxima >= 0 && (llegadaProgramada < 0 || proxima < llegadaProgramada)) {
+            eventos.programar(new Evento(proxima, Evento.Tipo.LLEGADA, null, 0));
+            llegadaProgramada = proxima;
+        }
+    }
+
+    private void admitir(Proceso p) {
+        colas.admitirProceso(p, ciclo);
+        registrarAdmision(p);
+    }
+
+    private void registrarAdmision(Proceso p) {
+        metricas.registrarLlegada(p, ciclo);
+        if (log != null) log.logAdmision(ciclo, p);
+        procesosAdmitidos++;
+    }
+
+    private void finalizarProceso(Proceso proceso) {
+        proceso.getPCB().setEstado(EstadoProceso.TERMINADO, ciclo);
+        metricas.registrarFinalizacion(proceso, ciclo);
+        gestorMemoria.liberarProceso(proceso);
+        if (retenerTerminados) colaTerminados.encolar(proceso);
+        procesosTerminados++;
+        tiempoEnSistemaTotal += ciclo - proceso.getTiempoLlegada();
+        imprimir("[Ciclo " + ciclo + "] " + proceso.getPCB().getNombre() + " → TERMINADO");
+        if (log != null) log.logFinalizacion(ciclo, proceso);
+    }
+
+    /**
+     * Si el próximo proceso nuevo no entra en memoria, suspende víctimas hasta
+     * que entre y lo carga enseguida (si no, los suspendidos recuperarían el
+     * lugar antes que él). No se hace si no entraría ni con la memoria vacía.
+     */
+    private void gestionarSwap() {
+        Proceso nuevo = colas.getColaLargoPlazo().verPrimero();
+        if (nuevo == null || !gestorMemoria.cabeEnMemoria(nuevo)) return;
+
+        boolean libero = false;
+        while (!gestorMemoria.hayEspacioPara(nuevo)) {
+            Proceso victima = colas.realizarSwap(ciclo);
+            if (victima == null) break;
+            libero = true;
+            imprimir("[Ciclo " + ciclo + "] SWAP: " + victima.getPCB().getNombre() +
+                     " → SUSPENDIDO (política: " + gestorMemoria.getPolitica() + ")");
+            if (log != null) log.logSwap(ciclo, victima, gestorMemoria.getPolitica().toString(), false);
+        }
+        if (libero) {
+            int nuevos = colas.planificarLargoPlazo(ciclo);
+            if (nuevos > 0) {
+                imprimir("[Ciclo " + ciclo + "] Largo plazo: " + nuevos + " procesos cargados");
+                if (log != null) log.logLargoPlazo(ciclo, nuevos, 0);
+            }
+        }
+    }
+
+    private void imprimir(String linea) {
+        if (salida != null) salida.println(linea);
+    }
+
+    // Getters y setters
+
+    public void setSalida(PrintStream salida) {
+        this.salida = salida;
+    }
+
+    public void setLog(LogEventos log) {
+        this.log = log;
+        contexto.setLog(log);
+    }
+
+    public ContextoSimulacion getContexto() {
+        return contexto;
+    }
+
+    /** Procesos que llegan durante la corrida, además de los de la configuración. */
+    public void setFuente(FuenteProcesos fuente) {
+        this.fuente = fuente;
+    }
+
+    /**
+     * Si es false los procesos terminados no se guardan en el resultado
+     * (para cargas muy grandes; las métricas se registran igual).
+     */
+    public void setRetenerTerminados(boolean retener) {
+        this.retenerTerminados = retener;
+    }
+
+    public void setPoliticaSwap(GestorMemoria.PoliticaSwap politicaSwap) {
+        this.politicaSwap = politicaSwap;
+        if (gestorMemoria != null) gestorMemoria.setPolitica(politicaSwap);
+    }
+
+    public void setTipoAsignador(GestorMemoria.TipoAsignador tipoAsignador) {
+        this.tipoAsignador = tipoAsignador;
+    }
+
+    public void setPoliticaReemplazo(MemoriaVirtual.PoliticaReemplazo politicaReemplazo) {
+        this.politicaReemplazo = politicaReemplazo;
+    }
+
+    /** Cantidad de núcleos (por defecto el de la configuración). Se aplica en preparar(). */
+    public void setNucleos(int nucleos) {
+        this.nucleos = Math.max(1, nucleos);
+    }
+
+    public int getNucleos() {
+        return nucleos;
+    }
+
+    public void setBalanceo(PoliticaBalanceo balanceo) {
+        this.balanceo = balanceo;
+    }
+
+    public Planificador getPlanificador() {
+        return planificador;
+    }
+
+    public GestorMemoria getGestorMemoria() {
+        return gestorMemoria;
+    }
+
+    public ColasMultinivel getColas() {
+        return colas;
+    }
+}
@@ -0,0 +1,92 @@
+package so_simulador.simulacion;
+
+import so_simulador.memoria.ColasMultinivel;
+import so_simulador.memoria.MemoriaVirtual;
+import so_simulador.modelo.ColaProcesos;
+import so_simulador.util.Metricas;
+
+/**
+ * Resultado de una ejecución de MotorSimulacion.
+ * Solo lectura: el motor lo construye al terminar.
+ */
+public class ResultadoSimulacion {
+    private final String algoritmo;
+    private final int ciclosTotales;
+    private final int procesosAdmitidos;
+    private final int procesosTerminados;
+    private final long eventosProcesados;
+    private final Metricas metricas;
+    private final ColaProcesos terminados;
+    private final String resumenColas;
+    private final String estadisticasMemoria;
+    private final String estadisticasPaginacion; // null = sin paginación
+    private final double tasaFallosPagina;
+    private final double tiempoAccesoEfectivo;   // ns
+    private final int nucleos;
+    private final long migraciones;
+    private final String estadisticasAdmision;
+    private final double esperaAdmisionPromedio;
+    private final int esperaAdmisionMaxima;
+    private final double tiempoEnSistemaPromedio;
+
+    ResultadoSimulacion(String algoritmo, int ciclosTotales, int procesosAdmitidos,
+                        int procesosTerminados, long eventosProcesados, Metricas metricas, ColaProcesos terminados,
+                        ColasMultinivel colas, String estadisticasMemoria, MemoriaVirtual memoriaVirtual,
+                        int nucleos, long migraciones, double tiempoEnSistemaPromedio) {
+        this.algoritmo = algoritmo;
+        this.ciclosTotales = ciclosTotales;
+        this.procesosAdmitidos = procesosAdmitidos;
+        this.procesosTerminados = procesosTerminados;
+        this.eventosProcesados = eventosProcesados;
+        this.metricas = metricas;
+        this.terminados = terminados;
+        this.resumenColas = colas.getResumen();
+        this.estadisticasMemoria = estadisticasMemoria;
+        this.estadisticasPaginacion = memoriaVirtual != null ? memoriaVirtual.getEstadisticas() : null;
+        this.tasaFallosPagina = memoriaVirtual != null ? memoriaVirtual.getTasaFallos() : 0.0;
+        this.tiempoAccesoEfectivo = memoriaVirtual != null ? memoriaVirtual.getTiempoAccesoEfectivo() : 0.0;
+        this.nucleos = nucleos;
+        this.migraciones = migraciones;
+        this.estadisticasAdmision = colas.getEstadisticasAdmision();
+        this.esperaAdmisionPromedio = colas.getEsperaAdmisionPromedio();
+        this.esperaAdmisionMaxima = colas.getEsperaAdmisionMaxima();
+        this.tiempoEnSistemaPromedio = tiempoEnSistemaPromedio;
+    }
+
+    public String getAlgoritmo() { return algoritmo; }
+    public int getCiclosTotales() { return ciclosTotales; }
+    public int getProcesosAdmitidos() { return procesosAdmitidos; }
+    public int getProcesosTerminados() { return procesosTerminados; }
+    public long getEventosProcesados() { return eventosProcesados; }
+    public Metricas getMetricas() { return metricas; }
+    public ColaProcesos getTerminados() { return terminados; }
+    public String getResumenColas() { return resumenColas; }
+    public String getEstadisticasMemoria() { return estadisticasMemoria; }
+    public String getEstadisticasPaginacion() { return estadisticasPaginacion; }
+    public double getTasaFallosPagina() { return tasaFallosPagina; }
+    public double getTiempoAccesoEfectivo() { return tiempoAccesoEfectivo; }
+    public int getNucleos() { return nucleos; }
+    /** Despachos en un núcleo distinto del anterior del proceso. */
+    public long getMigraciones() { return migraciones; }
+    public String getEstadisticasAdmision() { return estadisticasAdmision; }
+    /** Ciclos entre la llegada de un proceso y su carga en memoria. */
+    public double getEsperaAdmisionPromedio() { return esperaAdmisionPromedio; }
+    public int getEsperaAdmisionMaxima() { return esperaAdmisionMaxima; }
+    /** Ciclos desde la llegada hasta terminar, sobre todos los terminados. */
+    public double getTiempoEnSistemaPromedio() { return tiempoEnSistemaPromedio; }
+
+    /** Todos los procesos admitidos llegaron a TERMINADO. */
+    public boolean estaCompleta() {
+        return procesosTerminados == procesosAdmitidos;
+    }
+
+    @Override
+    public String toString() {
+        String texto = String.format("%s: %d/%d procesos en %d ciclos (%d eventos)",
+                algoritmo, procesosTerminados, procesosAdmitidos, ciclosTotales, eventosProcesados);
+        if (nucleos > 1) {
+            texto += String.format(" [%d núcleos, %d migraciones]", nucleos, migraciones);
+        }
+        return texto;
+    }
+}
@@ -0,0 +1,252 @@
+package so_simulador.simulacion;
+
+import so_simulador.config.*;
+import so_simulador.memoria.GestorMemoria;
+import so_simulador.memoria.MemoriaVirtual;
+import so_simulador.modelo.ColaProcesos;
+import so_simulador.modelo.EstadoProceso;
+import so_simulador.modelo.Proceso;
+import so_simulador.planificador.*;
+import so_simulador.util.Metricas;
+
+/**
+ * Test del motor de simulación sin consola
+ */
+public class TestMotorSimulacion {
+    public static void main(String[] args) {
+        System.out.println("=== TEST DEL MOTOR DE SIMULACIÓN ===\n");
+
+        ConfiguracionSimulacion config = new ConfiguracionSimulacion();
+        config.setMemoriaTotal(512);
+        config.setMemoriaPorProceso(128);
+        config.agregarProceso(new ProcesoConfig("Proceso A", 10, false, 0, 3, 3, 128));
+        config.agregarProceso(new ProcesoConfig("Proceso B", 7, true, 0, 0, 1, 128));
+        config.agregarProceso(new ProcesoConfig("Proceso C", 8, false, 0, 4, 2, 128));
+        config.agregarProceso(new ProcesoConfig("Proceso D", 5, true, 0, 0, 4, 128));
+        config.agregarProceso(new ProcesoConfig("Proceso E", 12, false, 0, 3, 5, 128));
+        config.agregarProceso(new ProcesoConfig("Proceso F", 9, true, 0, 0, 2, 128));
+
+        // 1. Una ejecución por algoritmo
+        System.out.println("--- Una ejecución por algoritmo ---");
+        for (Planificador p : crearPlanificadores()) {
+            ResultadoSimulacion r = new MotorSimulacion(config, p).ejecutar();
+            System.out.println((r.estaCompleta() ? "✓ " : "✗ ") + r +
+                    String.format(" | turnaround prom: %.2f", r.getMetricas().getPromedioTurnaround()));
+        }
+
+        // 2. Muchas ejecuciones seguidas para medir el costo sin consola
+        int repeticiones = 1000;
+        System.out.println("\n--- " + repeticiones + " ejecuciones por algoritmo ---");
+        long inicio = System.nanoTime();
+        int incompletas = 0;
+        for (int i = 0; i < repeticiones; i++) {
+            for (Planificador p : crearPlanificadores()) {
+                if (!new MotorSimulacion(config, p).ejecutar().estaCompleta()) incompletas++;
+            }
+        }
+        double ms = (System.nanoTime() - inicio) / 1_000_000.0;
+        System.out.println(String.format("✓ %d simulaciones en %.1f ms (%d incompletas)",
+                repeticiones * 6, ms, incompletas));
+
+        // 3. Mismo lote con tamaños variables bajo cada asignador
+        ConfiguracionSimulacion variable = new ConfiguracionSimulacion();
+        variable.setMemoriaTotal(1024);
+        variable.setMemoriaPorProceso(128);
+        int[] tamanos = {96, 300, 64, 200, 130, 512, 70, 250, 180, 40, 400, 100};
+        for (int i = 0; i < tamanos.length; i++) {
+            variable.agregarProceso(new ProcesoConfig("V" + i, 6 + i % 5, i % 3 != 0, 0, 3, i % 4, tamanos[i]));
+        }
+        System.out.println("\n--- Asignadores con tamaños variables (RR q=2) ---");
+        for (GestorMemoria.TipoAsignador tipo : GestorMemoria.TipoAsignador.values()) {
+            MotorSimulacion motor = new MotorSimulacion(variable, new RoundRobin(2));
+            motor.setTipoAsignador(tipo);
+            ResultadoSimulacion r = motor.ejecutar();
+            System.out.println((r.estaCompleta() ? "✓ " : "✗ ") + tipo + ": " + r +
+                    String.format(" | throughput: %.3f", r.getMetricas().getThroughput()));
+        }
+
+        // 4. Paginación: procesos chicos y largos (el MAR recorre su espacio
+        //    varias veces) con pocos marcos para forzar reemplazos
+        ConfiguracionSimulacion paginada = new ConfiguracionSimulacion();
+        paginada.setMemoriaTotal(1024);
+        paginada.setMemoriaPorProceso(128);
+        paginada.setTamanoPagina(2);
+        paginada.setMarcosMemoria(10);
+        for (int i = 0; i < 6; i++) {
+            paginada.agregarProceso(new ProcesoConfig("P" + i, 40 + 5 * i, i % 2 == 0, 0, 7, i, 8 + 2 * i));
+        }
+        System.out.println("\n--- Paginación, 10 marcos de 2 KB (RR q=3) ---");
+        for (MemoriaVirtual.PoliticaReemplazo politica : MemoriaVirtual.PoliticaReemplazo.values()) {
+            MotorSimulacion motor = new MotorSimulacion(paginada, new RoundRobin(3));
+            motor.setPoliticaReemplazo(politica);
+            ResultadoSimulacion r = motor.ejecutar();
+            System.out.println((r.estaCompleta() ? "✓ " : "✗ ") + r.getEstadisticasPaginacion());
+        }
+
+        // 5. Escalado de 1 a 64 núcleos con el mismo lote
+        ConfiguracionSimulacion multi = new ConfiguracionSimulacion();
+        multi.setMemoriaTotal(96 * 64);
+        multi.setMemoriaPorProceso(64);
+        for (int i = 0; i < 96; i++) {
+            multi.agregarProceso(new ProcesoConfig("M" + i, 20 + (i * 37) % 80, i % 3 != 0, 0, 5 + i % 4, i % 5, 64));
+        }
+        System.out.println("\n--- Escalado por núcleos, 96 procesos (RR q=4) ---");
+        int base = 0;
+        for (int n = 1; n <= 64; n *= 2) {
+            MotorSimulacion motor = new MotorSimulacion(multi, new RoundRobin(4));
+            motor.setNucleos(n);
+            ResultadoSimulacion r = motor.ejecutar();
+            if (n == 1) base = r.getCiclosTotales();
+            System.out.println((r.estaCompleta() ? "✓ " : "✗ ") + String.format(
+                    "%2d núcleos: %5d ciclos | speedup %5.2f | utilización %.2f | migraciones %d",
+                    n, r.getCiclosTotales(), (double) base / r.getCiclosTotales(),
+                    r.getMetricas().getUtilizacionPromedio(), r.getMigraciones()));
+        }
+
+        System.out.println("\n--- Balanceo con 8 núcleos (MLFQ) ---");
+        for (MotorSimulacion.PoliticaBalanceo balanceo : MotorSimulacion.PoliticaBalanceo.values()) {
+            MotorSimulacion motor = new MotorSimulacion(multi, new MLFQ(3, new int[] {1, 2, 4}, 5));
+            motor.setNucleos(8);
+            motor.setBalanceo(balanceo);
+            ResultadoSimulacion r = motor.ejecutar();
+            System.out.println((r.estaCompleta() ? "✓ " : "✗ ") + balanceo + ": " + r +
+                    String.format(" | utilización %.2f", r.getMetricas().getUtilizacionPromedio()));
+        }
+
+        // 6. Barrido de parámetros en paralelo: debe dar lo mismo que en un solo hilo
+        BarridoParametros barrido = new BarridoParametros(variable);
+        barrido.setQuantums(1, 2, 4, 8);
+        barrido.setMemorias(640, 1024, 1536);
+        barrido.setPoliticasSwap(GestorMemoria.PoliticaSwap.values());
+        BarridoParametros.Fila[] paralelas = barrido.ejecutar();
+        long nsParalelo = barrido.getDuracionNs();
+        String tabla = barrido.getTabla();
+        barrido.setParalelismo(1);
+        barrido.ejecutar();
+        boolean iguales = tabla.equals(barrido.getTabla());
+        System.out.println("\n--- Barrido: " + paralelas.length + " combinaciones ---");
+        System.out.print(tabla);
+        BarridoParametros.Fila mejor = barrido.getMejorTurnaround();
+        System.out.println("Mejor turnaround: " + mejor.getAlgoritmo() +
+                (mejor.getQuantum() > 0 ? " q=" + mejor.getQuantum() : "") +
+                ", " + mejor.getMemoriaTotal() + " KB, " + mejor.getPoliticaSwap());
+        System.out.println(String.format("%s Paralelo %.1f ms, un hilo %.1f ms, resultados %s",
+                iguales ? "✓" : "✗", nsParalelo / 1e6, barrido.getDuracionNs() / 1e6,
+                iguales ? "idénticos" : "DISTINTOS"));
+        for (BarridoParametros.Algoritmo alg : new BarridoParametros.Algoritmo[] {
+                BarridoParametros.Algoritmo.FCFS, BarridoParametros.Algoritmo.ROUND_ROBIN}) {
+            System.out.println(String.format("  Turnaround %-11s %s", alg,
+                    barrido.getHistograma(Metricas.Latencia.TURNAROUND, alg)));
+        }
+
+        // 7. Carga sintética: los procesos llegan de a uno desde el generador
+        ConfiguracionSimulacion abierta = new ConfiguracionSimulacion();
+        abierta.setMemoriaTotal(64 * 64);
+        abierta.setMemoriaPorProceso(64);
+        int trabajos = 100_000;
+        System.out.println("\n--- Carga sintética: " + trabajos + " procesos, 4 núcleos ---");
+        for (GeneradorCargas.Distribucion dist : GeneradorCargas.Distribucion.values()) {
+            for (Planificador p : new Planificador[] {new FCFS(), new RoundRobin(4), new MLFQ(3, new int[] {2, 4, 8}, 20)}) {
+                GeneradorCargas generador = new GeneradorCargas(42, trabajos);
+                generador.setTasaLlegada(0.15);
+                generador.setDistribucion(dist, 20, 1.5);
+                generador.setProporcionCPUbound(0.6);
+                MotorSimulacion motor = new MotorSimulacion(abierta, p);
+                motor.setNucleos(4);
+                motor.setFuente(generador);
+                motor.setRetenerTerminados(false);
+                long t0 = System.nanoTime();
+                ResultadoSimulacion r = motor.ejecutar();
+                System.out.println((r.estaCompleta() ? "✓ " : "✗ ") + dist + " " + r + String.format(
+                        " | %.0f ms | utilización %.2f", (System.nanoTime() - t0) / 1e6,
+                        r.getMetricas().getUtilizacionPromedio()));
+                System.out.println(String.format("    %d procesos en métricas | Jain %.3f",
+                        r.getMetricas().getTotalProcesos(), r.getMetricas().getIndiceEquidad()));
+                System.out.println("    respuesta  " + r.getMetricas().getHistograma(Metricas.Latencia.RESPUESTA));
+                System.out.println("    turnaround " + r.getMetricas().getHistograma(Metricas.Latencia.TURNAROUND));
+            }
+        }
+        GeneradorCargas a = new GeneradorCargas(7, 1000);
+        GeneradorCargas b = new GeneradorCargas(7, 1000);
+        boolean misma = true;
+        for (ProcesoConfig x = a.siguiente(), y = b.siguiente(); x != null; x = a.siguiente(), y = b.siguiente()) {
+            misma &= x.getTiempoLlegada() == y.getTiempoLlegada() && x.getInstrucciones() == y.getInstrucciones();
+        }
+        System.out.println((misma ? "✓" : "✗") + " Misma semilla, misma carga");
+
+        // 8. Sistema abierto: la espera de admisión crece al acercarse a la saturación
+        ConfiguracionSimulacion limitada = new ConfiguracionSimulacion();
+        limitada.setMemoriaTotal(8 * 64);
+        limitada.setMemoriaPorProceso(64);
+        System.out.println("\n--- Llegadas continuas: 20000 procesos, 2 núcleos, 8 en memoria ---");
+        for (double tasa : new double[] {0.02, 0.05, 0.08, 0.095, 0.11}) {
+            GeneradorCargas generador = new GeneradorCargas(11, 20_000);
+            generador.setTasaLlegada(tasa);
+            generador.setDistribucion(GeneradorCargas.Distribucion.EXPONENCIAL, 20, 1.5);
+            generador.setProporcionCPUbound(1);
+            MotorSimulacion motor = new MotorSimulacion(limitada, new RoundRobin(4));
+            motor.setNucleos(2);
+            motor.setFuente(generador);
+            motor.setRetenerTerminados(false);
+            ResultadoSimulacion r = motor.ejecutar();
+            System.out.println((r.estaCompleta() ? "✓ " : "✗ ") + String.format(
+                    "λ=%.3f (carga %.2f): admisión %5.1f prom, %3d máx | en sistema %9.1f prom",
+                    tasa, tasa * 20 / 2, r.getEsperaAdmisionPromedio(), r.getEsperaAdmisionMaxima(),
+                    r.getTiempoEnSistemaPromedio()));
+        }
+
+        // Procesos de la configuración con ciclo de llegada
+        ConfiguracionSimulacion tardia = new ConfiguracionSimulacion();
+        ProcesoConfig temprano = new ProcesoConfig("Temprano", 5, true, 0, 0, 1, 128);
+        ProcesoConfig tarde = new ProcesoConfig("Tarde", 5, true, 0, 0, 1, 128);
+        tarde.setTiempoLlegada(50);
+        tardia.agregarProceso(temprano);
+        tardia.agregarProceso(tarde);
+        ResultadoSimulacion rt = new MotorSimulacion(tardia, new FCFS()).ejecutar();
+        boolean espero = rt.estaCompleta() && rt.getCiclosTotales() >= 55 && rt.getEsperaAdmisionMaxima() == 0;
+        System.out.println((espero ? "✓" : "✗") + " Proceso con llegada en el ciclo 50 termina en el ciclo "
+                + rt.getCiclosTotales());
+
+        // 9. Tiempo por estado: LISTO + EJECUCION + BLOQUEADO + SUSPENDIDO + NUEVO = turnaround
+        ConfiguracionSimulacion chica = new ConfiguracionSimulacion();
+        chica.setMemoriaTotal(640);
+        chica.setMemoriaPorProceso(128);
+        for (int i = 0; i < tamanos.length; i++) {
+            chica.agregarProceso(new ProcesoConfig("V" + i, 6 + i % 5, i % 3 != 0, 0, 3, i % 4, tamanos[i]));
+        }
+        System.out.println("\n--- Espera en la cola de listos (640 KB, con swapping) ---");
+        for (Planificador p : crearPlanificadores()) {
+            ResultadoSimulacion r = new MotorSimulacion(chica, p).ejecutar();
+            long sumaEstados = 0, sumaEjecucion = 0, sumaInstrucciones = 0;
+            int n = 0;
+            ColaProcesos.ColaTemporal it = r.getTerminados().crearIterador();
+            while (it.tieneSiguiente()) {
+                Proceso x = it.siguiente();
+                for (EstadoProceso estado : EstadoProceso.values()) sumaEstados += x.getPCB().getCiclosEn(estado);
+                sumaEjecucion += x.getPCB().getCiclosEn(EstadoProceso.EJECUCION);
+                sumaInstrucciones += x.getInstruccionesTotales();
+                n++;
+            }
+            Metricas m = r.getMetricas();
+            boolean cuadra = Math.abs((double) sumaEstados / n - m.getPromedioTurnaround()) < 1e-9
+                    && sumaEjecucion == sumaInstrucciones;
+            System.out.println(((cuadra && r.estaCompleta()) ? "✓ " : "✗ ") + String.format(
+                    "%-40s espera %6.2f | respuesta %6.2f | bloqueado %5.2f | suspendido %6.2f | turnaround %6.2f",
+                    p.getNombre(), m.getPromedioEspera(), m.getPromedioRespuesta(), m.getPromedioBloqueado(),
+                    m.getPromedioSuspendido(), m.getPromedioTurnaround()));
+        }
+
+        System.out.println("\n=== TEST COMPLETADO ===");
+    }
+
+    private static Planificador[] crearPlanificadores() {
+        return new Planificador[] {
+            new FCFS(),
+            new SJF(),
+            new RoundRobin(2),
+            new Prioridades(),
+            new HRRN(),
+            new MLFQ(3, new int[] {1, 2, 4}, 5)
+        };
+    }
+}
@@ -4,73 +4,59 @@ import so_simulador.modelo.Proceso;
 
 /**
  * Gestor simple de E/S (sin usar colecciones dinámicas).
- * Mantiene una tabla con entradas (proceso + ticks restantes).
+ * Los procesos bloqueados se guardan en una rueda de temporizadores según
+ * el tick en que termina su E/S, así que cada tick solo toca a los que
+ * despiertan y no hay límite fijo de bloqueados.
  */
 public class GestorES {
-    private static final int MAX = 128;
-    private static GestorES instancia = null;
-
-    private final Proceso[] procesos;
-    private final int[] ticks;
-    private int total;
-
-    private GestorES() {
-        procesos = new Proceso[MAX];
-        ticks = new int[MAX];
-        total = 0;
-    }
-
-    public static synchronized GestorES getInstance() {
-        if (instancia == null) instancia = new GestorES();
-        return instancia;
+    private final RuedaTemporizadores<Proceso> rueda;
+    private Proceso[] despiertan; // vencidos del tick actual
+    private int totalDespiertan;
+
+    /** Uno por simulación (lo crea ContextoSimulacion). */
+    public GestorES() {
+        rueda = new RuedaTemporizadores<>();
+        despiertan = new Proceso[16];
+        totalDespiertan = 0;
     }
 
     /**
      * Registra un proceso bloqueado por E/S para ser despertado afterTicks ticks.
-     * Si la tabla está llena devuelve false.
      */
-    public synchronized boolean registrarBloqueado(Proceso p, int afterTicks) {
-        if (total >= MAX) return false;
-        procesos[total] = p;
-        ticks[total] = afterTicks;
-        total++;
-        return true;
+    public synchronized void registrarBloqueado(Proceso p, int afterTicks) {
+        rueda.programarEn(p, afterTicks);
     }
 
     /**
-     * Avanza un tick: decrementa contadores y despierta los procesos cuyo contador llega a 0.
-     * Se asume que cuando se despierta, el propio proceso llamará a reanudar() o será notificado.
+     * Avanza un tick y despierta los procesos cuya E/S termina en él.
+     * El aviso se da fuera del lock del gestor para no retener a los que
+     * se están registrando mientras se despierta a muchos.
      */
-    public synchronized void tick() {
-        for (int i = 0; i < total; i++) {
-            ticks[i]--;
+    public void tick() {
+        Proceso[] vencidos;
+        int cantidad;
+        synchronized (this) {
+            totalDespiertan = 0;
+            rueda.avanzar(this::agregarDespierta);
+            vencidos = despiertan;
+            cantidad = totalDespiertan;
+            if (cantidad > 0) despiertan = new Proceso[despiertan.length];
         }
-
-        // Barrido para despertar procesos donde ticks <= 0
-        int write = 0;
-        for (int read = 0; read < total; read++) {
-            if (ticks[read] <= 0) {
-                Proceso p = procesos[read];
-                if (p != null) {
-                    p.reanudarPorES(); // despierta el proceso que estaba en wait()
-                }
-                // omitimos la entrada (no la copiamos)
-            } else {
-                // compactar la entrada si no despierta
-                procesos[write] = procesos[read];
-                ticks[write] = ticks[read];
-                write++;
-            }
+        for (int i = 0; i < cantidad; i++) {
+            vencidos[i].reanudarPorES(); // despierta el proceso estacionado
         }
-        // limpiar referencias sobrantes
-        for (int k = write; k < total; k++) {
-            procesos[k] = null;
-            ticks[k] = 0;
+    }
+
+    private void agregarDespierta(Proceso p) {
+        if (totalDespiertan == despiertan.length) {
+            Proceso[] nuevo = new Proceso[despiertan.length * 2];
+            System.arraycopy(despiertan, 0, nuevo, 0, totalDespiertan);
+            despiertan = nuevo;
         }
-        total = write;
+        despiertan[totalDespiertan++] = p;
     }
 
     public synchronized int getTotalBloqueados() {
-        return total;
+        return rueda.tamano();
     }
 }
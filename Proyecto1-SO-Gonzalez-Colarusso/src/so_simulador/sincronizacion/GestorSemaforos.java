@@ -12,11 +12,16 @@ public class GestorSemaforos {
         total = 0;
     }
 
-    /** Crea un nuevo semáforo con nombre y valor inicial. */
+    /** Crea un nuevo semáforo injusto con nombre y valor inicial. */
     public boolean crear(String nombre, int valorInicial) {
+        return crear(nombre, valorInicial, false);
+    }
+
+    /** Crea un nuevo semáforo; 'justo' = los permisos se dan en orden de llegada. */
+    public boolean crear(String nombre, int valorInicial, boolean justo) {
         if (buscar(nombre) != null || total >= MAX) return false;
         nombres[total] = nombre;
-        semaforos[total] = new Semaforo(valorInicial);
+        semaforos[total] = new Semaforo(valorInicial, justo);
         total++;
         return true;
     }
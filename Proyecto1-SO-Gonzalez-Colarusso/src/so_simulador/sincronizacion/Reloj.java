@@ -1,28 +1,224 @@
 package so_simulador.sincronizacion;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reloj de la simulación concurrente. El tiempo es un contador atómico, así
+ * que tick() no toma ningún lock: todos los procesos lo llaman en cada
+ * instrucción.
+ *
+ * Los hilos que esperan un tick se guardan en un montículo ordenado por el
+ * tick objetivo. tick() solo entra al lock cuando llegó el vencimiento más
+ * próximo, y entonces despierta únicamente a los que ya vencieron (no a
+ * todos, como hacía notifyAll).
+ *
+ * En tiempo virtual (ver TiempoVirtual) los procesos no dan ticks: el
+ * coordinador salta directo al próximo vencimiento cuando todos esperan.
+ */
 public class Reloj {
-    private int tiempo;
+    private static final int SIN_ESPERAS = Integer.MAX_VALUE;
+
+    /** Un hilo esperando a que el reloj llegue a 'objetivo'. */
+    static final class Espera {
+        final Thread hilo;
+        final int objetivo;
+        final boolean contada; // de TiempoVirtual: cuenta como activo al despertar
+
+        Espera(Thread hilo, int objetivo, boolean contada) {
+            this.hilo = hilo;
+            this.objetivo = objetivo;
+            this.contada = contada;
+        }
+    }
+
+    private final AtomicInteger tiempo = new AtomicInteger();
+    private volatile int proximoVencimiento = SIN_ESPERAS;
+
+    // Montículo de esperas por objetivo, protegido por lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private Espera[] heap = new Espera[16];
+    private int tamano;
+    private long despertados;
 
     public Reloj() {
-        this.tiempo = 0;
     }
 
-    public synchronized void tick() {
-        tiempo++;
-        notifyAll(); // avisa a los hilos que esperan un tick
+    /** Avanza un tick; despierta a los que esperaban hasta este tick o antes. */
+    public void tick() {
+        int ahora = tiempo.incrementAndGet();
+        if (ahora >= proximoVencimiento) despertarVencidos();
+    }
+
+    /**
+     * Bloquea al hilo hasta que el reloj llegue a t. Si lo interrumpen deja
+     * de esperar y conserva la marca de interrupción.
+     */
+    public void esperarHasta(int t) {
+        if (tiempo.get() >= t) return;
+        lock.lock();
+        try {
+            agregar(new Espera(Thread.currentThread(), t, false));
+            if (t < proximoVencimiento) proximoVencimiento = t;
+        } finally {
+            lock.unlock();
+        }
+        // proximoVencimiento ya está publicado: o este hilo ve el tick, o
+        // quien lo dio ve el vencimiento y lo despierta
+        while (tiempo.get() < t) {
+            LockSupport.park(this);
+            if (Thread.currentThread().isInterrupted()) return; // su Espera se descarta al vencer
+        }
     }
 
-    public synchronized void esperarHasta(int t) {
-        while (tiempo < t) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                break;
+    public int getTiempo() {
+        return tiempo.get();
+    }
+
+    /** Hilos esperando ahora (incluye los interrumpidos que todavía no vencieron). */
+    public int getEsperando() {
+        lock.lock();
+        try {
+            return tamano;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Total de hilos despertados por tick(). */
+    public long getDespertados() {
+        lock.lock();
+        try {
+            return despertados;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ========== TIEMPO VIRTUAL ==========
+
+    /**
+     * Anota al hilo actual para despertar en el tick t, sin estacionarlo
+     * todavía: así TiempoVirtual lo puede dar por quieto sabiendo que el
+     * coordinador ya lo ve.
+     */
+    Espera registrar(int t) {
+        Espera e = new Espera(Thread.currentThread(), t, true);
+        lock.lock();
+        try {
+            agregar(e);
+            if (t < proximoVencimiento) proximoVencimiento = t;
+        } finally {
+            lock.unlock();
+        }
+        return e;
+    }
+
+    /** Se estaciona hasta el tick de la espera; las interrupciones se reponen al salir. */
+    void esperar(Espera e) {
+        boolean interrumpido = false;
+        while (tiempo.get() < e.objetivo) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) interrumpido = true;
+        }
+        if (interrumpido) Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Salta al próximo vencimiento y despierta a los que vencen en él.
+     * Antes de despertarlos suma a 'activos' las esperas contadas, para que
+     * el coordinador no vea quietud mientras todavía no arrancaron.
+     * Devuelve cuántos despertó (0 = nadie espera al reloj, no avanza).
+     */
+    int avanzarAlProximo(AtomicInteger activos) {
+        Thread[] vencidos;
+        lock.lock();
+        try {
+            if (tamano == 0) return 0;
+            int destino = Math.max(tiempo.get() + 1, heap[0].objetivo);
+            vencidos = quitarVencidos(destino, activos);
+        } finally {
+            lock.unlock();
+        }
+        return despertar(vencidos);
+    }
+
+    private void despertarVencidos() {
+        Thread[] vencidos;
+        lock.lock();
+        try {
+            vencidos = quitarVencidos(tiempo.get(), null);
+        } finally {
+            lock.unlock();
+        }
+        despertar(vencidos);
+    }
+
+    /** Se despierta fuera del lock; el arreglo termina en el primer null. */
+    private static int despertar(Thread[] vencidos) {
+        if (vencidos == null) return 0;
+        int i = 0;
+        while (i < vencidos.length && vencidos[i] != null) LockSupport.unpark(vencidos[i++]);
+        return i;
+    }
+
+    /** Con el lock tomado: lleva el tiempo a 'ahora' y saca las esperas vencidas. */
+    private Thread[] quitarVencidos(int ahora, AtomicInteger activos) {
+        Thread[] vencidos = null;
+        int cantidad = 0, contadas = 0;
+        while (tamano > 0 && heap[0].objetivo <= ahora) {
+            if (vencidos == null) vencidos = new Thread[Math.min(tamano, 16)];
+            if (cantidad == vencidos.length) {
+                Thread[] nuevo = new Thread[cantidad * 2];
+                System.arraycopy(vencidos, 0, nuevo, 0, cantidad);
+                vencidos = nuevo;
             }
+            Espera e = quitarPrimero();
+            if (e.contada) contadas++;
+            vencidos[cantidad++] = e.hilo;
+        }
+        proximoVencimiento = tamano > 0 ? heap[0].objetivo : SIN_ESPERAS;
+        despertados += cantidad;
+        if (activos != null && contadas > 0) activos.addAndGet(contadas);
+        if (ahora > tiempo.get()) tiempo.set(ahora);
+        return vencidos;
+    }
+
+    // ========== MONTÍCULO ==========
+
+    private void agregar(Espera e) {
+        if (tamano == heap.length) {
+            Espera[] nuevo = new Espera[heap.length * 2];
+            System.arraycopy(heap, 0, nuevo, 0, tamano);
+            heap = nuevo;
+        }
+        int i = tamano++;
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (heap[padre].objetivo <= e.objetivo) break;
+            heap[i] = heap[padre];
+            i = padre;
         }
+        heap[i] = e;
     }
 
-    public synchronized int getTiempo() {
-        return tiempo;
+    private Espera quitarPrimero() {
+        Espera primero = heap[0];
+        Espera ultimo = heap[--tamano];
+        heap[tamano] = null;
+        if (tamano > 0) {
+            int i = 0;
+            while (true) {
+                int hijo = 2 * i + 1;
+                if (hijo >= tamano) break;
+                if (hijo + 1 < tamano && heap[hijo + 1].objetivo < heap[hijo].objetivo) hijo++;
+                if (ultimo.objetivo <= heap[hijo].objetivo) break;
+                heap[i] = heap[hijo];
+                i = hijo;
+            }
+            heap[i] = ultimo;
+        }
+        return primero;
     }
 }
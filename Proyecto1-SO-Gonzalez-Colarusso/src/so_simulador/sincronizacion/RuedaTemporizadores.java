@@ -0,0 +1,173 @@
+package so_simulador.sincronizacion;
+
+/**
+ * Rueda de temporizadores jerárquica (sin usar colecciones de Java).
+ * Cada elemento se guarda según el tick en que vence: 4 niveles de 64
+ * casillas, donde el nivel k agrupa vencimientos a menos de 64^(k+1) ticks.
+ * Al completar una vuelta de un nivel, la casilla siguiente del nivel de
+ * arriba se reparte hacia abajo ("cascada").
+ *
+ * Avanzar un tick cuesta O(vencidos) y no O(programados); programar y
+ * cancelar son O(1). No es thread-safe: la sincroniza quien la usa.
+ */
+public class RuedaTemporizadores<T> {
+    private static final int BITS = 6;
+    private static final int CASILLAS = 1 << BITS;   // 64
+    private static final int MASCARA = CASILLAS - 1;
+    private static final int NIVELES = 4;             // hasta 64^4 ticks
+
+    /** Acción a ejecutar sobre cada elemento que vence. */
+    public interface Vencimiento<T> {
+        void vencer(T elemento);
+    }
+
+    /** Temporizador programado; sirve para cancelarlo. */
+    public static final class Entrada<T> {
+        private final T elemento;
+        private final long vence;
+        private int nivel = -1;     // casilla que la contiene (-1 = no pendiente)
+        private int indice;
+        private Entrada<T> anterior;
+        private Entrada<T> siguiente;
+
+        private Entrada(T elemento, long vence) {
+            this.elemento = elemento;
+            this.vence = vence;
+        }
+
+        public T getElemento() { return elemento; }
+        public long getVence() { return vence; }
+        public boolean estaPendiente() { return nivel >= 0; }
+    }
+
+    private final Entrada<T>[][] casillas; // cabeza de la lista de cada casilla
+    private long ahora;
+    private int tamano;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RuedaTemporizadores() {
+        casillas = new Entrada[NIVELES][CASILLAS];
+        ahora = 0;
+        tamano = 0;
+    }
+
+    public long getAhora() { return ahora; }
+
+    public int tamano() { return tamano; }
+
+    public boolean estaVacia() { return tamano == 0; }
+
+    /**
+     * Programa el elemento para que venza en el tick indicado.
+     * Si ese tick ya pasó, vence en el próximo avance.
+     */
+    public Entrada<T> programar(T elemento, long tickVencimiento) {
+        if (tickVencimiento <= ahora) tickVencimiento = ahora + 1;
+        Entrada<T> e = new Entrada<>(elemento, tickVencimiento);
+        colocar(e);
+        tamano++;
+        return e;
+    }
+
+    /** Programa el elemento para dentro de 'ticks' ticks. */
+    public Entrada<T> programarEn(T elemento, int ticks) {
+        return programar(elemento, ahora + ticks);
+    }
+
+    /** Quita un temporizador todavía pendiente, O(1). */
+    public boolean cancelar(Entrada<T> e) {
+        if (e == null || e.nivel < 0) return false;
+        desenlazar(e);
+        tamano--;
+        return true;
+    }
+
+    /**
+     * Avanza un tick y aplica la acción a los elementos que vencen en él.
+     * Devuelve cuántos vencieron.
+     */
+    public int avanzar(Vencimiento<? super T> accion) {
+        ahora++;
+
+        // Cascada: al dar la vuelta un nivel, bajar la casilla que toca del siguiente
+        for (int nivel = 1; nivel < NIVELES; nivel++) {
+            if (((ahora >>> (BITS * (nivel - 1))) & MASCARA) != 0) break;
+            int indice = (int) ((ahora >>> (BITS * nivel)) & MASCARA);
+            Entrada<T> e = casillas[nivel][indice];
+            casillas[nivel][indice] = null;
+            while (e != null) {
+                Entrada<T> sig = e.siguiente;
+                colocar(e);
+                e = sig;
+            }
+        }
+
+        int indice = (int) (ahora & MASCARA);
+        Entrada<T> e = casillas[0][indice];
+        casillas[0][indice] = null;
+        int vencidos = 0;
+        while (e != null) {
+            Entrada<T> sig = e.siguiente;
+            e.anterior = null;
+            e.siguiente = null;
+            e.nivel = -1;
+            tamano--;
+            vencidos++;
+            if (accion != null) accion.vencer(e.elemento);
+            e = sig;
+        }
+        return vencidos;
+    }
+
+    /**
+     * Avanza hasta el tick indicado. Si la rueda está vacía salta directo.
+     */
+    public int avanzarHasta(long tick, Vencimiento<? super T> accion) {
+        int vencidos = 0;
+        while (ahora < tick) {
+            if (tamano == 0) {
+                ahora = tick;
+                break;
+            }
+            vencidos += avanzar(accion);
+        }
+        return vencidos;
+    }
+
+    // ========== CASILLAS ==========
+
+    private void colocar(Entrada<T> e) {
+        long delta = e.vence - ahora;
+        int nivel = 0;
+        while (nivel < NIVELES - 1 && delta >= (1L << (BITS * (nivel + 1)))) {
+            nivel++;
+        }
+        int indice;
+        if (delta >= (1L << (BITS * NIVELES))) {
+            // Más allá del alcance: la casilla anterior a la actual del último
+            // nivel; al bajar en cascada se vuelve a ubicar
+            indice = (int) (((ahora >>> (BITS * nivel)) + MASCARA) & MASCARA);
+        } else {
+            indice = (int) ((e.vence >>> (BITS * nivel)) & MASCARA);
+        }
+        Entrada<T> cabeza = casillas[nivel][indice];
+        e.nivel = nivel;
+        e.indice = indice;
+        e.siguiente = cabeza;
+        e.anterior = null;
+        if (cabeza != null) cabeza.anterior = e;
+        casillas[nivel][indice] = e;
+    }
+
+    private void desenlazar(Entrada<T> e) {
+        if (e.anterior != null) {
+            e.anterior.siguiente = e.siguiente;
+        } else {
+            casillas[e.nivel][e.indice] = e.siguiente;
+        }
+        if (e.siguiente != null) e.siguiente.anterior = e.anterior;
+        e.anterior = null;
+        e.siguiente = null;
+        e.nivel = -1;
+    }
+}
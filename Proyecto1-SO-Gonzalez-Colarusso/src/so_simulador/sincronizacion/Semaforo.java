@@ -1,37 +1,246 @@
 package so_simulador.sincronizacion;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.AbstractQueuedSynchronizer;
+
 /**
- * Implementación básica de un semáforo sin usar librerías externas.
- * Permite sincronizar procesos/hilos simulados.
+ * Semáforo contador sobre AbstractQueuedSynchronizer: el valor es el estado
+ * del sincronizador y los hilos bloqueados esperan en su cola (sin
+ * synchronized, así que no fija hilos virtuales a su portador).
+ *
+ * Por defecto es injusto: un hilo que llega puede ganarle a los que
+ * esperan, lo que da más rendimiento pero puede postergar a alguno. En modo
+ * justo los permisos se entregan en orden de llegada (FIFO), a costa de
+ * encolar y despertar en cada traspaso bajo contención.
+ *
+ * Lleva contadores de contención: cuántas adquisiciones tuvieron que
+ * esperar, cuánto esperaron, el largo máximo de la cola, las esperas
+ * vencidas y el tiempo que se retuvo cada permiso.
  */
 public class Semaforo {
-    private int valor;
 
+    /** Estado = permisos disponibles; adquisición y liberación compartidas. */
+    private static final class Sincronizador extends AbstractQueuedSynchronizer {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean justo;
+
+        Sincronizador(int permisos, boolean justo) {
+            this.justo = justo;
+            setState(permisos);
+        }
+
+        int getPermisos() {
+            return getState();
+        }
+
+        /** Toma un permiso sin mirar la cola (para el camino rápido). */
+        boolean intentarSinCola() {
+            while (true) {
+                int disponibles = getState();
+                if (disponibles <= 0) return false;
+                if (compareAndSetState(disponibles, disponibles - 1)) return true;
+            }
+        }
+
+        @Override
+        protected int tryAcquireShared(int permisos) {
+            while (true) {
+                if (justo && hasQueuedPredecessors()) return -1;
+                int disponibles = getState();
+                int restantes = disponibles - permisos;
+                if (restantes < 0 || compareAndSetState(disponibles, restantes)) return restantes;
+            }
+        }
+
+        @Override
+        protected boolean tryReleaseShared(int permisos) {
+            while (true) {
+                int actual = getState();
+                if (compareAndSetState(actual, actual + permisos)) return true;
+            }
+        }
+    }
+
+    private final Sincronizador sync;
+
+    // Estadísticas
+    private final LongAdder adquisiciones = new LongAdder();
+    private final LongAdder liberaciones = new LongAdder();
+    private final LongAdder contenciones = new LongAdder();
+    private final LongAdder esperasVencidas = new LongAdder();
+    private final LongAdder nsEspera = new LongAdder();
+    private final LongAdder nsAdquirido = new LongAdder();  // suma de instantes de adquisición
+    private final LongAdder nsLiberado = new LongAdder();   // suma de instantes de liberación
+    private final AtomicInteger enCola = new AtomicInteger();
+    private volatile int maximoEnCola;
+
+    // Tiempo virtual: esperas y permisos entregados, con el lock de TiempoVirtual
+    int esperandoVirtual;
+    int entregadosVirtual;
+
+    /** Semáforo injusto (el modo más rápido). */
     public Semaforo(int inicial) {
+        this(inicial, false);
+    }
+
+    public Semaforo(int inicial, boolean justo) {
         if (inicial < 0) inicial = 0;
-        this.valor = inicial;
+        this.sync = new Sincronizador(inicial, justo);
     }
 
-    /** Operación P (wait) → decrementa o bloquea si no hay recursos disponibles. */
-    public synchronized void waitSem() {
-        while (valor <= 0) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                // ignorar o propagar según el diseño
-            }
+    /**
+     * Operación P (wait) → decrementa o bloquea si no hay recursos disponibles.
+     * No se puede interrumpir: si llega una interrupción se repone al salir.
+     */
+    public void waitSem() {
+        if (caminoRapido()) return;
+        long t0 = entrarCola();
+        try {
+            sync.acquireShared(1);
+        } finally {
+            salirCola(t0);
         }
-        valor--;
+        adquirido();
     }
 
-    /** Operación V (signal) → incrementa y despierta un hilo bloqueado si lo hay. */
-    public synchronized void signal() {
-        valor++;
-        notify(); // despierta a un hilo en espera
+    /** Operación P que se corta con InterruptedException si interrumpen al hilo. */
+    public void waitSemInterrumpible() throws InterruptedException {
+        if (Thread.interrupted()) throw new InterruptedException();
+        if (caminoRapido()) return;
+        long t0 = entrarCola();
+        try {
+            sync.acquireSharedInterruptibly(1);
+        } finally {
+            salirCola(t0);
+        }
+        adquirido();
+    }
+
+    /** Toma un permiso solo si hay uno libre ahora; no espera. */
+    public boolean tryWaitSem() {
+        if (!sync.intentarSinCola()) return false;
+        adquirido();
+        return true;
+    }
+
+    /** Espera un permiso hasta 'tiempo'; devuelve false si se venció. */
+    public boolean tryWaitSem(long tiempo, TimeUnit unidad) throws InterruptedException {
+        if (Thread.interrupted()) throw new InterruptedException();
+        if (caminoRapido()) return true;
+        long t0 = entrarCola();
+        boolean obtuvo;
+        try {
+            obtuvo = sync.tryAcquireSharedNanos(1, unidad.toNanos(tiempo));
+        } finally {
+            salirCola(t0);
+        }
+        if (!obtuvo) {
+            esperasVencidas.increment();
+            return false;
+        }
+        adquirido();
+        return true;
+    }
+
+    /** Operación V (signal) → incrementa y despierta al siguiente en la cola. */
+    public void signal() {
+        liberaciones.increment();
+        nsLiberado.add(System.nanoTime());
+        sync.releaseShared(1);
     }
 
     /** Devuelve el valor actual del semáforo (solo para depuración). */
-    public synchronized int getValor() {
-        return valor;
+    public int getValor() {
+        return sync.getPermisos();
+    }
+
+    public boolean esJusto() {
+        return sync.justo;
+    }
+
+    // ========== INTERNOS ==========
+
+    /** Sin contención (y sin nadie esperando en modo justo) no se encola. */
+    private boolean caminoRapido() {
+        if (sync.tryAcquireShared(1) < 0) return false;
+        adquirido();
+        return true;
+    }
+
+    private long entrarCola() {
+        contenciones.increment();
+        int largo = enCola.incrementAndGet();
+        if (largo > maximoEnCola) maximoEnCola = largo;
+        return System.nanoTime();
+    }
+
+    private void salirCola(long t0) {
+        enCola.decrementAndGet();
+        nsEspera.add(System.nanoTime() - t0);
+    }
+
+    private void adquirido() {
+        adquisiciones.increment();
+        nsAdquirido.add(System.nanoTime());
+    }
+
+    // ========== ESTADÍSTICAS ==========
+
+    public long getAdquisiciones() { return adquisiciones.sum(); }
+    public long getLiberaciones() { return liberaciones.sum(); }
+    /** Adquisiciones (o intentos con espera) que encontraron el semáforo ocupado. */
+    public long getContenciones() { return contenciones.sum(); }
+    public long getEsperasVencidas() { return esperasVencidas.sum(); }
+    /** Hilos esperando ahora mismo. */
+    public int getEnCola() { return enCola.get(); }
+    public int getMaximoEnCola() { return maximoEnCola; }
+
+    /** Fracción de adquisiciones que tuvieron que esperar. */
+    public double getTasaContencion() {
+        long total = getAdquisiciones() + getEsperasVencidas();
+        return total == 0 ? 0.0 : (double) getContenciones() / total;
+    }
+
+    /** Nanosegundos promedio de espera de las adquisiciones con contención. */
+    public double getEsperaPromedioNs() {
+        long c = getContenciones();
+        return c == 0 ? 0.0 : (double) nsEspera.sum() / c;
+    }
+
+    /**
+     * Nanosegundos promedio que se retuvo un permiso. Se calcula como
+     * (Σ liberaciones − Σ adquisiciones) más lo que llevan los que aún lo
+     * tienen, así que vale cuando cada signal corresponde a un waitSem
+     * (uso como mutex o recurso contado), no como señal entre hilos.
+     */
+    public double getRetencionPromedioNs() {
+        long a = getAdquisiciones();
+        if (a == 0) return 0.0;
+        long pendientes = Math.max(0, a - getLiberaciones());
+        long total = nsLiberado.sum() - nsAdquirido.sum() + pendientes * System.nanoTime();
+        return Math.max(0, total) / (double) a;
+    }
+
+    public void reiniciarEstadisticas() {
+        adquisiciones.reset();
+        liberaciones.reset();
+        contenciones.reset();
+        esperasVencidas.reset();
+        nsEspera.reset();
+        nsAdquirido.reset();
+        nsLiberado.reset();
+        maximoEnCola = enCola.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Semaforo[%s, valor=%d] %d adquisiciones, contención %.1f%%, " +
+                "cola máx. %d, espera %.1f µs, retención %.1f µs, %d vencidas",
+                esJusto() ? "justo" : "injusto", getValor(), getAdquisiciones(),
+                getTasaContencion() * 100, maximoEnCola, getEsperaPromedioNs() / 1000,
+                getRetencionPromedioNs() / 1000, getEsperasVencidas());
     }
 }
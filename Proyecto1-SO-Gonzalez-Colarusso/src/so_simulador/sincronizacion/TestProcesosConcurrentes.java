@@ -0,0 +1,251 @@
+package so_simulador.sincronizacion;
+
+import java.util.Arrays;
+import so_simulador.config.ConfiguracionSimulacion;
+import so_simulador.config.ProcesoConfig;
+import so_simulador.modelo.CPUConcurrent;
+import so_simulador.modelo.DespachadorConcurrente;
+import so_simulador.modelo.EstadoProceso;
+import so_simulador.modelo.Proceso;
+import so_simulador.planificador.*;
+import so_simulador.simulacion.ContextoSimulacion;
+import so_simulador.simulacion.MotorSimulacion;
+import so_simulador.simulacion.ResultadoSimulacion;
+
+/**
+ * Test del modo concurrente: muchos procesos bloqueados por E/S a la vez,
+ * con hilos de plataforma y con hilos virtuales.
+ */
+public class TestProcesosConcurrentes {
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== TEST DE PROCESOS CONCURRENTES ===\n");
+
+        // 1. Muchos procesos bloqueados a la vez
+        ejecutar(CPUConcurrent.TipoHilo.PLATAFORMA, 2_000);
+        ejecutar(CPUConcurrent.TipoHilo.VIRTUAL, 2_000);
+        ejecutar(CPUConcurrent.TipoHilo.VIRTUAL, 100_000);
+
+        // 2. Despachador: los hilos solo ejecutan con uno de los 4 núcleos
+        System.out.println("\n--- Despachador concurrente, 4 núcleos, 2000 procesos ---");
+        for (Planificador p : new Planificador[] {new FCFS(), new RoundRobin(4), new MLFQ(3, new int[] {2, 4, 8}, 20)}) {
+            despachar(p, CPUConcurrent.TipoHilo.VIRTUAL, 4, 2_000);
+        }
+        despachar(new RoundRobin(4), CPUConcurrent.TipoHilo.PLATAFORMA, 4, 2_000);
+
+        // 3. Tiempo virtual: sin pausas y con los mismos ticks en cada corrida
+        System.out.println("\n--- Tiempo virtual ---");
+        int cantidad = 10_000;
+        long t0 = System.nanoTime();
+        int[] fin = tiempoVirtual(cantidad, false);
+        double ms = (System.nanoTime() - t0) / 1e6;
+        boolean exactos = true;
+        int ultimo = 0;
+        for (int i = 0; i < cantidad; i++) {
+            int largo = 10 + (i * 7) % 31, atencion = i % 2 == 0 ? 0 : 5;
+            int esperado = largo + (atencion > 0 ? 3 * ((largo - 1) / atencion) : 0); // 1 tick por instrucción, 3 por E/S
+            exactos &= fin[i] == esperado;
+            ultimo = Math.max(ultimo, fin[i]);
+        }
+        System.out.println((exactos ? "✓" : "✗") + String.format(
+                " %d procesos con E/S: terminan en el tick esperado; %d ticks en %.0f ms (con pausas de 25 ms: %.1f s)",
+                cantidad, ultimo, ms, ultimo * 0.025));
+
+        t0 = System.nanoTime();
+        int[] primera = tiempoVirtual(30, true);
+        ms = (System.nanoTime() - t0) / 1e6;
+        int[] segunda = tiempoVirtual(30, true);
+        boolean iguales = Arrays.equals(primera, segunda);
+        ultimo = Arrays.stream(primera).max().getAsInt();
+        System.out.println((iguales ? "✓" : "✗") + String.format(
+                " 30 procesos con un semáforo: mismos ticks en dos corridas; %d ticks en %.0f ms (con pausas de 25 ms: %.1f s)",
+                ultimo, ms, ultimo * 0.025));
+
+        suspensionVirtual();
+
+        System.out.println("\n=== TEST COMPLETADO ===");
+    }
+
+    /**
+     * Un proceso suspendido en tiempo virtual no da ticks: el otro termina
+     * igual, y cuando queda solo el suspendido el reloj se detiene hasta
+     * reanudarlo.
+     */
+    private static void suspensionVirtual() throws InterruptedException {
+        ContextoSimulacion contexto = new ContextoSimulacion();
+        TiempoVirtual tiempo = contexto.activarTiempoVirtual();
+        CPUConcurrent cpu = new CPUConcurrent(CPUConcurrent.TipoHilo.VIRTUAL);
+        cpu.setSalida(null);
+        Proceso a = contexto.crearProceso("A", 5_000, true, 0, 0, 1);
+        Proceso b = contexto.crearProceso("B", 10_000, true, 0, 0, 1);
+        a.setSalida(null);
+        b.setSalida(null);
+        cpu.ejecutar(a);
+        cpu.ejecutar(b);
+        boolean[] completo = {false};
+        Thread coordinador = Thread.ofPlatform().start(() -> completo[0] = tiempo.ejecutar());
+
+        while (tiempo.getTiempo() < 10) Thread.onSpinWait();
+        a.suspender();
+        b.esperarFin();
+        Thread.sleep(20); // A ya se dio por suspendido
+        int detenido = tiempo.getTiempo();
+        Thread.sleep(20);
+        boolean quieto = tiempo.getTiempo() == detenido && coordinador.isAlive() && tiempo.getSuspendidos() == 1;
+        a.reanudarManual();
+        coordinador.join();
+
+        int ejecucion = a.getPCB().getCiclosEn(EstadoProceso.EJECUCION);
+        int suspendido = a.getPCB().getCiclosEn(EstadoProceso.SUSPENDIDO);
+        boolean ok = quieto && completo[0] && a.getPCB().getEstado() == EstadoProceso.TERMINADO
+                && b.getPCB().getCiclosEn(EstadoProceso.EJECUCION) == 10_000
+                && ejecucion + suspendido == tiempo.getTiempo() && ejecucion <= 5_000 && ejecucion >= 4_999 && suspendido > 0; // ±1 tick: el de la instrucción en curso
+        System.out.println((ok ? "✓" : "✗") + String.format(
+                " Suspensión: el reloj siguió sin A y se detuvo en el tick %d hasta reanudarlo; "
+                + "A: %d ticks ejecutando, %d suspendido", detenido, ejecucion, suspendido));
+    }
+
+    /**
+     * Corre la misma carga con DespachadorConcurrente y con el motor
+     * secuencial; mitad CPU-bound, mitad con E/S cada 5 instrucciones.
+     */
+    private static void despachar(Planificador planificador, CPUConcurrent.TipoHilo tipo,
+                                  int nucleos, int cantidad) throws InterruptedException {
+        ContextoSimulacion contexto = new ContextoSimulacion();
+        GestorES gestorES = contexto.getGestorES();
+        DespachadorConcurrente despachador = new DespachadorConcurrente(planificador, nucleos, tipo);
+        ConfiguracionSimulacion config = new ConfiguracionSimulacion();
+        config.setMemoriaTotal(cantidad * 64);
+        config.setMemoriaPorProceso(64);
+
+        // El reloj de E/S avanza solo mientras haya procesos
+        Thread ticker = Thread.ofPlatform().daemon(true).start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                gestorES.tick();
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        despachador.iniciar();
+        Proceso[] procesos = new Proceso[cantidad];
+        long instrucciones = 0;
+        for (int i = 0; i < cantidad; i++) {
+            int largo = 10 + (i * 7) % 31;
+            boolean cpuBound = i % 2 == 0;
+            procesos[i] = contexto.crearProceso("P" + i, largo, cpuBound, 0, cpuBound ? 0 : 5, i % 5);
+            procesos[i].setRetardoInstruccion(0);
+            procesos[i].setSalida(null);
+            config.agregarProceso(new ProcesoConfig("P" + i, largo, cpuBound, 0, cpuBound ? 0 : 5, i % 5, 64));
+            instrucciones += largo;
+            despachador.ejecutar(procesos[i]);
+        }
+        despachador.esperarFin();
+        ticker.interrupt();
+
+        boolean todos = true;
+        for (Proceso p : procesos) todos &= p.getPCB().getEstado() == EstadoProceso.TERMINADO;
+        boolean limite = despachador.getMaximoEnEjecucion() <= nucleos;
+        System.out.println((todos && limite ? "✓ " : "✗ ") + tipo + " " + despachador + String.format(
+                " | %.0f instr/ms | máx. %d a la vez", instrucciones / (despachador.getDuracionNs() / 1e6),
+                despachador.getMaximoEnEjecucion()));
+
+        MotorSimulacion motor = new MotorSimulacion(config, planificador instanceof MLFQ
+                ? new MLFQ((MLFQ) planificador) : planificador);
+        motor.setNucleos(nucleos);
+        long t0 = System.nanoTime();
+        ResultadoSimulacion r = motor.ejecutar();
+        double ms = (System.nanoTime() - t0) / 1e6;
+        System.out.println(String.format("    motor secuencial: %d eventos en %.1f ms | %.0f instr/ms",
+                r.getEventosProcesados(), ms, instrucciones / ms));
+    }
+
+    /**
+     * Corre en tiempo virtual y devuelve el tick en que terminó cada proceso.
+     * Con recurso, todos comparten un semáforo binario y lo piden en ticks
+     * distintos.
+     */
+    private static int[] tiempoVirtual(int cantidad, boolean conRecurso) {
+        ContextoSimulacion contexto = new ContextoSimulacion();
+        contexto.activarTiempoVirtual();
+        CPUConcurrent cpu = new CPUConcurrent(CPUConcurrent.TipoHilo.VIRTUAL);
+        cpu.setSalida(null);
+        Semaforo recurso = new Semaforo(1, true); // el tiempo virtual necesita semáforos justos
+
+        Proceso[] procesos = new Proceso[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            if (conRecurso) {
+                procesos[i] = contexto.crearProceso("P" + i, 40 + i, true, 1 + i, 0, 1);
+                procesos[i].setRecurso(recurso);
+            } else {
+                int largo = 10 + (i * 7) % 31;
+                procesos[i] = contexto.crearProceso("P" + i, largo, i % 2 == 0, 0, i % 2 == 0 ? 0 : 5, 1);
+            }
+            procesos[i].setSalida(null);
+            cpu.ejecutar(procesos[i]);
+        }
+        boolean completo = contexto.getTiempoVirtual().ejecutar();
+        if (!completo) System.out.println("✗ interbloqueo en tiempo virtual");
+
+        int[] fin = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            for (EstadoProceso e : EstadoProceso.values()) {
+                if (e != EstadoProceso.TERMINADO) fin[i] += procesos[i].getPCB().getCiclosEn(e);
+            }
+        }
+        return fin;
+    }
+
+    /**
+     * Cada proceso ejecuta 4 instrucciones y pide E/S en la segunda; el
+     * reloj de E/S no avanza hasta que todos están bloqueados.
+     */
+    private static void ejecutar(CPUConcurrent.TipoHilo tipo, int cantidad) throws InterruptedException {
+        ContextoSimulacion contexto = new ContextoSimulacion();
+        GestorES gestorES = contexto.getGestorES();
+        CPUConcurrent cpu = new CPUConcurrent(tipo);
+        cpu.setSalida(null);
+
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        long memoriaAntes = rt.totalMemory() - rt.freeMemory();
+        long t0 = System.nanoTime();
+
+        Proceso[] procesos = new Proceso[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            procesos[i] = contexto.crearProceso("P" + i, 4, false, 0, 2, 1);
+            procesos[i].setRetardoInstruccion(1);
+            procesos[i].setSalida(null);
+            cpu.ejecutar(procesos[i]);
+        }
+
+        while (gestorES.getTotalBloqueados() < cantidad) Thread.sleep(5);
+        long tBloqueados = System.nanoTime();
+        System.gc(); // lo que queda vivo: procesos y pilas de los hilos virtuales estacionados
+        long memoriaBloqueados = rt.totalMemory() - rt.freeMemory() - memoriaAntes;
+        int hilosSistema = Thread.activeCount();
+
+        boolean vivos = true;
+        while (vivos) {
+            gestorES.tick();
+            Thread.sleep(2);
+            vivos = false;
+            for (Proceso p : procesos) {
+                if (p.estaVivo()) {
+                    vivos = true;
+                    break;
+                }
+            }
+        }
+        for (Proceso p : procesos) p.esperarFin();
+
+        boolean todos = true;
+        for (Proceso p : procesos) todos &= p.getPCB().getEstado() == EstadoProceso.TERMINADO;
+        System.out.println((todos ? "✓ " : "✗ ") + String.format(
+                "%-10s %6d procesos: %d bloqueados a la vez en %.0f ms | %d hilos de plataforma | heap +%.1f MB | total %.0f ms",
+                tipo, cantidad, cantidad, (tBloqueados - t0) / 1e6, hilosSistema,
+                memoriaBloqueados / 1e6, (System.nanoTime() - t0) / 1e6));
+    }
+}
@@ -0,0 +1,132 @@
+package so_simulador.sincronizacion;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test del reloj: ticks concurrentes sin perder ninguno y esperas que solo
+ * se despiertan al vencer, comparado contra la versión con notifyAll.
+ */
+public class TestReloj {
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== TEST DE RELOJ ===\n");
+
+        // 1. Muchos hilos avanzando el reloj a la vez
+        Reloj reloj = new Reloj();
+        RelojMonitor monitor = new RelojMonitor();
+        int hilos = 64, ticks = 50_000;
+        for (int ronda = 0; ronda < 2; ronda++) { // la primera calienta la JVM
+            boolean imprimir = ronda == 1;
+            reloj = new Reloj();
+            monitor = new RelojMonitor();
+            Reloj r = reloj;
+            RelojMonitor m = monitor;
+            double msAtomico = concurrente(hilos, () -> {
+                for (int i = 0; i < ticks; i++) r.tick();
+            });
+            double msMonitor = concurrente(hilos, () -> {
+                for (int i = 0; i < ticks; i++) m.tick();
+            });
+            if (imprimir) {
+                boolean ok = reloj.getTiempo() == hilos * ticks && monitor.getTiempo() == hilos * ticks;
+                System.out.println((ok ? "✓" : "✗") + String.format(
+                        " %d hilos x %d ticks: atómico %.0f ms | synchronized %.0f ms",
+                        hilos, ticks, msAtomico, msMonitor));
+            }
+        }
+
+        // 2. 2000 hilos esperando ticks distintos: cada tick despierta solo a los suyos
+        int esperas = 2_000, hasta = 200;
+        Reloj r = new Reloj();
+        AtomicInteger tarde = new AtomicInteger();
+        double ms = esperar(Thread.ofVirtual(), esperas, hasta, r::esperarHasta, r::getTiempo, r::tick, tarde);
+        boolean justos = r.getDespertados() == esperas && r.getEsperando() == 0 && tarde.get() == 0;
+        System.out.println((justos ? "✓" : "✗") + String.format(
+                " Reloj atómico: %d esperas en %d ticks, %d despertares en %.0f ms",
+                esperas, hasta, r.getDespertados(), ms));
+
+        RelojMonitor m = new RelojMonitor();
+        AtomicInteger tardeMonitor = new AtomicInteger();
+        // Con hilos de plataforma: wait() fija el hilo virtual a su portador y
+        // 2000 esperando agotan los portadores
+        ms = esperar(Thread.ofPlatform(), esperas, hasta, m::esperarHasta, m::getTiempo, m::tick, tardeMonitor);
+        System.out.println(String.format("  synchronized + notifyAll (hilos de plataforma): %d despertares en %.0f ms",
+                m.despertares.get(), ms));
+
+        // 3. Una espera interrumpida termina y conserva la marca
+        Reloj quieto = new Reloj();
+        boolean[] marca = {false};
+        Thread t = Thread.ofVirtual().start(() -> {
+            quieto.esperarHasta(10);
+            marca[0] = Thread.currentThread().isInterrupted();
+        });
+        while (quieto.getEsperando() == 0) Thread.onSpinWait();
+        t.interrupt();
+        t.join();
+        System.out.println((marca[0] && quieto.getTiempo() == 0 ? "✓" : "✗")
+                + " esperarHasta vuelve al interrumpir y conserva la marca");
+
+        System.out.println("\n=== TEST COMPLETADO ===");
+    }
+
+    private static double concurrente(int hilos, Runnable trabajo) throws InterruptedException {
+        long t0 = System.nanoTime();
+        Thread[] ts = new Thread[hilos];
+        for (int i = 0; i < hilos; i++) ts[i] = Thread.ofPlatform().start(trabajo);
+        for (Thread t : ts) t.join();
+        return (System.nanoTime() - t0) / 1e6;
+    }
+
+    private interface Espera { void hasta(int t); }
+    private interface Lectura { int tiempo(); }
+
+    /** Espera i-ésima hasta el tick 1 + i % hasta; un hilo aparte da los ticks. */
+    private static double esperar(Thread.Builder constructor, int esperas, int hasta, Espera espera, Lectura lectura,
+                                  Runnable tick, AtomicInteger tarde) throws InterruptedException {
+        AtomicInteger listos = new AtomicInteger();
+        Thread[] ts = new Thread[esperas];
+        for (int i = 0; i < esperas; i++) {
+            int objetivo = 1 + i % hasta;
+            ts[i] = constructor.start(() -> {
+                listos.incrementAndGet();
+                espera.hasta(objetivo);
+                if (lectura.tiempo() < objetivo) tarde.incrementAndGet(); // despertó antes de tiempo
+            });
+        }
+        while (listos.get() < esperas) Thread.sleep(1);
+        Thread.sleep(20); // que todos lleguen a estacionarse
+        long t0 = System.nanoTime();
+        for (int i = 0; i < hasta; i++) {
+            tick.run();
+            Thread.sleep(0, 100_000);
+        }
+        for (Thread t : ts) t.join();
+        return (System.nanoTime() - t0) / 1e6;
+    }
+
+    /** El reloj anterior, solo como referencia; cuenta cada vuelta de wait(). */
+    private static class RelojMonitor {
+        private int tiempo;
+        final AtomicLong despertares = new AtomicLong();
+
+        synchronized void tick() {
+            tiempo++;
+            notifyAll();
+        }
+
+        synchronized void esperarHasta(int t) {
+            while (tiempo < t) {
+                try {
+                    wait();
+                    despertares.incrementAndGet();
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        }
+
+        synchronized int getTiempo() {
+            return tiempo;
+        }
+    }
+}
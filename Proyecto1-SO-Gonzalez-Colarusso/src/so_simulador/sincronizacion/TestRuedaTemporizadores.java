@@ -0,0 +1,69 @@
+package so_simulador.sincronizacion;
+
+/**
+ * Test de la rueda de temporizadores: cada elemento debe vencer
+ * exactamente en su tick, incluidos los que bajan en cascada.
+ */
+public class TestRuedaTemporizadores {
+    private static long[] vencimiento;
+    private static long[] vencioEn;
+    private static RuedaTemporizadores<Integer> rueda;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE RUEDA DE TEMPORIZADORES ===\n");
+
+        // 1. Vencimientos cercanos, medianos y lejanos (varios niveles)
+        long[] plazos = {1, 2, 63, 64, 65, 100, 4095, 4096, 4097, 262_143, 262_144, 300_000, 20_000_000};
+        rueda = new RuedaTemporizadores<>();
+        vencimiento = new long[plazos.length];
+        vencioEn = new long[plazos.length];
+        for (int i = 0; i < plazos.length; i++) {
+            vencimiento[i] = plazos[i];
+            vencioEn[i] = -1;
+            rueda.programar(i, plazos[i]);
+        }
+        RuedaTemporizadores.Entrada<Integer> cancelado = rueda.programar(99, 500);
+        System.out.println("✓ Programados: " + rueda.tamano());
+        System.out.println("✓ Cancelado antes de vencer: " + rueda.cancelar(cancelado));
+
+        while (!rueda.estaVacia()) {
+            rueda.avanzar(TestRuedaTemporizadores::registrar);
+        }
+
+        int errores = 0;
+        for (int i = 0; i < plazos.length; i++) {
+            if (vencioEn[i] != vencimiento[i]) {
+                System.out.println("✗ Elemento " + i + ": esperado " + vencimiento[i] + ", venció en " + vencioEn[i]);
+                errores++;
+            }
+        }
+        System.out.println((errores == 0 ? "✓ " : "✗ ") + "Vencimientos exactos: " +
+                (plazos.length - errores) + "/" + plazos.length);
+
+        // 2. Programar desde un tick avanzado (posición arbitraria de la rueda)
+        rueda = new RuedaTemporizadores<>();
+        rueda.avanzarHasta(12_345, null);
+        vencimiento = new long[200];
+        vencioEn = new long[200];
+        for (int i = 0; i < 200; i++) {
+            vencimiento[i] = 12_345 + 1 + (long) i * i * 37;
+            vencioEn[i] = -1;
+            rueda.programar(i, vencimiento[i]);
+        }
+        while (!rueda.estaVacia()) {
+            rueda.avanzar(TestRuedaTemporizadores::registrar);
+        }
+        errores = 0;
+        for (int i = 0; i < 200; i++) {
+            if (vencioEn[i] != vencimiento[i]) errores++;
+        }
+        System.out.println((errores == 0 ? "✓ " : "✗ ") + "Desde tick 12345: " +
+                (200 - errores) + "/200 exactos");
+
+        System.out.println("\n=== TEST COMPLETADO ===");
+    }
+
+    private static void registrar(Integer i) {
+        vencioEn[i] = rueda.getAhora();
+    }
+}
@@ -0,0 +1,169 @@
+package so_simulador.sincronizacion;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Test del semáforo: exclusión mutua con contención, orden FIFO en modo
+ * justo, esperas con vencimiento e interrupciones.
+ */
+public class TestSemaforo {
+    private static long contador;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== TEST DE SEMÁFORO ===\n");
+
+        // 1. Mutex con 64 hilos; comparado contra wait/notify
+        int hilos = 64, vueltas = 5_000;
+        for (Thread.Builder constructor : new Thread.Builder[] {Thread.ofPlatform(), Thread.ofVirtual()}) {
+            System.out.println(constructor instanceof Thread.Builder.OfVirtual ? "Hilos virtuales:" : "Hilos de plataforma:");
+            for (int ronda = 0; ronda < 2; ronda++) { // la primera calienta la JVM
+                boolean imprimir = ronda == 1;
+                mutex(new Semaforo(1, false), constructor, hilos, vueltas, imprimir);
+                mutex(new Semaforo(1, true), constructor, hilos, vueltas, imprimir);
+                monitor(new SemaforoMonitor(1), constructor, hilos, vueltas, imprimir);
+            }
+        }
+
+        // 2. Modo justo: los permisos salen en orden de llegada
+        Semaforo fifo = new Semaforo(0, true);
+        int n = 20;
+        int[] orden = new int[n];
+        int[] siguiente = {0};
+        Thread[] esperando = new Thread[n];
+        for (int i = 0; i < n; i++) {
+            int id = i;
+            esperando[i] = Thread.ofVirtual().start(() -> {
+                fifo.waitSem();
+                synchronized (orden) {
+                    orden[siguiente[0]++] = id;
+                }
+            });
+            while (fifo.getEnCola() < i + 1) Thread.onSpinWait(); // llegan de a uno
+        }
+        for (int i = 0; i < n; i++) fifo.signal();
+        for (Thread t : esperando) t.join();
+        boolean enOrden = true;
+        for (int i = 0; i < n; i++) enOrden &= orden[i] == i;
+        System.out.println((enOrden ? "✓" : "✗") + " Modo justo: " + n + " hilos despertados en orden de llegada");
+
+        // 3. Espera con vencimiento
+        Semaforo vacio = new Semaforo(0);
+        long t0 = System.nanoTime();
+        boolean obtuvo = vacio.tryWaitSem(20, TimeUnit.MILLISECONDS);
+        double ms = (System.nanoTime() - t0) / 1e6;
+        boolean vencio = !obtuvo && ms >= 19 && vacio.getEsperasVencidas() == 1 && !vacio.tryWaitSem();
+        System.out.println((vencio ? "✓" : "✗") + String.format(" tryWaitSem venció a los %.1f ms", ms));
+
+        // 4. Espera interrumpible
+        AtomicBoolean cortada = new AtomicBoolean();
+        Thread interrumpible = Thread.ofVirtual().start(() -> {
+            try {
+                vacio.waitSemInterrumpible();
+            } catch (InterruptedException e) {
+                cortada.set(true);
+            }
+        });
+        while (vacio.getEnCola() == 0) Thread.onSpinWait();
+        interrumpible.interrupt();
+        interrumpible.join();
+        System.out.println((cortada.get() && vacio.getEnCola() == 0 ? "✓" : "✗")
+                + " waitSemInterrumpible cortada por interrupción");
+
+        // 5. waitSem no se corta, pero repone la interrupción al salir
+        AtomicBoolean repuesta = new AtomicBoolean();
+        Thread ininterrumpible = Thread.ofVirtual().start(() -> {
+            vacio.waitSem();
+            repuesta.set(Thread.currentThread().isInterrupted());
+        });
+        while (vacio.getEnCola() == 0) Thread.onSpinWait();
+        ininterrumpible.interrupt();
+        Thread.sleep(10);
+        boolean sigueEsperando = ininterrumpible.isAlive();
+        vacio.signal();
+        ininterrumpible.join();
+        System.out.println((sigueEsperando && repuesta.get() ? "✓" : "✗")
+                + " waitSem sigue esperando tras la interrupción y la repone al obtener el permiso");
+
+        System.out.println("\n=== TEST COMPLETADO ===");
+    }
+
+    private static void mutex(Semaforo s, Thread.Builder constructor, int hilos, int vueltas, boolean imprimir) throws InterruptedException {
+        contador = 0;
+        long t0 = System.nanoTime();
+        Thread[] ts = new Thread[hilos];
+        for (int i = 0; i < hilos; i++) {
+            ts[i] = constructor.start(() -> {
+                for (int v = 0; v < vueltas; v++) {
+                    s.waitSem();
+                    contador++;
+                    if (v % 8 == 0) Thread.yield(); // cede con el permiso tomado: hay contención
+                    s.signal();
+                }
+            });
+        }
+        for (Thread t : ts) t.join();
+        double ms = (System.nanoTime() - t0) / 1e6;
+        boolean ok = contador == (long) hilos * vueltas && s.getAdquisiciones() == contador
+                && s.getValor() == 1 && s.getEnCola() == 0;
+        if (imprimir) {
+            System.out.println((ok ? "  ✓ " : "  ✗ ") + String.format("%-8s %6.0f ms | %s",
+                    s.esJusto() ? "justo" : "injusto", ms, s));
+        }
+    }
+
+    private static void monitor(SemaforoMonitor s, Thread.Builder constructor, int hilos, int vueltas, boolean imprimir) throws InterruptedException {
+        contador = 0;
+        long t0 = System.nanoTime();
+        Thread[] ts = new Thread[hilos];
+        for (int i = 0; i < hilos; i++) {
+            ts[i] = constructor.start(() -> {
+                for (int v = 0; v < vueltas; v++) {
+                    s.waitSem();
+                    contador++;
+                    if (v % 8 == 0) Thread.yield(); // cede con el permiso tomado: hay contención
+                    s.signal();
+                }
+            });
+        }
+        for (Thread t : ts) t.join();
+        double ms = (System.nanoTime() - t0) / 1e6;
+        if (imprimir) {
+            System.out.println((contador == (long) hilos * vueltas ? "  ✓ " : "  ✗ ")
+                    + String.format("%-8s %6.0f ms | synchronized + wait/notify (versión anterior), %d esperas",
+                    "monitor", ms, s.esperas));
+        }
+    }
+
+    /**
+     * El semáforo anterior, solo como referencia de rendimiento. Cuenta las
+     * veces que un hilo tuvo que esperar: con hilos virtuales el yield
+     * dentro de synchronized no suelta el portador, así que con un solo
+     * portador nunca hay contención.
+     */
+    private static class SemaforoMonitor {
+        private int valor;
+        long esperas;
+
+        SemaforoMonitor(int inicial) {
+            valor = inicial;
+        }
+
+        synchronized void waitSem() {
+            while (valor <= 0) {
+                esperas++;
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    // como antes
+                }
+            }
+            valor--;
+        }
+
+        synchronized void signal() {
+            valor++;
+            notify();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package so_simulador.sincronizacion;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tiempo virtual para el modo concurrente: los procesos no duermen con
+ * Thread.sleep sino que esperan ticks del Reloj, y el reloj avanza apenas
+ * todos los hilos están quietos (esperando al reloj o a un semáforo).
+ * Así una corrida va tan rápido como da la máquina y los tiempos de cada
+ * proceso son los mismos en todas las corridas.
+ *
+ * Se lleva la cuenta de hilos activos. Quien despierta a un hilo lo cuenta
+ * como activo antes de despertarlo (el reloj al vencer su espera, liberar()
+ * al entregarle el permiso), así que la cuenta nunca llega a 0 mientras
+ * haya alguno por correr.
+ *
+ * Un proceso suspendido deja de contar (ni vivo ni activo): el reloj sigue
+ * sin él hasta que reanudar() lo vuelve a anotar.
+ *
+ * Los empates dentro de un mismo tick (dos procesos que piden el mismo
+ * semáforo en el mismo tick) se resuelven en el orden en que corran.
+ */
+public class TiempoVirtual {
+    private final Reloj reloj;
+    private final AtomicInteger activos = new AtomicInteger();
+    private final AtomicInteger vivos = new AtomicInteger();
+    private final AtomicInteger suspendidos = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock(); // entregas de semáforos
+    private volatile Thread coordinador;
+    private long avances;
+
+    public TiempoVirtual(Reloj reloj) {
+        this.reloj = reloj;
+    }
+
+    /** Anota un proceso más; se llama antes de arrancar su hilo. */
+    public void registrar() {
+        vivos.incrementAndGet();
+        activos.incrementAndGet();
+    }
+
+    /** El proceso terminó: último llamado de su hilo. */
+    public void terminar() {
+        vivos.decrementAndGet();
+        quieto();
+    }
+
+    /**
+     * El proceso se suspende: deja de participar hasta reanudar(). Lo llama
+     * su propio hilo antes de estacionarse, sin esperar al reloj.
+     */
+    public void suspender() {
+        suspendidos.incrementAndGet(); // antes de bajar vivos: el coordinador no da la corrida por terminada
+        vivos.decrementAndGet();
+        quieto();
+    }
+
+    /**
+     * Vuelve a contar al proceso suspendido como vivo y activo; se llama
+     * antes de despertarlo, desde el hilo que lo reanuda.
+     */
+    public void reanudar() {
+        vivos.incrementAndGet();
+        activos.incrementAndGet();
+        suspendidos.decrementAndGet();
+        Thread c = coordinador;
+        if (c != null) LockSupport.unpark(c);
+    }
+
+    /** Espera 'ticks' ticks de tiempo virtual (al menos uno). */
+    public void esperarTicks(int ticks) {
+        // Primero se anota en el reloj, después se da por quieto: el
+        // coordinador no puede avanzar sin verlo
+        Reloj.Espera e = reloj.registrar(reloj.getTiempo() + Math.max(1, ticks));
+        quieto();
+        reloj.esperar(e);
+    }
+
+    /**
+     * waitSem en tiempo virtual: si no hay permiso, queda quieto hasta que
+     * se lo entreguen. El semáforo tiene que ser justo: en uno injusto el
+     * que llega puede quedarse con el permiso entregado a otro y las
+     * corridas dejan de repetirse.
+     */
+    public void adquirir(Semaforo s) {
+        if (!s.esJusto()) throw new IllegalArgumentException("El tiempo virtual necesita semáforos justos");
+        lock.lock();
+        try {
+            // Con esperas o entregas pendientes no se adelanta a nadie
+            if (s.esperandoVirtual == 0 && s.entregadosVirtual == 0 && s.tryWaitSem()) return;
+            s.esperandoVirtual++;
+        } finally {
+            lock.unlock();
+        }
+        quieto();
+        s.waitSem();
+        lock.lock();
+        try {
+            s.entregadosVirtual--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** signal en tiempo virtual: si alguien espera, lo cuenta activo antes de liberarlo. */
+    public void liberar(Semaforo s) {
+        lock.lock();
+        try {
+            if (s.esperandoVirtual > 0) {
+                s.esperandoVirtual--;
+                s.entregadosVirtual++;
+                activos.incrementAndGet();
+            }
+            s.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Avanza el reloj cada vez que todos están quietos, saltando directo al
+     * próximo vencimiento, hasta que terminen todos los procesos. Devuelve
+     * false si quedan procesos pero ninguno espera al reloj (interbloqueo
+     * en los semáforos). Si los que quedan dependen de suspendidos, espera
+     * sin avanzar a que alguno se reanude.
+     */
+    public boolean ejecutar() {
+        coordinador = Thread.currentThread();
+        try {
+            while (true) {
+                while (activos.get() > 0) LockSupport.park(this);
+                if (vivos.get() == 0 && suspendidos.get() == 0) return true;
+                if (vivos.get() > 0 && reloj.avanzarAlProximo(activos) > 0) {
+                    avances++;
+                } else if (suspendidos.get() > 0) {
+                    LockSupport.park(this); // hasta un reanudar()
+                } else {
+                    return false;
+                }
+            }
+        } finally {
+            coordinador = null;
+        }
+    }
+
+    public int getTiempo() { return reloj.getTiempo(); }
+    public Reloj getReloj() { return reloj; }
+    /** Veces que el coordinador avanzó el reloj. */
+    public long getAvances() { return avances; }
+    public int getVivos() { return vivos.get(); }
+    public int getSuspendidos() { return suspendidos.get(); }
+
+    private void quieto() {
+        if (activos.decrementAndGet() == 0) {
+            Thread c = coordinador;
+            if (c != null) LockSupport.unpark(c);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package so_simulador.util;
+
+import java.io.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escritor de log asíncrono.
+ * Quien registra solo deja la línea en un buffer circular acotado y sin
+ * locks; un hilo de fondo la escribe en el archivo y hace flush por lotes
+ * (al juntar tamanoLote líneas o al pasar intervaloFlushMs).
+ *
+ * El buffer admite varios productores y un solo consumidor: cada casilla
+ * tiene un número de secuencia que indica si está libre o lista para leer.
+ */
+public class EscritorAsincrono {
+    /** Qué hacer cuando el buffer está lleno. */
+    public enum PoliticaDesborde {
+        DESCARTAR, // se pierde la línea (se cuenta en getDescartadas)
+        BLOQUEAR   // quien registra espera a que haya lugar
+    }
+
+    private final Writer destino;
+    private final PoliticaDesborde politica;
+    private final int tamanoLote;
+    private final long intervaloFlushNs;
+
+    // Buffer circular (capacidad potencia de dos)
+    private final int mascara;
+    private final AtomicReferenceArray<String> lineas;
+    private final AtomicLongArray secuencias;
+    private final AtomicLong posEscritura = new AtomicLong();
+    private long posLectura; // solo la usa el hilo escritor
+
+    private final Thread hilo;
+    private volatile boolean cerrado;
+    private volatile boolean esperando;         // el hilo escritor está dormido
+    private volatile long flushPedidoHasta = -1; // posición que vaciar() quiere ver escrita
+    private volatile long flushHecho = 0;        // posición escrita y con flush
+    private final AtomicLong descartadas = new AtomicLong();
+    private volatile boolean errorReportado;
+
+    public EscritorAsincrono(Writer destino, int capacidad, int tamanoLote,
+                             long intervaloFlushMs, PoliticaDesborde politica) {
+        int cap = 2;
+        while (cap < capacidad) cap <<= 1;
+        this.mascara = cap - 1;
+        this.lineas = new AtomicReferenceArray<>(cap);
+        this.secuencias = new AtomicLongArray(cap);
+        for (int i = 0; i < cap; i++) secuencias.set(i, i);
+
+        this.destino = destino instanceof BufferedWriter ? destino : new BufferedWriter(destino, 1 << 16);
+        this.tamanoLote = Math.max(1, tamanoLote);
+        this.intervaloFlushNs = Math.max(1, intervaloFlushMs) * 1_000_000L;
+        this.politica = politica;
+
+        this.hilo = new Thread(this::bucleEscritor, "log-escritor");
+        this.hilo.setDaemon(true);
+        this.hilo.start();
+    }
+
+    /**
+     * Encola una línea para escribir. Con DESCARTAR devuelve false si el
+     * buffer estaba lleno; con BLOQUEAR espera hasta poder encolarla.
+     */
+    public boolean escribir(String linea) {
+        if (cerrado) return false;
+        while (!ofrecer(linea)) {
+            if (politica == PoliticaDesborde.DESCARTAR) {
+                descartadas.incrementAndGet();
+                return false;
+            }
+            LockSupport.unpark(hilo);
+            LockSupport.parkNanos(50_000);
+            if (cerrado) return false;
+        }
+        if (esperando) LockSupport.unpark(hilo);
+        return true;
+    }
+
+    /**
+     * Espera a que todo lo encolado hasta ahora esté escrito y con flush.
+     */
+    public void vaciar() {
+        long objetivo = posEscritura.get();
+        if (flushHecho >= objetivo) return;
+        flushPedidoHasta = objetivo;
+        while (flushHecho < objetivo && hilo.isAlive()) {
+            LockSupport.unpark(hilo);
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    /** Escribe lo pendiente, detiene el hilo y cierra el archivo. */
+    public void cerrar() {
+        if (cerrado) return;
+        cerrado = true;
+        LockSupport.unpark(hilo);
+        try {
+            hilo.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            destino.close();
+        } catch (IOException e) {
+            reportarError(e);
+        }
+    }
+
+    public long getDescartadas() {
+        return descartadas.get();
+    }
+
+    // ========== BUFFER CIRCULAR ==========
+
+    private boolean ofrecer(String linea) {
+        while (true) {
+            long pos = posEscritura.get();
+            int i = (int) (pos & mascara);
+            long dif = secuencias.get(i) - pos;
+            if (dif == 0) {
+                if (posEscritura.compareAndSet(pos, pos + 1)) {
+                    lineas.set(i, linea);
+                    secuencias.set(i, pos + 1); // publica la casilla
+                    return true;
+                }
+            } else if (dif < 0) {
+                return false; // lleno: la casilla todavía no fue leída
+            }
+            // Otro productor tomó esta posición: reintentar
+        }
+    }
+
+    private String tomar() {
+        int i = (int) (posLectura & mascara);
+        if (secuencias.get(i) != posLectura + 1) return null;
+        String linea = lineas.get(i);
+        lineas.set(i, null);
+        secuencias.set(i, posLectura + mascara + 1); // libera la casilla para la próxima vuelta
+        posLectura++;
+        return linea;
+    }
+
+    // ========== HILO ESCRITOR ==========
+
+    private void bucleEscritor() {
+        int enLote = 0;
+        long ultimoFlush = System.nanoTime();
+
+        while (true) {
+            String linea = tomar();
+            if (linea != null) {
+                try {
+                    destino.write(linea);
+                    destino.write('\n');
+                } catch (IOException e) {
+                    reportarError(e);
+                }
+                if (++enLote >= tamanoLote) {
+                    flush();
+                    enLote = 0;
+                    ultimoFlush = System.nanoTime();
+                }
+                continue;
+            }
+
+            // Buffer vacío: flush si venció el intervalo o si hay un pedido de
+            // vaciar() sin cumplir (uno ya cumplido no adelanta los siguientes lotes)
+            long ahora = System.nanoTime();
+            long pedidoHasta = flushPedidoHasta;
+            boolean pedido = pedidoHasta > flushHecho && posLectura >= pedidoHasta;
+            if (enLote > 0 && (pedido || ahora - ultimoFlush >= intervaloFlushNs)) {
+                flush();
+                enLote = 0;
+                ultimoFlush = ahora;
+            }
+
+            if (cerrado) {
+                if (tomarPendientes()) continue;
+                flush();
+                return;
+            }
+
+            esperando = true;
+            if (posEscritura.get() == posLectura && !cerrado) {
+                LockSupport.parkNanos(enLote > 0 ? intervaloFlushNs : intervaloFlushNs * 10);
+            }
+            esperando = false;
+        }
+    }
+
+    /** Al cerrar: indica si todavía quedan líneas publicadas. */
+    private boolean tomarPendientes() {
+        return secuencias.get((int) (posLectura & mascara)) == posLectura + 1;
+    }
+
+    /** Solo después de un flush real lo leído cuenta como hecho para vaciar(). */
+    private void flush() {
+        try {
+            destino.flush();
+        } catch (IOException e) {
+            reportarError(e);
+        }
+        flushHecho = posLectura;
+    }
+
+    private void reportarError(IOException e) {
+        if (!errorReportado) {
+            errorReportado = true;
+            System.err.println("Error al escribir log: " + e.getMessage());
+        }
+    }
+}
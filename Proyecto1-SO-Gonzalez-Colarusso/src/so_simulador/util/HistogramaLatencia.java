@@ -0,0 +1,107 @@
+package so_simulador.util;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de latencias en ticks con cubetas log-lineales (al estilo
+ * HdrHistogram): los valores menores que 128 se cuentan exactos y de ahí en
+ * adelante cada potencia de dos se parte en 64 cubetas, así que el error
+ * relativo de un percentil es menor que 1/64 (~1,6%).
+ *
+ * La memoria es fija (1664 contadores) sin importar cuántos valores se
+ * registren, y dos histogramas se combinan sumando cubeta a cubeta, lo que
+ * permite juntar los de corridas en paralelo.
+ */
+public class HistogramaLatencia {
+    private static final int BITS_SUBCUBETA = 7;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;      // 128
+    private static final int MITAD = SUBCUBETAS >> 1;               // 64
+    // Hasta Integer.MAX_VALUE: el bit más alto es el 30 → desplazamiento 24
+    private static final int CUBETAS = SUBCUBETAS + (31 - BITS_SUBCUBETA) * MITAD;
+
+    private final long[] cuentas = new long[CUBETAS];
+    private long cantidad;
+    private long suma;
+    private int minimo = Integer.MAX_VALUE;
+    private int maximo;
+
+    /** Registra un valor (los negativos cuentan como 0). */
+    public void registrar(int valor) {
+        if (valor < 0) valor = 0;
+        cuentas[indice(valor)]++;
+        cantidad++;
+        suma += valor;
+        if (valor < minimo) minimo = valor;
+        if (valor > maximo) maximo = valor;
+    }
+
+    /** Suma los valores de 'otro' a este histograma. */
+    public void combinar(HistogramaLatencia otro) {
+        if (otro.cantidad == 0) return;
+        for (int i = 0; i < CUBETAS; i++) cuentas[i] += otro.cuentas[i];
+        cantidad += otro.cantidad;
+        suma += otro.suma;
+        if (otro.minimo < minimo) minimo = otro.minimo;
+        if (otro.maximo > maximo) maximo = otro.maximo;
+    }
+
+    public void reiniciar() {
+        Arrays.fill(cuentas, 0);
+        cantidad = 0;
+        suma = 0;
+        minimo = Integer.MAX_VALUE;
+        maximo = 0;
+    }
+
+    /**
+     * Valor por debajo del cual queda el 'porcentaje' % de los registros
+     * (el mayor valor equivalente de su cubeta, sin pasar el máximo visto).
+     */
+    public int getPercentil(double porcentaje) {
+        if (cantidad == 0) return 0;
+        long objetivo = (long) Math.ceil(Math.max(0, Math.min(100, porcentaje)) / 100.0 * cantidad);
+        if (objetivo < 1) objetivo = 1;
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += cuentas[i];
+            if (acumulado >= objetivo) return (int) Math.min(maximo, limiteSuperior(i));
+        }
+        return maximo;
+    }
+
+    public long getCantidad() { return cantidad; }
+    public int getMinimo() { return cantidad == 0 ? 0 : minimo; }
+    public int getMaximo() { return maximo; }
+
+    public double getPromedio() {
+        return cantidad == 0 ? 0.0 : (double) suma / cantidad;
+    }
+
+    /** "p50 .. p90 .. p99 .. p99.9 .. max .." en ticks. */
+    public String getResumen() {
+        return String.format("p50 %d | p90 %d | p99 %d | p99.9 %d | max %d (n=%d)",
+                getPercentil(50), getPercentil(90), getPercentil(99), getPercentil(99.9),
+                maximo, cantidad);
+    }
+
+    @Override
+    public String toString() {
+        return getResumen();
+    }
+
+    // ========== CUBETAS ==========
+
+    private static int indice(int valor) {
+        if (valor < SUBCUBETAS) return valor;
+        int desplazamiento = (31 - Integer.numberOfLeadingZeros(valor)) - (BITS_SUBCUBETA - 1);
+        int alto = valor >>> desplazamiento; // entre 64 y 127
+        return SUBCUBETAS + (desplazamiento - 1) * MITAD + (alto - MITAD);
+    }
+
+    private static long limiteSuperior(int indice) {
+        if (indice < SUBCUBETAS) return indice;
+        int desplazamiento = (indice - SUBCUBETAS) / MITAD + 1;
+        long alto = MITAD + (indice - SUBCUBETAS) % MITAD;
+        return ((alto + 1) << desplazamiento) - 1;
+    }
+}
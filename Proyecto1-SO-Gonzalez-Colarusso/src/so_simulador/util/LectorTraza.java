@@ -0,0 +1,305 @@
+package so_simulador.util;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import so_simulador.modelo.EstadoProceso;
+
+/**
+ * Lee una traza de TrazaBinaria registro por registro, sin cargarla
+ * entera en memoria. Se puede filtrar por tipo de evento, PID y rango de
+ * ciclos, y convertir cada evento a la misma línea que escribe LogEventos.
+ *
+ * Uso como herramienta:
+ *   java so_simulador.util.LectorTraza traza.trz [--tipo EJECUCION,BLOQUEO]
+ *        [--pid N] [--desde C] [--hasta C] [--salida texto.log] [--resumen]
+ */
+public class LectorTraza implements Closeable {
+    private static final LogEventos.TipoEvento[] TIPOS = LogEventos.TipoEvento.values();
+    private static final EstadoProceso[] ESTADOS = EstadoProceso.values();
+    private static final int TAMANO = TrazaBinaria.TAMANO_REGISTRO;
+
+    private final FileChannel canal;
+    private final ByteBuffer buffer;
+    private final long inicioMillis;
+
+    // Textos y nombres vistos hasta ahora
+    private String[] cadenas = new String[64];
+    private String[] nombres = new String[64];
+
+    // Filtros (null / -1 = sin filtro)
+    private boolean[] tiposAceptados;
+    private int pidFiltro = -1;
+    private int cicloDesde = Integer.MIN_VALUE;
+    private int cicloHasta = Integer.MAX_VALUE;
+
+    // Evento actual
+    private int ciclo;
+    private LogEventos.TipoEvento tipo;
+    private byte desde;
+    private byte hacia;
+    private int pid;
+    private int dato1;
+    private int dato2;
+    private int dato3;
+    private long leidos;
+
+    public LectorTraza(String archivo) throws IOException {
+        this.canal = FileChannel.open(Path.of(archivo), StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(TAMANO * 8192);
+        buffer.limit(0);
+
+        if (!llenar(1) || buffer.getInt() != TrazaBinaria.MAGICO) {
+            canal.close();
+            throw new IOException("No es una traza del simulador: " + archivo);
+        }
+        short version = buffer.getShort();
+        short tamano = buffer.getShort();
+        if (version != TrazaBinaria.VERSION || tamano != TAMANO) {
+            canal.close();
+            throw new IOException("Versión de traza no soportada: " + version);
+        }
+        this.inicioMillis = buffer.getLong();
+        buffer.getLong();
+    }
+
+    // ========== FILTROS ==========
+
+    /** Acepta solo los tipos indicados por nombre (ej. "EJECUCION"). */
+    public void setTipos(String... nombresTipo) {
+        tiposAceptados = new boolean[TIPOS.length];
+        for (String nombre : nombresTipo) {
+            tiposAceptados[LogEventos.TipoEvento.valueOf(nombre.trim().toUpperCase()).ordinal()] = true;
+        }
+    }
+
+    public void setPid(int pid) {
+        this.pidFiltro = pid;
+    }
+
+    public void setRangoCiclos(int desde, int hasta) {
+        this.cicloDesde = desde;
+        this.cicloHasta = hasta;
+    }
+
+    // ========== LECTURA ==========
+
+    /**
+     * Avanza al próximo evento que pase los filtros.
+     * Devuelve false al llegar al final de la traza.
+     */
+    public boolean siguiente() throws IOException {
+        while (llenar(1)) {
+            int c = buffer.getInt();
+            byte t = buffer.get();
+            byte d = buffer.get();
+            byte h = buffer.get();
+            buffer.get();
+            int p = buffer.getInt();
+            int d1 = buffer.getInt();
+            int d2 = buffer.getInt();
+            int d3 = buffer.getInt();
+
+            if (t == TrazaBinaria.CADENA) {
+                leerCadena(p, d1);
+                continue;
+            }
+            if (t == TrazaBinaria.NOMBRE) {
+                nombres = guardar(nombres, p, getCadena(d1));
+                continue;
+            }
+            leidos++;
+
+            if (t < 0 || t >= TIPOS.length) continue; // tipo desconocido
+            if (tiposAceptados != null && !tiposAceptados[t]) continue;
+            if (pidFiltro >= 0 && p != pidFiltro) continue;
+            // Los mensajes sin ciclo (logSistema) solo se filtran por tipo
+            if (c != TrazaBinaria.SIN_DATO && (c < cicloDesde || c > cicloHasta)) continue;
+
+            ciclo = c;
+            tipo = TIPOS[t];
+            desde = d;
+            hacia = h;
+            pid = p;
+            dato1 = d1;
+            dato2 = d2;
+            dato3 = d3;
+            return true;
+        }
+        return false;
+    }
+
+    public int getCiclo() { return ciclo; }
+    public String getTipo() { return tipo.name(); }
+    public int getPid() { return pid; }
+    public EstadoProceso getDesde() { return desde < 0 ? null : ESTADOS[desde]; }
+    public EstadoProceso getHacia() { return hacia < 0 ? null : ESTADOS[hacia]; }
+    public int getDato1() { return dato1; }
+    public int getDato2() { return dato2; }
+    public int getDato3() { return dato3; }
+    public long getInicioMillis() { return inicioMillis; }
+
+    /** Eventos leídos hasta ahora, pasen o no los filtros. */
+    public long getLeidos() { return leidos; }
+
+    public String getCadena(int id) {
+        return id >= 0 && id < cadenas.length && cadenas[id] != null ? cadenas[id] : "?";
+    }
+
+    public String getNombreProceso(int pid) {
+        return pid >= 0 && pid < nombres.length && nombres[pid] != null ? nombres[pid] : "PID " + pid;
+    }
+
+    /**
+     * El evento actual con el mismo texto que escribe LogEventos
+     * (sin la marca de tiempo).
+     */
+    public String aTexto() {
+        String nombre = getNombreProceso(pid);
+        String c = "[Ciclo " + ciclo + "] ";
+        switch (tipo) {
+            case SELECCION:
+                return c + "PLANIFICADOR (" + getCadena(dato3) + ") → Selecciona: " + nombre
+                    + " (ID:" + pid + ", PC:" + dato1 + "/" + dato2 + ")";
+            case CAMBIO_ESTADO:
+                return c + nombre + ": " + getDesde() + " → " + getHacia();
+            case BLOQUEO:
+                return c + "BLOQUEO: " + nombre + " → " + getCadena(dato3) + " (PC:" + dato1 + ")";
+            case DESBLOQUEO:
+                return c + "DESBLOQUEO: " + nombre + " → LISTO";
+            case SWAP:
+                return c + (dato1 == 1 ? "SWAP IN" : "SWAP OUT") + ": " + nombre
+                    + " (Política: " + getCadena(dato3) + ")";
+            case FINALIZACION:
+                return c + "TERMINADO: " + nombre + " (Instrucciones: " + dato1 + "/" + dato2 + ")";
+            case ADMISION:
+                return c + "ADMISIÓN: " + nombre + " (ID:" + pid + ", " + (dato3 == 1 ? "CPU-bound" : "I/O-bound")
+                    + ", " + dato1 + " inst, Prior:" + dato2 + ")";
+            case CAMBIO_PLANIFICADOR:
+                return c + "CAMBIO PLANIFICADOR: " + getCadena(dato1) + " → " + getCadena(dato2);
+            case QUANTUM:
+                return c + "QUANTUM AGOTADO: " + nombre + " (q=" + dato1 + ") → Cola de listos";
+            case CPU_IDLE:
+                if (dato1 != TrazaBinaria.SIN_DATO) {
+                    return c + "CPU INACTIVA: Sin procesos listos hasta el ciclo " + dato1;
+                }
+                return c + "CPU INACTIVA: " + getCadena(dato3);
+            case LARGO_PLAZO:
+                return c + "PLANIF. LARGO PLAZO: " + dato1 + " procesos cargados, " + dato2 + " en espera";
+            case MEDIANO_PLAZO:
+                return c + "PLANIF. MEDIANO PLAZO: " + dato1 + " procesos reanudados";
+            case EJECUCION:
+                return c + "EJECUCIÓN: " + nombre + " ejecutó " + dato1 + " instrucciones (PC:" + dato2 + "/" + dato3 + ")";
+            case ADVERTENCIA:
+                return "⚠ ADVERTENCIA: " + getCadena(dato3);
+            case ERROR:
+                return "✗ ERROR: " + getCadena(dato3);
+            default: // SISTEMA
+                return getCadena(dato3);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    // ========== AUXILIARES ==========
+
+    /** Deja al menos 'registros' registros completos en el buffer. */
+    private boolean llenar(int registros) throws IOException {
+        int necesario = registros * TAMANO;
+        if (buffer.remaining() >= necesario) return true;
+        buffer.compact();
+        while (buffer.position() < necesario) {
+            if (canal.read(buffer) < 0) break;
+        }
+        buffer.flip();
+        return buffer.remaining() >= necesario;
+    }
+
+    private void leerCadena(int id, int largo) throws IOException {
+        byte[] bytes = new byte[largo];
+        int extra = (largo + TAMANO - 1) / TAMANO;
+        int copiados = 0;
+        for (int i = 0; i < extra; i++) {
+            if (!llenar(1)) throw new EOFException("Traza cortada dentro de un texto");
+            int n = Math.min(TAMANO, largo - copiados);
+            buffer.get(bytes, copiados, n);
+            buffer.position(buffer.position() + TAMANO - n); // relleno
+            copiados += n;
+        }
+        cadenas = guardar(cadenas, id, new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private static String[] guardar(String[] tabla, int indice, String valor) {
+        if (indice < 0) return tabla;
+        if (indice >= tabla.length) {
+            String[] nueva = new String[Math.max(indice + 1, tabla.length * 2)];
+            System.arraycopy(tabla, 0, nueva, 0, tabla.length);
+            tabla = nueva;
+        }
+        tabla[indice] = valor;
+        return tabla;
+    }
+
+    // ========== HERRAMIENTA DE LÍNEA DE COMANDOS ==========
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Uso: LectorTraza <traza> [--tipo T1,T2] [--pid N] [--desde C] [--hasta C]"
+                + " [--salida archivo] [--resumen]");
+            return;
+        }
+
+        String salida = null;
+        boolean resumen = false;
+        try (LectorTraza lector = new LectorTraza(args[0])) {
+            int desde = Integer.MIN_VALUE;
+            int hasta = Integer.MAX_VALUE;
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--tipo": lector.setTipos(args[++i].split(",")); break;
+                    case "--pid": lector.setPid(Integer.parseInt(args[++i])); break;
+                    case "--desde": desde = Integer.parseInt(args[++i]); break;
+                    case "--hasta": hasta = Integer.parseInt(args[++i]); break;
+                    case "--salida": salida = args[++i]; break;
+                    case "--resumen": resumen = true; break;
+                    default:
+                        System.err.println("Opción desconocida: " + args[i]);
+                        return;
+                }
+            }
+            lector.setRangoCiclos(desde, hasta);
+
+            long[] porTipo = new long[TIPOS.length];
+            long aceptados = 0;
+            PrintWriter out = null;
+            if (!resumen || salida != null) {
+                out = salida != null
+                    ? new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+                        new FileOutputStream(salida), StandardCharsets.UTF_8), 1 << 16))
+                    : new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16));
+            }
+            while (lector.siguiente()) {
+                aceptados++;
+                porTipo[lector.tipo.ordinal()]++;
+                if (out != null) out.println(lector.aTexto());
+            }
+            if (out != null) out.flush();
+            if (salida != null) out.close();
+
+            if (resumen) {
+                System.out.println("Eventos en la traza: " + lector.getLeidos() + " | filtrados: " + aceptados);
+                for (int t = 0; t < TIPOS.length; t++) {
+                    if (porTipo[t] > 0) System.out.printf("  %-20s %d%n", TIPOS[t], porTipo[t]);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error al leer traza: " + e.getMessage());
+        }
+    }
+}
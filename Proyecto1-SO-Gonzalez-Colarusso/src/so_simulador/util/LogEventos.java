@@ -9,13 +9,26 @@ import java.util.Date;
 /**
  * Sistema de logging de eventos del simulador.
  * Registra todas las decisiones importantes del planificador y cambios de estado.
+ * La escritura al archivo la hace un EscritorAsincrono: registrar un evento
+ * solo arma la línea y la encola, sin tocar el disco.
  */
 public class LogEventos {
-    private static LogEventos instancia = null;
-    private PrintWriter writer;
+    private EscritorAsincrono writer;
     private boolean habilitado;
     private SimpleDateFormat formatoTiempo;
     private String archivoActual;
+    private TrazaBinaria traza;   // null = sin traza binaria
+    private String archivoTraza;
+    
+    // Configuración del escritor (se aplica en el próximo iniciarLog)
+    private int capacidadCola = 8192;
+    private int tamanoLote = 256;
+    private long intervaloFlushMs = 50;
+    private EscritorAsincrono.PoliticaDesborde politicaDesborde = EscritorAsincrono.PoliticaDesborde.BLOQUEAR;
+    
+    // Marca de tiempo cacheada: "HH:mm:ss." se recalcula una vez por segundo
+    private long segundoCacheado = -1;
+    private String prefijoTiempo = "";
     
     // Buffer en memoria para GUI (máximo 1000 eventos)
     private String[] bufferEventos;
@@ -23,21 +36,18 @@ public class LogEventos {
     private int totalEventos;
     private static final int MAX_BUFFER = 1000;
     
-    private LogEventos() {
+    /**
+     * Un log por simulación (lo crea ContextoSimulacion), así varias
+     * simulaciones en paralelo no comparten archivo ni buffer.
+     */
+    public LogEventos() {
         this.habilitado = true;
-        this.formatoTiempo = new SimpleDateFormat("HH:mm:ss.SSS");
+        this.formatoTiempo = new SimpleDateFormat("HH:mm:ss.");
         this.bufferEventos = new String[MAX_BUFFER];
         this.indiceBuffer = 0;
         this.totalEventos = 0;
     }
     
-    public static synchronized LogEventos getInstance() {
-        if (instancia == null) {
-            instancia = new LogEventos();
-        }
-        return instancia;
-    }
-    
     /**
      * Inicia un nuevo archivo de log
      */
@@ -51,7 +61,8 @@ public class LogEventos {
             }
             
             this.archivoActual = nombreArchivo;
-            this.writer = new PrintWriter(new FileWriter(nombreArchivo, false));
+            this.writer = new EscritorAsincrono(new FileWriter(nombreArchivo, false),
+                capacidadCola, tamanoLote, intervaloFlushMs, politicaDesborde);
             
             // Escribir encabezado
             escribirLinea("═".repeat(80));
@@ -76,8 +87,11 @@ public class LogEventos {
             escribirLinea("═".repeat(80));
             escribirLinea("Fin del log: " + new Date());
             escribirLinea("Total de eventos: " + totalEventos);
+            if (writer.getDescartadas() > 0) {
+                escribirLinea("Eventos descartados (buffer lleno): " + writer.getDescartadas());
+            }
             escribirLinea("═".repeat(80));
-            writer.close();
+            writer.cerrar();
             writer = null;
         }
     }
@@ -88,11 +102,12 @@ public class LogEventos {
      * Registra que el planificador seleccionó un proceso
      */
     public void logSeleccion(int ciclo, String algoritmo, Proceso proceso) {
-        String msg = String.format("[Ciclo %d] PLANIFICADOR (%s) → Selecciona: %s (ID:%d, PC:%d/%d)",
-            ciclo, algoritmo, proceso.getPCB().getNombre(), 
-            proceso.getPCB().getId(),
-            proceso.getPCB().getProgramCounter(),
-            proceso.getInstruccionesTotales());
+        if (traza != null) trazar(ciclo, TipoEvento.SELECCION, proceso, null, null,
+            proceso.getPCB().getProgramCounter(), proceso.getInstruccionesTotales(), traza.cadena(algoritmo));
+        if (!habilitado) return;
+        String msg = "[Ciclo " + ciclo + "] PLANIFICADOR (" + algoritmo + ") → Selecciona: "
+            + proceso.getPCB().getNombre() + " (ID:" + proceso.getPCB().getId()
+            + ", PC:" + proceso.getPCB().getProgramCounter() + "/" + proceso.getInstruccionesTotales() + ")";
         registrar(msg, TipoEvento.SELECCION);
     }
     
@@ -100,8 +115,11 @@ public class LogEventos {
      * Registra cambio de estado de un proceso
      */
     public void logCambioEstado(int ciclo, Proceso proceso, EstadoProceso estadoAnterior, EstadoProceso estadoNuevo) {
-        String msg = String.format("[Ciclo %d] %s: %s → %s",
-            ciclo, proceso.getPCB().getNombre(), estadoAnterior, estadoNuevo);
+        if (traza != null) trazar(ciclo, TipoEvento.CAMBIO_ESTADO, proceso, estadoAnterior, estadoNuevo,
+            TrazaBinaria.SIN_DATO, TrazaBinaria.SIN_DATO, TrazaBinaria.SIN_DATO);
+        if (!habilitado) return;
+        String msg = "[Ciclo " + ciclo + "] " + proceso.getPCB().getNombre() + ": "
+            + estadoAnterior + " → " + estadoNuevo;
         registrar(msg, TipoEvento.CAMBIO_ESTADO);
     }
     
@@ -109,9 +127,11 @@ public class LogEventos {
      * Registra bloqueo por E/S
      */
     public void logBloqueo(int ciclo, Proceso proceso, String motivo) {
-        String msg = String.format("[Ciclo %d] BLOQUEO: %s → %s (PC:%d)",
-            ciclo, proceso.getPCB().getNombre(), motivo, 
-            proceso.getPCB().getProgramCounter());
+        if (traza != null) trazar(ciclo, TipoEvento.BLOQUEO, proceso, null, null,
+            proceso.getPCB().getProgramCounter(), TrazaBinaria.SIN_DATO, traza.cadena(motivo));
+        if (!habilitado) return;
+        String msg = "[Ciclo " + ciclo + "] BLOQUEO: " + proceso.getPCB().getNombre()
+            + " → " + motivo + " (PC:" + proceso.getPCB().getProgramCounter() + ")";
         registrar(msg, TipoEvento.BLOQUEO);
     }
     
@@ -119,8 +139,10 @@ public class LogEventos {
      * Registra desbloqueo de un proceso
      */
     public void logDesbloqueo(int ciclo, Proceso proceso) {
-        String msg = String.format("[Ciclo %d] DESBLOQUEO: %s → LISTO",
-            ciclo, proceso.getPCB().getNombre());
+        if (traza != null) trazar(ciclo, TipoEvento.DESBLOQUEO, proceso, null, null,
+            TrazaBinaria.SIN_DATO, TrazaBinaria.SIN_DATO, TrazaBinaria.SIN_DATO);
+        if (!habilitado) return;
+        String msg = "[Ciclo " + ciclo + "] DESBLOQUEO: " + proceso.getPCB().getNombre() + " → LISTO";
         registrar(msg, TipoEvento.DESBLOQUEO);
     }
     
@@ -128,6 +150,9 @@ public class LogEventos {
      * Registra operación de swapping
      */
     public void logSwap(int ciclo, Proceso proceso, String politica, boolean entrada) {
+        if (traza != null) trazar(ciclo, TipoEvento.SWAP, proceso, null, null,
+            entrada ? 1 : 0, TrazaBinaria.SIN_DATO, traza.cadena(politica));
+        if (!habilitado) return;
         String operacion = entrada ? "SWAP IN" : "SWAP OUT";
         String msg = String.format("[Ciclo %d] %s: %s (Política: %s)",
             ciclo, operacion, proceso.getPCB().getNombre(), politica);
@@ -138,10 +163,11 @@ public class LogEventos {
      * Registra finalización de un proceso
      */
     public void logFinalizacion(int ciclo, Proceso proceso) {
-        String msg = String.format("[Ciclo %d] TERMINADO: %s (Instrucciones: %d/%d)",
-            ciclo, proceso.getPCB().getNombre(),
-            proceso.getPCB().getProgramCounter(),
-            proceso.getInstruccionesTotales());
+        if (traza != null) trazar(ciclo, TipoEvento.FINALIZACION, proceso, null, null,
+            proceso.getPCB().getProgramCounter(), proceso.getInstruccionesTotales(), TrazaBinaria.SIN_DATO);
+        if (!habilitado) return;
+        String msg = "[Ciclo " + ciclo + "] TERMINADO: " + proceso.getPCB().getNombre()
+            + " (Instrucciones: " + proceso.getPCB().getProgramCounter() + "/" + proceso.getInstruccionesTotales() + ")";
         registrar(msg, TipoEvento.FINALIZACION);
     }
     
@@ -149,6 +175,9 @@ public class LogEventos {
      * Registra admisión de proceso al sistema
      */
     public void logAdmision(int ciclo, Proceso proceso) {
+        if (traza != null) trazar(ciclo, TipoEvento.ADMISION, proceso, null, null,
+            proceso.getInstruccionesTotales(), proceso.getPrioridad(), proceso.isCPUbound() ? 1 : 0);
+        if (!habilitado) return;
         String tipo = proceso.isCPUbound() ? "CPU-bound" : "I/O-bound";
         String msg = String.format("[Ciclo %d] ADMISIÓN: %s (ID:%d, %s, %d inst, Prior:%d)",
             ciclo, proceso.getPCB().getNombre(), proceso.getPCB().getId(),
@@ -160,24 +189,45 @@ public class LogEventos {
      * Registra cambio de planificador
      */
     public void logCambioPlanificador(int ciclo, String anterior, String nuevo) {
+        if (traza != null) traza.registrar(ciclo, TipoEvento.CAMBIO_PLANIFICADOR, TrazaBinaria.SIN_DATO, null, null,
+            traza.cadena(anterior), traza.cadena(nuevo), TrazaBinaria.SIN_DATO);
+        if (!habilitado) return;
         String msg = String.format("[Ciclo %d] CAMBIO PLANIFICADOR: %s → %s",
             ciclo, anterior, nuevo);
-        registrar(msg, TipoEvento.SISTEMA);
+        registrar(msg, TipoEvento.CAMBIO_PLANIFICADOR);
     }
     
     /**
      * Registra agotamiento de quantum en Round Robin
      */
     public void logQuantumAgotado(int ciclo, Proceso proceso, int quantum) {
-        String msg = String.format("[Ciclo %d] QUANTUM AGOTADO: %s (q=%d) → Cola de listos",
-            ciclo, proceso.getPCB().getNombre(), quantum);
+        if (traza != null) trazar(ciclo, TipoEvento.QUANTUM, proceso, null, null,
+            quantum, TrazaBinaria.SIN_DATO, TrazaBinaria.SIN_DATO);
+        if (!habilitado) return;
+        String msg = "[Ciclo " + ciclo + "] QUANTUM AGOTADO: " + proceso.getPCB().getNombre()
+            + " (q=" + quantum + ") → Cola de listos";
         registrar(msg, TipoEvento.QUANTUM);
     }
     
+    /**
+     * Registra CPU inactiva hasta un ciclo: en la traza el ciclo va como
+     * dato numérico, no como texto nuevo en cada evento
+     */
+    public void logCPUInactivaHasta(int ciclo, int hasta) {
+        if (traza != null) traza.registrar(ciclo, TipoEvento.CPU_IDLE, TrazaBinaria.SIN_DATO, null, null,
+            hasta, TrazaBinaria.SIN_DATO, TrazaBinaria.SIN_DATO);
+        if (!habilitado) return;
+        registrar("[Ciclo " + ciclo + "] CPU INACTIVA: Sin procesos listos hasta el ciclo " + hasta,
+            TipoEvento.CPU_IDLE);
+    }
+
     /**
      * Registra CPU inactiva
      */
     public void logCPUInactiva(int ciclo, String motivo) {
+        if (traza != null) traza.registrar(ciclo, TipoEvento.CPU_IDLE, TrazaBinaria.SIN_DATO, null, null,
+            TrazaBinaria.SIN_DATO, TrazaBinaria.SIN_DATO, traza.cadena(motivo));
+        if (!habilitado) return;
         String msg = String.format("[Ciclo %d] CPU INACTIVA: %s",
             ciclo, motivo);
         registrar(msg, TipoEvento.CPU_IDLE);
@@ -187,6 +237,9 @@ public class LogEventos {
      * Registra operación del planificador de largo plazo
      */
     public void logLargoPlazo(int ciclo, int procesosAdmitidos, int enEspera) {
+        if (traza != null) traza.registrar(ciclo, TipoEvento.LARGO_PLAZO, TrazaBinaria.SIN_DATO, null, null,
+            procesosAdmitidos, enEspera, TrazaBinaria.SIN_DATO);
+        if (!habilitado) return;
         String msg = String.format("[Ciclo %d] PLANIF. LARGO PLAZO: %d procesos cargados, %d en espera",
             ciclo, procesosAdmitidos, enEspera);
         registrar(msg, TipoEvento.LARGO_PLAZO);
@@ -196,20 +249,25 @@ public class LogEventos {
      * Registra operación del planificador de mediano plazo
      */
     public void logMedianoPlazo(int ciclo, int procesosReanudados) {
-        if (procesosReanudados > 0) {
-            String msg = String.format("[Ciclo %d] PLANIF. MEDIANO PLAZO: %d procesos reanudados",
-                ciclo, procesosReanudados);
-            registrar(msg, TipoEvento.MEDIANO_PLAZO);
-        }
+        if (procesosReanudados <= 0) return;
+        if (traza != null) traza.registrar(ciclo, TipoEvento.MEDIANO_PLAZO, TrazaBinaria.SIN_DATO, null, null,
+            procesosReanudados, TrazaBinaria.SIN_DATO, TrazaBinaria.SIN_DATO);
+        if (!habilitado) return;
+        String msg = String.format("[Ciclo %d] PLANIF. MEDIANO PLAZO: %d procesos reanudados",
+            ciclo, procesosReanudados);
+        registrar(msg, TipoEvento.MEDIANO_PLAZO);
     }
     
     /**
      * Registra ejecución de instrucciones
      */
     public void logEjecucion(int ciclo, Proceso proceso, int instruccionesEjecutadas) {
-        String msg = String.format("[Ciclo %d] EJECUCIÓN: %s ejecutó %d instrucciones (PC:%d/%d)",
-            ciclo, proceso.getPCB().getNombre(), instruccionesEjecutadas,
-            proceso.getPCB().getProgramCounter(), proceso.getInstruccionesTotales());
+        if (traza != null) trazar(ciclo, TipoEvento.EJECUCION, proceso, null, null,
+            instruccionesEjecutadas, proceso.getPCB().getProgramCounter(), proceso.getInstruccionesTotales());
+        if (!habilitado) return;
+        String msg = "[Ciclo " + ciclo + "] EJECUCIÓN: " + proceso.getPCB().getNombre() + " ejecutó "
+            + instruccionesEjecutadas + " instrucciones (PC:" + proceso.getPCB().getProgramCounter()
+            + "/" + proceso.getInstruccionesTotales() + ")";
         registrar(msg, TipoEvento.EJECUCION);
     }
     
@@ -217,6 +275,7 @@ public class LogEventos {
      * Registra evento genérico del sistema
      */
     public void logSistema(String mensaje) {
+        if (traza != null) trazarMensaje(TipoEvento.SISTEMA, mensaje);
         registrar(mensaje, TipoEvento.SISTEMA);
     }
     
@@ -224,6 +283,8 @@ public class LogEventos {
      * Registra advertencia
      */
     public void logAdvertencia(String mensaje) {
+        if (traza != null) trazarMensaje(TipoEvento.ADVERTENCIA, mensaje);
+        if (!habilitado) return;
         registrar("⚠ ADVERTENCIA: " + mensaje, TipoEvento.ADVERTENCIA);
     }
     
@@ -231,9 +292,64 @@ public class LogEventos {
      * Registra error
      */
     public void logError(String mensaje) {
+        if (traza != null) trazarMensaje(TipoEvento.ERROR, mensaje);
+        if (!habilitado) return;
         registrar("✗ ERROR: " + mensaje, TipoEvento.ERROR);
     }
     
+    // ========== TRAZA BINARIA ==========
+    
+    /**
+     * Empieza a grabar además una traza binaria (ver TrazaBinaria).
+     * Es independiente del log de texto: con setHabilitado(false) se puede
+     * grabar solo la traza, que es mucho más barata en corridas largas.
+     */
+    public boolean iniciarTraza(String nombreArchivo) {
+        cerrarTraza();
+        try {
+            traza = new TrazaBinaria(nombreArchivo);
+            archivoTraza = nombreArchivo;
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error al iniciar traza: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Cierra la traza binaria actual
+     */
+    public void cerrarTraza() {
+        if (traza != null) {
+            try {
+                traza.cerrar();
+            } catch (IOException e) {
+                System.err.println("Error al cerrar traza: " + e.getMessage());
+            }
+            traza = null;
+        }
+    }
+    
+    public boolean isTrazando() {
+        return traza != null;
+    }
+    
+    public String getArchivoTraza() {
+        return archivoTraza;
+    }
+    
+    private void trazar(int ciclo, TipoEvento tipo, Proceso proceso, EstadoProceso desde, EstadoProceso hacia,
+                        int dato1, int dato2, int dato3) {
+        int pid = proceso.getPCB().getId();
+        traza.nombrar(pid, proceso.getPCB().getNombre());
+        traza.registrar(ciclo, tipo, pid, desde, hacia, dato1, dato2, dato3);
+    }
+    
+    private void trazarMensaje(TipoEvento tipo, String mensaje) {
+        traza.registrar(TrazaBinaria.SIN_DATO, tipo, TrazaBinaria.SIN_DATO, null, null,
+            TrazaBinaria.SIN_DATO, TrazaBinaria.SIN_DATO, traza.cadena(mensaje));
+    }
+    
     // ========== MÉTODOS AUXILIARES ==========
     
     /**
@@ -242,10 +358,9 @@ public class LogEventos {
     private void registrar(String mensaje, TipoEvento tipo) {
         if (!habilitado) return;
         
-        String timestamp = formatoTiempo.format(new Date());
-        String lineaCompleta = String.format("[%s] %s", timestamp, mensaje);
+        String lineaCompleta = "[" + marcaDeTiempo() + "] " + mensaje;
         
-        // Escribir a archivo
+        // Encolar para el archivo
         escribirLinea(lineaCompleta);
         
         // Agregar a buffer para GUI
@@ -256,9 +371,23 @@ public class LogEventos {
     
     private void escribirLinea(String linea) {
         if (writer != null) {
-            writer.println(linea);
-            writer.flush(); // Asegurar que se escriba inmediatamente
+            writer.escribir(linea);
+        }
+    }
+    
+    /**
+     * "HH:mm:ss.SSS" sin formatear una fecha por evento: la parte de
+     * segundos se arma con SimpleDateFormat solo cuando cambia el segundo.
+     */
+    private String marcaDeTiempo() {
+        long ahora = System.currentTimeMillis();
+        long segundo = ahora / 1000;
+        if (segundo != segundoCacheado) {
+            segundoCacheado = segundo;
+            prefijoTiempo = formatoTiempo.format(new Date(segundo * 1000));
         }
+        int ms = (int) (ahora % 1000);
+        return prefijoTiempo + (char) ('0' + ms / 100) + (char) ('0' + ms / 10 % 10) + (char) ('0' + ms % 10);
     }
     
     private void agregarABuffer(String evento) {
@@ -307,6 +436,7 @@ public class LogEventos {
      * Exporta el log completo a un archivo
      */
     public boolean exportarLog(String rutaDestino) {
+        if (writer != null) writer.vaciar(); // que el archivo tenga todo lo registrado
         try (BufferedReader reader = new BufferedReader(new FileReader(archivoActual));
              PrintWriter writer = new PrintWriter(new FileWriter(rutaDestino))) {
             
@@ -341,9 +471,41 @@ public class LogEventos {
     }
     
     /**
-     * Tipos de eventos para categorización
+     * Espera a que los eventos registrados hasta ahora estén en el archivo.
+     */
+    public void vaciar() {
+        if (writer != null) writer.vaciar();
+    }
+    
+    /** Eventos perdidos por buffer lleno (solo con política DESCARTAR). */
+    public long getEventosDescartados() {
+        return writer != null ? writer.getDescartadas() : 0;
+    }
+    
+    public void setPoliticaDesborde(EscritorAsincrono.PoliticaDesborde politica) {
+        this.politicaDesborde = politica;
+    }
+    
+    public EscritorAsincrono.PoliticaDesborde getPoliticaDesborde() {
+        return politicaDesborde;
+    }
+    
+    /** Capacidad del buffer del escritor (se redondea a potencia de dos). */
+    public void setCapacidadCola(int capacidad) {
+        this.capacidadCola = Math.max(2, capacidad);
+    }
+    
+    /** Flush cada 'lineas' líneas o cada 'intervaloMs' milisegundos. */
+    public void setLoteFlush(int lineas, long intervaloMs) {
+        this.tamanoLote = Math.max(1, lineas);
+        this.intervaloFlushMs = Math.max(1, intervaloMs);
+    }
+    
+    /**
+     * Tipos de eventos para categorización.
+     * El ordinal se guarda en la traza binaria: agregar valores solo al final.
      */
-    private enum TipoEvento {
+    enum TipoEvento {
         SELECCION,
         CAMBIO_ESTADO,
         BLOQUEO,
@@ -358,6 +520,7 @@ public class LogEventos {
         EJECUCION,
         SISTEMA,
         ADVERTENCIA,
-        ERROR
+        ERROR,
+        CAMBIO_PLANIFICADOR
     }
 }
\ No newline at end of file
@@ -1,97 +1,198 @@
 package so_simulador.util;
 
+import java.util.Arrays;
+import so_simulador.modelo.EstadoProceso;
+import so_simulador.modelo.PCB;
 import so_simulador.modelo.Proceso;
 
-
+/**
+ * Métricas de una simulación. Los datos por proceso se guardan en columnas
+ * de int indexadas por PID, así que registrar un evento es O(1), no crea
+ * objetos y no tiene tope de procesos; los agregados se llevan como sumas.
+ */
 public class Metricas {
-    private static final int MAX_PROC = 256;
+    /** Latencias con histograma (en ticks). */
+    public enum Latencia {
+        RESPUESTA,  // llegada → primer despacho
+        ESPERA,     // total en LISTO (todas las veces que volvió a la cola)
+        TURNAROUND, // llegada → finalización
+        BLOQUEADO,  // total esperando E/S
+        SUSPENDIDO  // total fuera de memoria por swapping
+    }
 
-    private Entry[] entries;
-    private int total;
+    private static final int CAPACIDAD_INICIAL = 256;
+
+    // Columnas por proceso indexadas por PID (crecen al doble cuando hace falta)
+    private String[] nombre;        // null = PID sin registrar
+    private int[] llegada;
+    private int[] primerInicio;     // -1 = todavía no ejecutó
+    private int[] finalizacion;     // -1 = no terminó
+    private int[] cpu;
+    private int[] espera;           // ciclos en LISTO
+    private int[] bloqueado;
+    private int[] suspendido;
+    private int total;              // PIDs registrados
+    private int mayorPid;
     private int tiempoGlobal; // tiempo lógico de la simulación (ticks)
+    private long[] ocupadoNucleo; // ticks ejecutando de cada núcleo
+
+    // Sumas que se actualizan en cada evento: los promedios salen en O(1)
+    private int llegados;
+    private int iniciados;
+    private int finalizados;
+    private long sumaRespuesta;
+    private long sumaTurnaround;
+    private long sumaEspera;
+    private long sumaBloqueado;
+    private long sumaSuspendido;
+    private long sumaCpu;
+    private double sumaCpuCuadrados; // para el índice de Jain
+
+    // Un histograma por latencia; cubren a todos los procesos, no solo a los de la tabla
+    private final HistogramaLatencia[] histogramas = new HistogramaLatencia[Latencia.values().length];
 
     public Metricas() {
-        entries = new Entry[MAX_PROC];
+        reservar(CAPACIDAD_INICIAL);
         total = 0;
+        mayorPid = -1;
         tiempoGlobal = 0;
+        ocupadoNucleo = new long[1];
+        for (int i = 0; i < histogramas.length; i++) histogramas[i] = new HistogramaLatencia();
+    }
+
+    public HistogramaLatencia getHistograma(Latencia tipo) {
+        return histogramas[tipo.ordinal()];
     }
 
-    private static class Entry {
-        int id;
-        String nombre;
-        int llegada = -1;
-        int primerInicio = -1;
-        int finalizacion = -1;
-        int cpuTime = 0;
-        int instruccionesTotales = 0;
+    /** Suma los histogramas de otra corrida (p. ej. la misma carga con otra semilla). */
+    public void combinarHistogramas(Metricas otra) {
+        for (int i = 0; i < histogramas.length; i++) histogramas[i].combinar(otra.histogramas[i]);
     }
 
-    private int findIndexById(int id) {
-        for (int i = 0; i < total; i++) {
-            if (entries[i].id == id) return i;
+    /** Cantidad de núcleos a reportar (1 por defecto). */
+    public void setNucleos(int nucleos) {
+        ocupadoNucleo = new long[Math.max(1, nucleos)];
+    }
+
+    public int getNucleos() { return ocupadoNucleo.length; }
+
+    /** Suma 'ejecutadas' ticks de trabajo al núcleo indicado. */
+    public void registrarEjecucionNucleo(int nucleo, int ejecutadas) {
+        if (nucleo >= 0 && nucleo < ocupadoNucleo.length) ocupadoNucleo[nucleo] += ejecutadas;
+    }
+
+    /** Fracción del tiempo simulado en que el núcleo estuvo ejecutando. */
+    public double getUtilizacionNucleo(int nucleo) {
+        return (double) ocupadoNucleo[nucleo] / Math.max(1, tiempoGlobal);
+    }
+
+    /** Utilización promedio de los núcleos (entre 0 y 1). */
+    public double getUtilizacionPromedio() {
+        return getUtilizacionCPU() / ocupadoNucleo.length;
+    }
+
+    private void reservar(int capacidad) {
+        int anterior = nombre == null ? 0 : nombre.length;
+        nombre = nombre == null ? new String[capacidad] : Arrays.copyOf(nombre, capacidad);
+        llegada = crecer(llegada, capacidad, -1, anterior);
+        primerInicio = crecer(primerInicio, capacidad, -1, anterior);
+        finalizacion = crecer(finalizacion, capacidad, -1, anterior);
+        cpu = crecer(cpu, capacidad, 0, anterior);
+        espera = crecer(espera, capacidad, 0, anterior);
+        bloqueado = crecer(bloqueado, capacidad, 0, anterior);
+        suspendido = crecer(suspendido, capacidad, 0, anterior);
+    }
+
+    private static int[] crecer(int[] columna, int capacidad, int vacio, int anterior) {
+        int[] nueva = columna == null ? new int[capacidad] : Arrays.copyOf(columna, capacidad);
+        if (vacio != 0) Arrays.fill(nueva, anterior, capacidad, vacio);
+        return nueva;
+    }
+
+    /** Fila del proceso (su PID); la crea la primera vez. -1 si el PID es negativo. */
+    private int fila(Proceso p) {
+        int pid = p.getPCB().getId();
+        if (pid < 0) return -1;
+        if (pid >= nombre.length) {
+            int capacidad = nombre.length;
+            while (capacidad <= pid) capacidad = capacidad * 2 > 0 ? capacidad * 2 : Integer.MAX_VALUE - 8;
+            reservar(capacidad);
         }
-        return -1;
-    }
-
-    private void ensureEntry(Proceso p) {
-        int id = p.getPCB().getId();
-        if (findIndexById(id) == -1) {
-            if (total < MAX_PROC) {
-                Entry e = new Entry();
-                e.id = id;
-                e.nombre = p.getPCB().getNombre();
-                e.instruccionesTotales = p.getInstruccionesTotales();
-                entries[total++] = e;
-            } else {
-                // si se supera, no registramos (situación improbable en practicas)
-            }
+        if (nombre[pid] == null) {
+            nombre[pid] = p.getPCB().getNombre();
+            total++;
+            if (pid > mayorPid) mayorPid = pid;
         }
+        return pid;
     }
 
     /** Registrar llegada (por lo general tick = 0 o el tick actual) */
     public void registrarLlegada(Proceso p, int tick) {
-        ensureEntry(p);
-        int idx = findIndexById(p.getPCB().getId());
-        if (idx >= 0) {
-            entries[idx].llegada = tick;
-            entries[idx].instruccionesTotales = p.getInstruccionesTotales();
-            if (tick > tiempoGlobal) tiempoGlobal = tick;
-        }
+        if (tick > tiempoGlobal) tiempoGlobal = tick;
+        llegados++;
+        int i = fila(p);
+        if (i >= 0) llegada[i] = tick;
     }
 
     /** Registrar primer inicio/primer respuesta (si no se registró antes). */
     public void registrarInicio(Proceso p, int tick) {
-        ensureEntry(p);
-        int idx = findIndexById(p.getPCB().getId());
-        if (idx >= 0) {
-            if (entries[idx].primerInicio == -1) {
-                entries[idx].primerInicio = tick;
-            }
-            if (tick > tiempoGlobal) tiempoGlobal = tick;
-        }
+        if (tick > tiempoGlobal) tiempoGlobal = tick;
+        int i = fila(p);
+        if (i >= 0 && primerInicio[i] == -1) marcarInicio(p, i, tick);
     }
 
     /** Registrar ejecución de 'ejecutadas' instrucciones y el tick actual (después de ejecutar). */
     public void registrarEjecucion(Proceso p, int ejecutadas, int tick) {
-        ensureEntry(p);
-        int idx = findIndexById(p.getPCB().getId());
-        if (idx >= 0) {
-            entries[idx].cpuTime += ejecutadas;
-            // si nunca tuvo primer inicio, podemos inferirlo (tick - ejecutadas)
-            if (entries[idx].primerInicio == -1) {
-                entries[idx].primerInicio = Math.max(entries[idx].llegada, tick - ejecutadas);
-            }
-            if (tick > tiempoGlobal) tiempoGlobal = tick;
+        if (tick > tiempoGlobal) tiempoGlobal = tick;
+        int i = fila(p);
+        if (i < 0) {
+            sumaCpu += ejecutadas;
+            return;
         }
+        // si nunca tuvo primer inicio, podemos inferirlo (tick - ejecutadas)
+        if (primerInicio[i] == -1) marcarInicio(p, i, Math.max(llegada[i], tick - ejecutadas));
+        long antes = cpu[i];
+        cpu[i] += ejecutadas;
+        sumaCpu += ejecutadas;
+        sumaCpuCuadrados += (double) cpu[i] * cpu[i] - (double) antes * antes;
     }
 
-    /** Registrar finalización con el tick actual. */
+    private void marcarInicio(Proceso p, int i, int tick) {
+        primerInicio[i] = tick;
+        int respuesta = tick - p.getTiempoLlegada();
+        iniciados++;
+        sumaRespuesta += respuesta;
+        getHistograma(Latencia.RESPUESTA).registrar(respuesta);
+    }
+
+    /**
+     * Registrar finalización con el tick actual. Los ciclos en LISTO,
+     * BLOQUEADO y SUSPENDIDO los acumula el PCB en cada cambio de estado,
+     * así que el proceso ya tiene que estar en TERMINADO.
+     */
     public void registrarFinalizacion(Proceso p, int tick) {
-        ensureEntry(p);
-        int idx = findIndexById(p.getPCB().getId());
-        if (idx >= 0) {
-            entries[idx].finalizacion = tick;
-            if (tick > tiempoGlobal) tiempoGlobal = tick;
+        if (tick > tiempoGlobal) tiempoGlobal = tick;
+        PCB pcb = p.getPCB();
+        int turnaround = tick - p.getTiempoLlegada();
+        int enListo = pcb.getCiclosEn(EstadoProceso.LISTO);
+        int enBloqueado = pcb.getCiclosEn(EstadoProceso.BLOQUEADO);
+        int enSuspendido = pcb.getCiclosEn(EstadoProceso.SUSPENDIDO);
+        finalizados++;
+        sumaTurnaround += turnaround;
+        sumaEspera += enListo;
+        sumaBloqueado += enBloqueado;
+        sumaSuspendido += enSuspendido;
+        getHistograma(Latencia.TURNAROUND).registrar(turnaround);
+        getHistograma(Latencia.ESPERA).registrar(enListo);
+        getHistograma(Latencia.BLOQUEADO).registrar(enBloqueado);
+        getHistograma(Latencia.SUSPENDIDO).registrar(enSuspendido);
+
+        int i = fila(p);
+        if (i >= 0) {
+            finalizacion[i] = tick;
+            espera[i] = enListo;
+            bloqueado[i] = enBloqueado;
+            suspendido[i] = enSuspendido;
         }
     }
 
@@ -103,68 +204,94 @@ public class Metricas {
             return;
         }
 
-        int sumWait = 0;
-        int sumTurn = 0;
-        int sumResp = 0;
-        int sumCpu = 0;
-        int finishedCount = 0;
-
         System.out.println("Por proceso:");
-        System.out.println(String.format("%-6s %-12s %-7s %-7s %-10s %-10s", "ID", "Nombre", "Wait", "Resp", "Turnaround", "CPUtime"));
-        for (int i = 0; i < total; i++) {
-            Entry e = entries[i];
-            int wait = 0;
-            int resp = 0;
-            int turn = 0;
-            if (e.llegada >= 0 && e.primerInicio >= 0) {
-                resp = e.primerInicio - e.llegada;
-                wait = resp; // en esta simulación response == wait hasta el primer inicio
-            }
-            if (e.llegada >= 0 && e.finalizacion >= 0) {
-                turn = e.finalizacion - e.llegada;
-                finishedCount++;
-            }
-            sumWait += wait;
-            sumResp += resp;
-            sumTurn += turn;
-            sumCpu += e.cpuTime;
-
-            System.out.println(String.format("%-6d %-12s %-7d %-7d %-10d %-10d",
-                    e.id, e.nombre, wait, resp, turn, e.cpuTime));
+        System.out.println(String.format("%-6s %-12s %-7s %-7s %-7s %-7s %-10s %-10s",
+                "ID", "Nombre", "Wait", "Resp", "Bloq", "Susp", "Turnaround", "CPUtime"));
+        for (int i = 0; i <= mayorPid; i++) {
+            if (nombre[i] == null) continue;
+            int resp = llegada[i] >= 0 && primerInicio[i] >= 0 ? primerInicio[i] - llegada[i] : 0;
+            int turn = llegada[i] >= 0 && finalizacion[i] >= 0 ? finalizacion[i] - llegada[i] : 0;
+            System.out.println(String.format("%-6d %-12s %-7d %-7d %-7d %-7d %-10d %-10d",
+                    i, nombre[i], espera[i], resp, bloqueado[i], suspendido[i], turn, cpu[i]));
         }
 
-        double avgWait = (double) sumWait / total;
-        double avgResp = (double) sumResp / total;
-        double avgTurn = (double) sumTurn / total;
-        double totalTime = Math.max(1, tiempoGlobal); // evitar division por cero
-        double throughput = (double) finishedCount / totalTime;
-        double cpuUtil = (double) sumCpu / totalTime;
-
-        // Jain's fairness index sobre tiempos CPU (valores positivos)
-        double sumX = 0.0;
-        double sumX2 = 0.0;
-        for (int i = 0; i < total; i++) {
-            double x = entries[i].cpuTime;
-            sumX += x;
-            sumX2 += x * x;
-        }
-        double fairness = 1.0;
-        if (total > 0 && sumX2 > 0) {
-            fairness = (sumX * sumX) / (total * sumX2);
-        }
+        double throughput = getThroughput();
+        double cpuUtil = getUtilizacionCPU();
+        double fairness = getIndiceEquidad();
 
         System.out.println("\nAgregadas:");
         System.out.println(String.format("Tiempo simulado (ticks): %d", tiempoGlobal));
-        System.out.println(String.format("Procesos finalizados: %d / %d", finishedCount, total));
+        System.out.println(String.format("Procesos finalizados: %d / %d", finalizados, llegados));
         System.out.println(String.format("Throughput (proc/tick): %.4f", throughput));
         System.out.println(String.format("CPU utilization (cpuTicks/tick): %.4f", cpuUtil));
-        System.out.println(String.format("Avg. wait time: %.4f", avgWait));
-        System.out.println(String.format("Avg. response time: %.4f", avgResp));
-        System.out.println(String.format("Avg. turnaround: %.4f", avgTurn));
+        if (ocupadoNucleo.length > 1) {
+            StringBuilder sb = new StringBuilder("Utilización por núcleo:");
+            for (int k = 0; k < ocupadoNucleo.length; k++) {
+                sb.append(String.format(" %d:%.2f", k, getUtilizacionNucleo(k)));
+            }
+            System.out.println(sb);
+            System.out.println(String.format("Utilización promedio (%d núcleos): %.4f",
+                    ocupadoNucleo.length, getUtilizacionPromedio()));
+        }
+        System.out.println(String.format("Avg. wait time (ready queue): %.4f", getPromedioEspera()));
+        System.out.println(String.format("Avg. response time: %.4f", getPromedioRespuesta()));
+        System.out.println(String.format("Avg. blocked time: %.4f", getPromedioBloqueado()));
+        System.out.println(String.format("Avg. suspended time: %.4f", getPromedioSuspendido()));
+        System.out.println(String.format("Avg. turnaround: %.4f", getPromedioTurnaround()));
         System.out.println(String.format("Fairness (Jain index): %.4f", fairness));
+        System.out.println("\nPercentiles (ticks):");
+        for (Latencia tipo : Latencia.values()) {
+            System.out.println(String.format("  %-11s %s", tipo, getHistograma(tipo).getResumen()));
+        }
         System.out.println("--- FIN METRICAS ---\n");
     }
 
+    // ========== AGREGADOS (para uso sin consola) ==========
+
+    public int getTotalProcesos() { return total; }
+
+    public int getProcesosFinalizados() { return finalizados; }
+
+    /** Ciclos promedio en la cola de listos, sumando cada vez que volvió a ella. */
+    public double getPromedioEspera() {
+        return finalizados == 0 ? 0.0 : (double) sumaEspera / finalizados;
+    }
+
+    public double getPromedioRespuesta() {
+        return iniciados == 0 ? 0.0 : (double) sumaRespuesta / iniciados;
+    }
+
+    public double getPromedioTurnaround() {
+        return finalizados == 0 ? 0.0 : (double) sumaTurnaround / finalizados;
+    }
+
+    public double getPromedioBloqueado() {
+        return finalizados == 0 ? 0.0 : (double) sumaBloqueado / finalizados;
+    }
+
+    public double getPromedioSuspendido() {
+        return finalizados == 0 ? 0.0 : (double) sumaSuspendido / finalizados;
+    }
+
+    /** Procesos finalizados por tick. */
+    public double getThroughput() {
+        return (double) getProcesosFinalizados() / Math.max(1, tiempoGlobal);
+    }
+
+    /** Ticks de CPU usados por tick simulado. */
+    public double getUtilizacionCPU() {
+        return (double) sumaCpu / Math.max(1, tiempoGlobal);
+    }
+
+    /** Índice de Jain sobre los tiempos de CPU. */
+    public double getIndiceEquidad() {
+        if (total > 0 && sumaCpuCuadrados > 0) {
+            double sumX = sumaCpu;
+            return (sumX * sumX) / (total * sumaCpuCuadrados);
+        }
+        return 1.0;
+    }
+
     /** Devuelve el tiempo lógico global (ticks) registrado. */
     public int getTiempoGlobal() { return tiempoGlobal; }
 }
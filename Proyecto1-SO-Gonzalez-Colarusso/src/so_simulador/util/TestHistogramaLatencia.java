@@ -0,0 +1,48 @@
+package so_simulador.util;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Test del histograma de latencias contra percentiles exactos
+ */
+public class TestHistogramaLatencia {
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE HISTOGRAMA DE LATENCIAS ===\n");
+
+        // 1. Valores chicos: exactos
+        HistogramaLatencia chico = new HistogramaLatencia();
+        for (int v = 1; v <= 100; v++) chico.registrar(v);
+        boolean exactos = chico.getPercentil(50) == 50 && chico.getPercentil(90) == 90
+                && chico.getPercentil(99) == 99 && chico.getMaximo() == 100 && chico.getMinimo() == 1;
+        System.out.println((exactos ? "✓" : "✗") + " 1..100: " + chico);
+
+        // 2. Cola pesada: error relativo contra el percentil exacto ordenando
+        int n = 1_000_000;
+        int[] valores = new int[n];
+        SplittableRandom azar = new SplittableRandom(3);
+        HistogramaLatencia a = new HistogramaLatencia();
+        HistogramaLatencia b = new HistogramaLatencia();
+        for (int i = 0; i < n; i++) {
+            valores[i] = (int) Math.min(Integer.MAX_VALUE, 10 / Math.pow(1.0 - azar.nextDouble(), 1 / 1.2));
+            (i % 2 == 0 ? a : b).registrar(valores[i]);
+        }
+        Arrays.sort(valores);
+        a.combinar(b);
+        double peorError = 0;
+        for (double pct : new double[] {50, 90, 99, 99.9, 99.99}) {
+            int exacto = valores[(int) Math.ceil(pct / 100 * n) - 1];
+            int aprox = a.getPercentil(pct);
+            double error = Math.abs(aprox - exacto) / (double) Math.max(1, exacto);
+            peorError = Math.max(peorError, error);
+            System.out.println(String.format("  p%-6s exacto %10d | histograma %10d | error %.4f",
+                    pct, exacto, aprox, error));
+        }
+        boolean combinado = a.getCantidad() == n && a.getMaximo() == valores[n - 1];
+        System.out.println((peorError < 1.0 / 64 ? "✓" : "✗") +
+                String.format(" Error relativo máximo %.4f (cota 1/64)", peorError));
+        System.out.println((combinado ? "✓" : "✗") + " Dos mitades combinadas = " + a.getCantidad() + " valores");
+
+        System.out.println("\n=== TEST COMPLETADO ===");
+    }
+}
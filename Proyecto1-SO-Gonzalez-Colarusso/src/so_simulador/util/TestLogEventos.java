@@ -9,17 +9,19 @@ public class TestLogEventos {
     public static void main(String[] args) {
         System.out.println("=== TEST DE SISTEMA DE LOGS ===\n");
         
-        LogEventos log = LogEventos.getInstance();
+        LogEventos log = new LogEventos();
         
         // Iniciar log
         boolean iniciado = log.iniciarLog("test_simulacion.log");
         System.out.println("✓ Log iniciado: " + (iniciado ? "SÍ" : "NO"));
-        System.out.println("  Archivo: " + log.getArchivoActual() + "\n");
+        System.out.println("  Archivo: " + log.getArchivoActual());
+        log.iniciarTraza("test_simulacion.trz");
+        System.out.println("  Traza binaria: " + log.getArchivoTraza() + "\n");
         
         // Crear procesos de prueba
-        Proceso p1 = new Proceso("Proceso A", 10, false, 0, 3, 1);
-        Proceso p2 = new Proceso("Proceso B", 7, true, 0, 0, 2);
-        Proceso p3 = new Proceso("Proceso C", 12, false, 0, 4, 3);
+        Proceso p1 = new Proceso(1, "Proceso A", 10, false, 0, 3, 1);
+        Proceso p2 = new Proceso(2, "Proceso B", 7, true, 0, 0, 2);
+        Proceso p3 = new Proceso(3, "Proceso C", 12, false, 0, 4, 3);
         
         System.out.println("--- Simulando eventos ---");
         
@@ -111,9 +113,107 @@ public class TestLogEventos {
             }
         }
         
+        // Ráfaga: el registro no espera al disco
+        int rafaga = 100_000;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < rafaga; i++) {
+            log.logEjecucion(100 + i, p3, 1);
+        }
+        long t1 = System.nanoTime();
+        log.vaciar();
+        long t2 = System.nanoTime();
+        System.out.printf("%n--- Ráfaga de %d eventos ---%n", rafaga);
+        System.out.printf("Registro: %.1f ms | hasta el disco: %.1f ms | descartados: %d%n",
+            (t1 - t0) / 1e6, (t2 - t0) / 1e6, log.getEventosDescartados());
+
+        // vaciar() no vuelve hasta que lo encolado llegó al destino
+        int completos = 0;
+        for (int corrida = 0; corrida < 50; corrida++) {
+            java.io.StringWriter destino = new java.io.StringWriter();
+            EscritorAsincrono escritor = new EscritorAsincrono(destino, 1024, 64, 1000,
+                    EscritorAsincrono.PoliticaDesborde.BLOQUEAR);
+            for (int i = 0; i < 10; i++) escritor.escribir("linea " + i); // menos que un lote
+            java.util.concurrent.locks.LockSupport.parkNanos(2_000_000); // el escritor ya las tomó
+            escritor.vaciar();
+            if (destino.toString().split("\n").length == 10) completos++;
+            escritor.cerrar();
+        }
+        System.out.println((completos == 50 ? "✓" : "✗") + " vaciar() con lote incompleto: "
+            + completos + "/50 corridas con todas las líneas escritas");
+
+        // Después de un vaciar(), un lote incompleto vuelve a esperar el intervalo
+        java.io.StringWriter destino = new java.io.StringWriter();
+        EscritorAsincrono escritor = new EscritorAsincrono(destino, 1024, 64, 1000,
+                EscritorAsincrono.PoliticaDesborde.BLOQUEAR);
+        escritor.escribir("antes");
+        escritor.vaciar();
+        for (int i = 0; i < 10; i++) escritor.escribir("despues " + i); // menos que un lote
+        java.util.concurrent.locks.LockSupport.parkNanos(100_000_000); // bien antes del intervalo de 1 s
+        boolean retenidas = destino.toString().split("\n").length == 1;
+        escritor.vaciar();
+        boolean escritas = destino.toString().split("\n").length == 11;
+        escritor.cerrar();
+        System.out.println((retenidas && escritas ? "✓" : "✗")
+            + " Tras vaciar(), el lote siguiente espera el intervalo de flush");
+
         // Cerrar log
+        log.cerrarTraza();
         log.cerrarLog();
         System.out.println("\n✓ Log cerrado");
+
+        // Leer la traza binaria: solo los eventos del proceso A
+        System.out.println("\n--- Traza binaria (Proceso A) ---");
+        try (LectorTraza lector = new LectorTraza("test_simulacion.trz")) {
+            lector.setPid(p1.getPCB().getId());
+            while (lector.siguiente()) {
+                System.out.println("  " + lector.aTexto());
+            }
+            System.out.println("Eventos en la traza: " + lector.getLeidos()
+                + " (texto: " + log.getTotalEventos() + ")");
+        } catch (java.io.IOException e) {
+            System.out.println("✗ No se pudo leer la traza: " + e.getMessage());
+        }
+
+        // Textos distintos en cada evento: la tabla de textos del lector no crece sin límite
+        System.out.println("\n--- Traza larga ---");
+        java.io.File larga = null;
+        try {
+            larga = java.io.File.createTempFile("traza_larga", ".trz");
+            LogEventos sinTexto = new LogEventos();
+            sinTexto.setHabilitado(false);
+            sinTexto.iniciarTraza(larga.getPath());
+            int mensajes = 10_000;
+            for (int i = 0; i < mensajes; i++) {
+                sinTexto.logCPUInactivaHasta(i, i + 5);
+                sinTexto.logSistema("Mensaje " + i);
+            }
+            sinTexto.logCambioPlanificador(mensajes, "Anterior único", "Nuevo único");
+            sinTexto.cerrarTraza();
+
+            String ultimoInactiva = null, ultimoMensaje = null, cambio = null;
+            try (LectorTraza lector = new LectorTraza(larga.getPath())) {
+                while (lector.siguiente()) {
+                    String texto = lector.aTexto();
+                    switch (lector.getTipo()) {
+                        case "CPU_IDLE": ultimoInactiva = texto; break;
+                        case "SISTEMA": ultimoMensaje = texto; break;
+                        case "CAMBIO_PLANIFICADOR": cambio = texto; break;
+                        default: break;
+                    }
+                }
+                boolean acotada = lector.getCadena(TrazaBinaria.ID_TEMPORAL + 2).equals("?");
+                boolean ok = acotada
+                    && ultimoInactiva.endsWith("hasta el ciclo " + (mensajes + 4))
+                    && ultimoMensaje.endsWith("Mensaje " + (mensajes - 1))
+                    && cambio.endsWith("Anterior único → Nuevo único");
+                System.out.println((ok ? "✓" : "✗") + " " + mensajes + " mensajes distintos: textos correctos, "
+                    + "tabla de textos acotada a " + (TrazaBinaria.ID_TEMPORAL + 2) + " ids");
+            }
+        } catch (java.io.IOException e) {
+            System.out.println("✗ Traza larga: " + e.getMessage());
+        } finally {
+            if (larga != null) larga.delete();
+        }
         System.out.println("\n=== TEST COMPLETADO ===");
         System.out.println("Revise el archivo 'test_simulacion.log' para ver el log completo");
     }
@@ -0,0 +1,199 @@
+package so_simulador.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import so_simulador.modelo.EstadoProceso;
+
+/**
+ * Traza binaria de eventos: registros de tamaño fijo escritos con un
+ * FileChannel. Registrar un evento son unos pocos putInt en un buffer
+ * directo; no se arma texto. La lee LectorTraza.
+ *
+ * Formato (todo en registros de TAMANO_REGISTRO bytes, big-endian):
+ *   cabecera : MAGICO, versión (short), tamaño de registro (short),
+ *              inicio en ms (long), 8 bytes libres
+ *   evento   : ciclo, tipo, desde, hacia, libre, pid, dato1, dato2, dato3
+ *   cadena   : tipo CADENA, pid = id de la cadena, dato1 = largo en bytes,
+ *              seguido del texto UTF-8 en tantos registros como haga falta
+ *   nombre   : tipo NOMBRE, pid, dato1 = id de la cadena con su nombre
+ *
+ * Los textos (nombres, algoritmos, mensajes) se escriben una sola vez y
+ * los eventos los referencian por id. Pasadas MAX_CADENAS_CACHEADAS, los
+ * textos nuevos se escriben con uno de dos ids fijos (ID_TEMPORAL y el
+ * siguiente, alternados: un evento usa a lo sumo dos textos) justo antes
+ * del evento que los usa, así la tabla del lector tiene tamaño acotado. Los
+ * valores que cambian en cada evento (ciclos, contadores) van en los
+ * campos numéricos, no en textos.
+ */
+public class TrazaBinaria {
+    public static final int MAGICO = 0x534F5452; // "SOTR"
+    public static final short VERSION = 1;
+    public static final int TAMANO_REGISTRO = 24;
+
+    // Tipos de registro que no son eventos
+    static final byte CADENA = -1;
+    static final byte NOMBRE = -2;
+
+    static final byte SIN_ESTADO = -1;
+    static final int SIN_DATO = -1;
+
+    private static final int REGISTROS_POR_BUFFER = 4096;
+    private static final int MAX_CADENAS_CACHEADAS = 4096;
+    private static final int MAX_BYTES_TEXTO = 4096; // textos más largos se recortan
+    static final int ID_TEMPORAL = MAX_CADENAS_CACHEADAS; // textos no cacheados: este id y el siguiente
+
+    private final FileChannel canal;
+    private final ByteBuffer buffer;
+    private long registros;
+
+    // Cadenas ya escritas: tabla hash abierta texto -> id
+    private String[] claves = new String[64];
+    private int[] ids = new int[64];
+    private int cacheadas;
+    private int proximaCadena;
+    private int temporal; // alterna entre ID_TEMPORAL y el siguiente
+
+    // PIDs cuyo nombre ya está en la traza
+    private boolean[] conNombre = new boolean[64];
+
+    public TrazaBinaria(String archivo) throws IOException {
+        this.canal = FileChannel.open(Path.of(archivo), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(TAMANO_REGISTRO * REGISTROS_POR_BUFFER);
+
+        buffer.putInt(MAGICO);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) TAMANO_REGISTRO);
+        buffer.putLong(System.currentTimeMillis());
+        buffer.putLong(0);
+    }
+
+    /**
+     * Registra un evento. 'desde'/'hacia' pueden ser null y los datos
+     * SIN_DATO cuando el tipo no los usa.
+     */
+    public synchronized void registrar(int ciclo, LogEventos.TipoEvento tipo, int pid,
+                                       EstadoProceso desde, EstadoProceso hacia,
+                                       int dato1, int dato2, int dato3) {
+        asegurarLugar(1);
+        buffer.putInt(ciclo);
+        buffer.put((byte) tipo.ordinal());
+        buffer.put(desde == null ? SIN_ESTADO : (byte) desde.ordinal());
+        buffer.put(hacia == null ? SIN_ESTADO : (byte) hacia.ordinal());
+        buffer.put((byte) 0);
+        buffer.putInt(pid);
+        buffer.putInt(dato1);
+        buffer.putInt(dato2);
+        buffer.putInt(dato3);
+        registros++;
+    }
+
+    /** Asocia un nombre al PID la primera vez que aparece. */
+    public synchronized void nombrar(int pid, String nombre) {
+        if (pid < 0) return;
+        if (pid >= conNombre.length) {
+            boolean[] nuevo = new boolean[Math.max(pid + 1, conNombre.length * 2)];
+            System.arraycopy(conNombre, 0, nuevo, 0, conNombre.length);
+            conNombre = nuevo;
+        }
+        if (conNombre[pid]) return;
+        conNombre[pid] = true;
+        int id = cadena(nombre);
+        asegurarLugar(1);
+        escribirCabecera(NOMBRE, pid, id);
+    }
+
+    /**
+     * Id de un texto, escribiéndolo en la traza si es nuevo. Los textos
+     * repetidos (algoritmos, motivos) se reutilizan; pasado el límite de la
+     * tabla, los nuevos se escriben cada vez con ID_TEMPORAL sin guardarse.
+     */
+    public synchronized int cadena(String texto) {
+        if (texto == null) return SIN_DATO;
+        int i = (texto.hashCode() & 0x7fffffff) & (claves.length - 1);
+        while (claves[i] != null) {
+            if (claves[i].equals(texto)) return ids[i];
+            i = (i + 1) & (claves.length - 1);
+        }
+
+        boolean cachear = cacheadas < MAX_CADENAS_CACHEADAS;
+        int id = cachear ? proximaCadena++ : ID_TEMPORAL + (temporal ^= 1);
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        int largo = Math.min(bytes.length, MAX_BYTES_TEXTO);
+        int extra = (largo + TAMANO_REGISTRO - 1) / TAMANO_REGISTRO;
+        asegurarLugar(1 + extra);
+        escribirCabecera(CADENA, id, largo);
+        buffer.put(bytes, 0, largo);
+        int relleno = extra * TAMANO_REGISTRO - largo;
+        for (int k = 0; k < relleno; k++) buffer.put((byte) 0);
+        registros += extra;
+
+        if (cachear) {
+            claves[i] = texto;
+            ids[i] = id;
+            if (++cacheadas * 2 > claves.length) agrandarTabla();
+        }
+        return id;
+    }
+
+    /** Escribe lo que quedó en el buffer. */
+    public synchronized void vaciar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public synchronized void cerrar() throws IOException {
+        vaciar();
+        canal.close();
+    }
+
+    /** Registros escritos (sin contar la cabecera). */
+    public synchronized long getRegistros() {
+        return registros;
+    }
+
+    // ========== AUXILIARES ==========
+
+    private void escribirCabecera(byte tipo, int pid, int dato1) {
+        buffer.putInt(SIN_DATO);
+        buffer.put(tipo);
+        buffer.put(SIN_ESTADO);
+        buffer.put(SIN_ESTADO);
+        buffer.put((byte) 0);
+        buffer.putInt(pid);
+        buffer.putInt(dato1);
+        buffer.putInt(SIN_DATO);
+        buffer.putInt(SIN_DATO);
+        registros++;
+    }
+
+    private void asegurarLugar(int cantidad) {
+        if (buffer.remaining() >= cantidad * TAMANO_REGISTRO) return;
+        try {
+            vaciar();
+        } catch (IOException e) {
+            throw new IllegalStateException("Error al escribir traza: " + e.getMessage(), e);
+        }
+    }
+
+    private void agrandarTabla() {
+        String[] viejasClaves = claves;
+        int[] viejosIds = ids;
+        claves = new String[viejasClaves.length * 2];
+        ids = new int[viejasClaves.length * 2];
+        for (int k = 0; k < viejasClaves.length; k++) {
+            if (viejasClaves[k] == null) continue;
+            int i = (viejasClaves[k].hashCode() & 0x7fffffff) & (claves.length - 1);
+            while (claves[i] != null) i = (i + 1) & (claves.length - 1);
+            claves[i] = viejasClaves[k];
+            ids[i] = viejosIds[k];
+        }
+    }
+}